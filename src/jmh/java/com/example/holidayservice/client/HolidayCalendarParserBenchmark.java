@@ -0,0 +1,61 @@
+package com.example.holidayservice.client;
+
+import com.example.holidayservice.domain.Holiday;
+import com.example.holidayservice.domain.HolidayCalendar;
+import com.example.holidayservice.fixtures.HolidayFixtures;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Benchmarks of reading a provider holidays response: the streaming parser into a calendar and the
+ * previous data binding into a set of holidays.
+ */
+@State(Scope.Benchmark)
+public class HolidayCalendarParserBenchmark {
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+  private byte[] response;
+
+  @Setup
+  public void setUp() throws IOException {
+    final var calendar = HolidayFixtures.holidays("PL", HolidayFixtures.FIRST_YEAR);
+    final List<Map<String, Object>> holidays = new ArrayList<>();
+    for (int i = 0; i < calendar.size(); i++) {
+      final Map<String, Object> holiday = new LinkedHashMap<>();
+      holiday.put("date", calendar.getDate(i).toString());
+      holiday.put("localName", calendar.getLocalName(i));
+      holiday.put("name", calendar.getLocalName(i));
+      holiday.put("countryCode", "PL");
+      holiday.put("fixed", true);
+      holiday.put("global", true);
+      holiday.put("counties", null);
+      holiday.put("launchYear", null);
+      holiday.put("type", "Public");
+      holidays.add(holiday);
+    }
+    response = objectMapper.writeValueAsBytes(holidays);
+  }
+
+  @Benchmark
+  public HolidayCalendar parseCalendar() throws IOException {
+    return HolidayCalendarParser.parse(new ByteArrayInputStream(response));
+  }
+
+  @Benchmark
+  public Set<Holiday> bindHolidays() throws IOException {
+    return Set.copyOf(Arrays.asList(objectMapper.readValue(response, Holiday[].class)));
+  }
+}
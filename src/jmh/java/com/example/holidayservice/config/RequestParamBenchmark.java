@@ -0,0 +1,127 @@
+package com.example.holidayservice.config;
+
+import com.example.holidayservice.cache.HolidayCalendarStore;
+import com.example.holidayservice.client.ProviderResilience;
+import com.example.holidayservice.errorhandling.GlobalErrorHandling;
+import com.example.holidayservice.exception.CountryNotSupportedException;
+import com.example.holidayservice.exception.NextHolidayNotFoundException;
+import com.example.holidayservice.fixtures.FixtureHolidayProviderClient;
+import com.example.holidayservice.service.HolidayService;
+import com.example.holidayservice.service.SupportedCountryRegistry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Benchmarks of binding the date param of a request: the Spring formatting of a date param with
+ * {@code @DateTimeFormat} and the formatting of a plain date param configured by {@link WebConfig}.
+ * Rejected requests are measured along the whole error path: binding the params, verifying the
+ * countries, handling the error by {@link GlobalErrorHandling} and writing the JSON body.
+ */
+@State(Scope.Benchmark)
+public class RequestParamBenchmark {
+
+  private static final String DATE = "2020-06-01";
+
+  private static final String NOT_SUPPORTED_COUNTRY_CODE = "XX";
+
+  private static final NextHolidayNotFoundException NEXT_HOLIDAY_NOT_FOUND_ERROR =
+      new NextHolidayNotFoundException(NextHolidayNotFoundException.NEXT_HOLIDAY_NOT_FOUND);
+
+  private final TypeDescriptor source = TypeDescriptor.valueOf(String.class);
+
+  private TypeDescriptor annotatedTarget;
+
+  private TypeDescriptor target;
+
+  private DefaultFormattingConversionService springConversionService;
+
+  private DefaultFormattingConversionService conversionService;
+
+  private HolidayService holidayService;
+
+  private GlobalErrorHandling errorHandling;
+
+  private WebRequest request;
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+  @Setup
+  public void setUp() throws NoSuchMethodException {
+    annotatedTarget = new TypeDescriptor(new MethodParameter(
+        RequestParamBenchmark.class.getDeclaredMethod("annotatedHandler", LocalDate.class), 0));
+    target = new TypeDescriptor(new MethodParameter(
+        RequestParamBenchmark.class.getDeclaredMethod("handler", LocalDate.class), 0));
+    springConversionService = new DefaultFormattingConversionService();
+    conversionService = new DefaultFormattingConversionService();
+    new WebConfig(new AsyncProperties(1, Duration.ofMinutes(1)), null)
+        .addFormatters(conversionService);
+
+    final var properties = TestHolidayProviderProperties.load(
+        Map.of("provider.store.enabled", "false"));
+    final var countryRegistry = new SupportedCountryRegistry(new FixtureHolidayProviderClient(),
+        properties, null, new HolidayCalendarStore(properties),
+        new ProviderResilience(properties, new SimpleMeterRegistry(), Runnable::run));
+    countryRegistry.refresh();
+    holidayService = new HolidayService(countryRegistry, null, null, properties,
+        new SimpleMeterRegistry());
+    errorHandling = new GlobalErrorHandling(new SimpleMeterRegistry());
+    final var servletRequest = new MockHttpServletRequest();
+    servletRequest.addHeader(GlobalErrorHandling.SUPPORTED_COUNTRIES_VERSION,
+        countryRegistry.getSupportedCountries().getVersion());
+    request = new ServletWebRequest(servletRequest);
+  }
+
+  @Benchmark
+  public Object parseDateWithSpringFormatter() {
+    return springConversionService.convert(DATE, source, annotatedTarget);
+  }
+
+  @Benchmark
+  public Object parseDate() {
+    return conversionService.convert(DATE, source, target);
+  }
+
+  @Benchmark
+  public byte[] rejectNotSupportedCountry() throws JsonProcessingException {
+    conversionService.convert(DATE, source, target);
+    try {
+      holidayService.verifyAvailableCountries(NOT_SUPPORTED_COUNTRY_CODE, "PL");
+      return null;
+    } catch (CountryNotSupportedException ex) {
+      return objectMapper.writeValueAsBytes(errorHandling.handleNotSupportedException(ex, request));
+    }
+  }
+
+  @Benchmark
+  public byte[] rejectNextHolidayNotFound() throws JsonProcessingException {
+    conversionService.convert(DATE, source, target);
+    return objectMapper.writeValueAsBytes(
+        errorHandling.handleHolidayExceptions(NEXT_HOLIDAY_NOT_FOUND_ERROR));
+  }
+
+  @SuppressWarnings("unused")
+  private static void annotatedHandler(
+      @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate date) {
+  }
+
+  @SuppressWarnings("unused")
+  private static void handler(@RequestParam("date") final LocalDate date) {
+  }
+}
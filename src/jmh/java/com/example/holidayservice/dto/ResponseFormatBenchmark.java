@@ -0,0 +1,101 @@
+package com.example.holidayservice.dto;
+
+import com.example.holidayservice.config.AsyncProperties;
+import com.example.holidayservice.config.WebConfig;
+import com.example.holidayservice.domain.SupportedCountries;
+import com.example.holidayservice.fixtures.HolidayFixtures;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Benchmarks of writing response bodies as JSON and as CBOR with the converter configured by
+ * {@link WebConfig}: a next holiday, a batch of next holidays and an error of a not supported
+ * country with the supported countries list or only its version.
+ */
+@State(Scope.Benchmark)
+public class ResponseFormatBenchmark {
+
+  /**
+   * Number of results in the batch.
+   */
+  private static final int BATCH_SIZE = 100;
+
+  @Param({"json", "cbor"})
+  public String format;
+
+  private ObjectMapper objectMapper;
+
+  private HolidayResponseDto nextHoliday;
+
+  private BatchHolidayResponseDto batch;
+
+  private CountryNotSupportedDto notSupportedWithCountries;
+
+  private CountryNotSupportedDto notSupportedWithVersion;
+
+  @Setup
+  public void setUp() {
+    objectMapper = "cbor".equals(format)
+        ? new WebConfig(new AsyncProperties(1, Duration.ofMinutes(1)), null)
+            .cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper()
+        : Jackson2ObjectMapperBuilder.json().build();
+    final var date = LocalDate.of(HolidayFixtures.FIRST_YEAR, 12, 25);
+    nextHoliday = HolidayResponseDto.builder()
+        .nextHolidayDate(date)
+        .holidayName1("Boże Narodzenie (pierwszy dzień)")
+        .holidayName2("Erster Weihnachtstag")
+        .build();
+    final List<BatchHolidayResultDto> results = new ArrayList<>(BATCH_SIZE);
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      results.add(BatchHolidayResultDto.builder()
+          .status(200)
+          .nextHolidayDate(date.plusDays(i))
+          .holidayName1(nextHoliday.getHolidayName1())
+          .holidayName2(nextHoliday.getHolidayName2())
+          .build());
+    }
+    batch = BatchHolidayResponseDto.builder()
+        .results(results)
+        .build();
+    final var supportedCountries = new SupportedCountries(HolidayFixtures.countries());
+    notSupportedWithCountries = CountryNotSupportedDto.builder()
+        .errorMessage("Country code: AQ is not supported. ")
+        .supportedCountriesVersion(supportedCountries.getVersion())
+        .supportedCountries(supportedCountries.getCountries())
+        .build();
+    notSupportedWithVersion = CountryNotSupportedDto.builder()
+        .errorMessage("Country code: AQ is not supported. ")
+        .supportedCountriesVersion(supportedCountries.getVersion())
+        .build();
+  }
+
+  @Benchmark
+  public byte[] writeNextHoliday() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(nextHoliday);
+  }
+
+  @Benchmark
+  public byte[] writeBatch() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(batch);
+  }
+
+  @Benchmark
+  public byte[] writeNotSupportedWithCountries() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(notSupportedWithCountries);
+  }
+
+  @Benchmark
+  public byte[] writeNotSupportedWithVersion() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(notSupportedWithVersion);
+  }
+}
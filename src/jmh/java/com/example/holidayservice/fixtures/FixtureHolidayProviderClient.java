@@ -0,0 +1,26 @@
+package com.example.holidayservice.fixtures;
+
+import com.example.holidayservice.client.HolidayProviderClient;
+import com.example.holidayservice.domain.Country;
+import com.example.holidayservice.domain.HolidayCalendar;
+import java.util.List;
+
+/**
+ * Provider client stub returning {@link HolidayFixtures} without network calls.
+ */
+public class FixtureHolidayProviderClient extends HolidayProviderClient {
+
+  public FixtureHolidayProviderClient() {
+    super(null, null, null);
+  }
+
+  @Override
+  public HolidayCalendar fetchHolidays(final String countryCode, final int year) {
+    return HolidayFixtures.holidays(countryCode, year);
+  }
+
+  @Override
+  public List<Country> fetchAvailableCountries() {
+    return HolidayFixtures.countries();
+  }
+}
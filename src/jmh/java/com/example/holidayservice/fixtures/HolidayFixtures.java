@@ -0,0 +1,114 @@
+package com.example.holidayservice.fixtures;
+
+import com.example.holidayservice.domain.Country;
+import com.example.holidayservice.domain.Holiday;
+import com.example.holidayservice.domain.HolidayCalendar;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Generated holiday calendars shaped like the provider data: about a hundred countries, fixed
+ * holidays shared by many of them, Easter-based holidays and a few holidays on the same day.
+ */
+public final class HolidayFixtures {
+
+  /**
+   * First year with calendars.
+   */
+  public static final int FIRST_YEAR = 2020;
+
+  /**
+   * Number of years with calendars.
+   */
+  public static final int YEARS = 6;
+
+  /**
+   * Country codes of the provider.
+   */
+  public static final List<String> COUNTRY_CODES = List.of("AD", "AL", "AR", "AT", "AU", "AX",
+      "BA", "BB", "BE", "BG", "BJ", "BO", "BR", "BS", "BW", "BY", "BZ", "CA", "CH", "CL", "CN",
+      "CO", "CR", "CU", "CY", "CZ", "DE", "DK", "DO", "EC", "EE", "EG", "ES", "FI", "FO", "FR",
+      "GA", "GB", "GD", "GL", "GM", "GR", "GT", "GY", "HN", "HR", "HT", "HU", "ID", "IE", "IM",
+      "IS", "IT", "JE", "JM", "JP", "LI", "LS", "LT", "LU", "LV", "MA", "MC", "MD", "MG", "MK",
+      "MN", "MS", "MT", "MX", "MZ", "NA", "NE", "NG", "NI", "NL", "NO", "NZ", "PA", "PE", "PG",
+      "PL", "PR", "PT", "PY", "RO", "RS", "RU", "SE", "SG", "SI", "SJ", "SK", "SM", "SR", "SV",
+      "TN", "TR", "UA", "US", "UY", "VA", "VE", "VN", "ZA", "ZW");
+
+  private static final List<MonthDay> SHARED_DAYS = List.of(MonthDay.of(1, 1),
+      MonthDay.of(1, 6), MonthDay.of(5, 1), MonthDay.of(8, 15), MonthDay.of(11, 1),
+      MonthDay.of(12, 25), MonthDay.of(12, 26));
+
+  private HolidayFixtures() {
+  }
+
+  /**
+   * Returns countries supported by the provider.
+   *
+   * @return countries
+   */
+  public static List<Country> countries() {
+    return COUNTRY_CODES.stream()
+        .map(code -> Country.builder().key(code).value("Country " + code).build())
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Returns the same holidays for the same country and year on every call.
+   *
+   * @param countryCode country code
+   * @param year        year of calendar
+   * @return holidays calendar in country
+   */
+  public static HolidayCalendar holidays(final String countryCode, final int year) {
+    final var random = new Random(31L * countryCode.hashCode() + year);
+    final Set<Holiday> holidays = new HashSet<>();
+    for (MonthDay day : SHARED_DAYS) {
+      if (random.nextInt(4) != 0) {
+        holidays.add(holiday(day.atYear(year), countryCode + " " + day));
+      }
+    }
+    final var easter = easterSunday(year);
+    holidays.add(holiday(easter.minusDays(2), countryCode + " Good Friday"));
+    holidays.add(holiday(easter.plusDays(1), countryCode + " Easter Monday"));
+    holidays.add(holiday(easter.plusDays(60), countryCode + " Corpus Christi"));
+    final int ownHolidays = 3 + random.nextInt(8);
+    for (int i = 0; i < ownHolidays; i++) {
+      final var date = LocalDate.ofYearDay(year, 1 + random.nextInt(365));
+      holidays.add(holiday(date, countryCode + " Holiday " + i));
+      if (random.nextInt(5) == 0) {
+        holidays.add(holiday(date, countryCode + " Second Holiday " + i));
+      }
+    }
+    return HolidayCalendar.of(holidays);
+  }
+
+  private static Holiday holiday(final LocalDate date, final String localName) {
+    return Holiday.builder().date(date).localName(localName).build();
+  }
+
+  /**
+   * Computes Easter Sunday with the anonymous Gregorian algorithm.
+   */
+  private static LocalDate easterSunday(final int year) {
+    final int a = year % 19;
+    final int b = year / 100;
+    final int c = year % 100;
+    final int d = b / 4;
+    final int e = b % 4;
+    final int f = (b + 8) / 25;
+    final int g = (b - f + 1) / 3;
+    final int h = (19 * a + b - d - g + 15) % 30;
+    final int i = c / 4;
+    final int k = c % 4;
+    final int l = (32 + 2 * e + 2 * i - h - k) % 7;
+    final int m = (a + 11 * h + 22 * l) / 451;
+    final int month = (h + l - 7 * m + 114) / 31;
+    final int day = ((h + l - 7 * m + 114) % 31) + 1;
+    return LocalDate.of(year, month, day);
+  }
+}
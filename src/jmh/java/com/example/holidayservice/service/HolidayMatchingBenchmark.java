@@ -0,0 +1,77 @@
+package com.example.holidayservice.service;
+
+import com.example.holidayservice.config.TestHolidayProviderProperties;
+import com.example.holidayservice.domain.Holiday;
+import com.example.holidayservice.domain.HolidayCalendar;
+import com.example.holidayservice.dto.HolidayResponseDto;
+import com.example.holidayservice.fixtures.HolidayFixtures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks of the matching steps behind the next holiday lookup, on one-year and multi-year
+ * calendars of two countries.
+ */
+@State(Scope.Benchmark)
+public class HolidayMatchingBenchmark {
+
+  @Param({"1", "6"})
+  private int years;
+
+  private HolidayCalendar holidays1;
+
+  private HolidayCalendar holidays2;
+
+  private List<Holiday> reducedHolidays1;
+
+  private List<Holiday> reducedHolidays2;
+
+  private LocalDate date;
+
+  private CommonHolidayIndex commonHolidayIndex;
+
+  @Setup
+  public void setUp() {
+    holidays1 = calendar("PL");
+    holidays2 = calendar("DE");
+    date = LocalDate.of(HolidayFixtures.FIRST_YEAR, 3, 1);
+    reducedHolidays1 = HolidayMatching.reduceHolidayCollection(date, holidays1);
+    reducedHolidays2 = HolidayMatching.reduceHolidayCollection(date, holidays2);
+    commonHolidayIndex = new CommonHolidayIndex(TestHolidayProviderProperties.load(),
+        new SimpleMeterRegistry());
+  }
+
+  @Benchmark
+  public List<Holiday> reduceHolidayCollection() {
+    return HolidayMatching.reduceHolidayCollection(date, holidays1);
+  }
+
+  @Benchmark
+  public List<HolidayResponseDto> matchAllHolidaysInBothCollections() {
+    return HolidayMatching.matchAllHolidaysInBothCollections(reducedHolidays1, reducedHolidays2);
+  }
+
+  @Benchmark
+  public Optional<HolidayResponseDto> findFirstHolidayInIndex() {
+    return commonHolidayIndex.findFirstHolidayAfter(date, "PL", "DE",
+        HolidayFixtures.FIRST_YEAR, holidays1, holidays2);
+  }
+
+  private HolidayCalendar calendar(final String countryCode) {
+    final var holidays = HolidayCalendar.builder(years * 16);
+    for (int i = 0; i < years; i++) {
+      final var calendar = HolidayFixtures.holidays(countryCode, HolidayFixtures.FIRST_YEAR + i);
+      for (int j = 0; j < calendar.size(); j++) {
+        holidays.add(calendar.getEpochDay(j), calendar.getLocalName(j));
+      }
+    }
+    return holidays.build();
+  }
+}
@@ -0,0 +1,123 @@
+package com.example.holidayservice.service;
+
+import com.example.holidayservice.cache.HolidayCalendarCache;
+import com.example.holidayservice.cache.HolidayCalendarStore;
+import com.example.holidayservice.cache.SharedCalendarStore;
+import com.example.holidayservice.client.ProviderResilience;
+import com.example.holidayservice.client.ReactiveHolidayProviderClient;
+import com.example.holidayservice.config.TestHolidayProviderProperties;
+import com.example.holidayservice.dto.HolidayResponseDto;
+import com.example.holidayservice.exception.CountryNotSupportedException;
+import com.example.holidayservice.fixtures.FixtureHolidayProviderClient;
+import com.example.holidayservice.fixtures.HolidayFixtures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+/**
+ * Benchmarks of the whole next holiday lookup with a stubbed provider. Queries cover random
+ * country pairs of all supported countries and dates in several years, so after the warmup the
+ * calendars are cached and the common holidays are indexed like in a running service.
+ */
+@State(Scope.Benchmark)
+public class HolidayServiceBenchmark {
+
+  private static final int QUERIES = 4096;
+
+  private static final String NOT_SUPPORTED_COUNTRY_CODE = "XX";
+
+  private ExecutorService providerExecutor;
+
+  private HolidayService holidayService;
+
+  private final String[] countryCodes1 = new String[QUERIES];
+
+  private final String[] countryCodes2 = new String[QUERIES];
+
+  private final LocalDate[] dates = new LocalDate[QUERIES];
+
+  /**
+   * Position of the next query, per benchmark thread.
+   */
+  @State(Scope.Thread)
+  public static class Cursor {
+
+    private int next;
+
+    int next() {
+      next = (next + 1) % QUERIES;
+      return next;
+    }
+  }
+
+  @Setup
+  public void setUp() {
+    final var properties = TestHolidayProviderProperties.load(
+        Map.of("provider.store.enabled", "false"));
+    final var providerClient = new FixtureHolidayProviderClient();
+    final var store = new HolidayCalendarStore(properties);
+    providerExecutor = Executors.newFixedThreadPool(properties.getFetch().getThreads());
+    final var resilience = new ProviderResilience(properties, new SimpleMeterRegistry(),
+        providerExecutor);
+    final var countryRegistry = new SupportedCountryRegistry(providerClient, properties, null,
+        store, resilience);
+    countryRegistry.refresh();
+    final var beanFactory = new StaticListableBeanFactory();
+    final var calendarCache = new HolidayCalendarCache(providerClient,
+        beanFactory.getBeanProvider(ReactiveHolidayProviderClient.class),
+        properties, new SimpleMeterRegistry(), providerExecutor, store,
+        beanFactory.getBeanProvider(SharedCalendarStore.class), resilience);
+    final var commonHolidayIndex = new CommonHolidayIndex(properties, new SimpleMeterRegistry());
+    holidayService = new HolidayService(countryRegistry, calendarCache, commonHolidayIndex,
+        properties, new SimpleMeterRegistry());
+
+    final var random = new Random(7);
+    final var countryCodes = HolidayFixtures.COUNTRY_CODES;
+    for (int i = 0; i < QUERIES; i++) {
+      countryCodes1[i] = countryCodes.get(random.nextInt(countryCodes.size()));
+      countryCodes2[i] = countryCodes.get(random.nextInt(countryCodes.size()));
+      dates[i] = LocalDate.of(HolidayFixtures.FIRST_YEAR, 1, 1)
+          .plusDays(random.nextInt(365 * (HolidayFixtures.YEARS - 1)));
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    providerExecutor.shutdownNow();
+  }
+
+  @Benchmark
+  public Optional<HolidayResponseDto> findNextHolidayInBothCountries(final Cursor cursor) {
+    final int query = cursor.next();
+    return holidayService.findNextHolidayInBothCountries(dates[query], countryCodes1[query],
+        countryCodes2[query]);
+  }
+
+  @Benchmark
+  public int verifyAvailableCountries(final Cursor cursor) {
+    final int query = cursor.next();
+    holidayService.verifyAvailableCountries(countryCodes1[query], countryCodes2[query]);
+    return query;
+  }
+
+  @Benchmark
+  public Object verifyNotSupportedCountry(final Cursor cursor) {
+    final int query = cursor.next();
+    try {
+      holidayService.verifyAvailableCountries(NOT_SUPPORTED_COUNTRY_CODE, countryCodes2[query]);
+      return null;
+    } catch (CountryNotSupportedException ex) {
+      return ex;
+    }
+  }
+}
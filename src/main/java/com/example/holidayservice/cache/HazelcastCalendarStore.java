@@ -0,0 +1,121 @@
+package com.example.holidayservice.cache;
+
+import com.example.holidayservice.domain.HolidayCalendar;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shared calendar store in a Hazelcast cluster of the service instances, enabled by
+ * {@code provider.shared-store.type=hazelcast}. Calendars are kept in a distributed map as small
+ * binary values with their version, and a new version replaces the expected one atomically.
+ * Fetches are reserved by entries of another map which expire after the lease.
+ */
+@Component
+@ConditionalOnProperty(name = "provider.shared-store.type", havingValue = "hazelcast")
+public class HazelcastCalendarStore implements SharedCalendarStore {
+
+  /**
+   * Names of the distributed maps of calendars and reserved fetches.
+   */
+  public static final String CALENDARS_MAP = "holiday-calendars";
+  public static final String FETCHES_MAP = "holiday-calendar-fetches";
+
+  /**
+   * Calendars by country code with year.
+   */
+  private final IMap<String, byte[]> calendars;
+
+  /**
+   * Identifiers of members fetching calendars by country code with year.
+   */
+  private final IMap<String, String> fetches;
+
+  /**
+   * Identifier of this member in the cluster.
+   */
+  private final String memberId;
+
+  public HazelcastCalendarStore(final HazelcastInstance hazelcastInstance) {
+    this.calendars = hazelcastInstance.getMap(CALENDARS_MAP);
+    this.fetches = hazelcastInstance.getMap(FETCHES_MAP);
+    this.memberId = hazelcastInstance.getCluster().getLocalMember().getUuid();
+  }
+
+  @Override
+  public Optional<SharedCalendar> get(final HolidayCalendarKey key) {
+    return Optional.ofNullable(calendars.get(mapKey(key))).map(HazelcastCalendarStore::decode);
+  }
+
+  @Override
+  public SharedCalendar publish(final HolidayCalendarKey key, final HolidayCalendar holidays,
+      final long expectedVersion) {
+    final String mapKey = mapKey(key);
+    final var published = new SharedCalendar(holidays, expectedVersion + 1, Instant.now());
+    final byte[] value = encode(published);
+    while (true) {
+      final byte[] current = calendars.get(mapKey);
+      if (current == null) {
+        if (calendars.putIfAbsent(mapKey, value) == null) {
+          return published;
+        }
+      } else {
+        final var currentCalendar = decode(current);
+        if (currentCalendar.getVersion() != expectedVersion) {
+          return currentCalendar;
+        }
+        if (calendars.replace(mapKey, current, value)) {
+          return published;
+        }
+      }
+    }
+  }
+
+  @Override
+  public boolean tryAcquireFetch(final HolidayCalendarKey key, final Duration lease) {
+    return fetches.putIfAbsent(mapKey(key), memberId, lease.toMillis(),
+        TimeUnit.MILLISECONDS) == null;
+  }
+
+  @Override
+  public void releaseFetch(final HolidayCalendarKey key) {
+    fetches.remove(mapKey(key), memberId);
+  }
+
+  private static String mapKey(final HolidayCalendarKey key) {
+    return key.getCountryCode() + "-" + key.getYear();
+  }
+
+  private static byte[] encode(final SharedCalendar calendar) {
+    final var bytes = new ByteArrayOutputStream();
+    try (var output = new DataOutputStream(bytes)) {
+      output.writeLong(calendar.getVersion());
+      output.writeLong(calendar.getFetchedAt().toEpochMilli());
+      HolidayCalendarStore.writeHolidays(output, calendar.getHolidays());
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static SharedCalendar decode(final byte[] value) {
+    try (var input = new DataInputStream(new ByteArrayInputStream(value))) {
+      final long version = input.readLong();
+      final var fetchedAt = Instant.ofEpochMilli(input.readLong());
+      return new SharedCalendar(HolidayCalendarStore.readHolidays(input), version, fetchedAt);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+}
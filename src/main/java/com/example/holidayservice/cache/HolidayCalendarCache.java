@@ -0,0 +1,353 @@
+package com.example.holidayservice.cache;
+
+import com.example.holidayservice.client.HolidayProviderClient;
+import com.example.holidayservice.client.ProviderResilience;
+import com.example.holidayservice.client.ResilientEndpoint;
+import com.example.holidayservice.client.ReactiveHolidayProviderClient;
+import com.example.holidayservice.config.AppConfig;
+import com.example.holidayservice.config.HolidayProviderProperties;
+import com.example.holidayservice.domain.HolidayCalendar;
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import javax.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded in-memory cache of holiday calendars per (country, year). Entries expire after the
+ * configured TTL and the least used are evicted when the cache is full. Concurrent misses of the
+ * same key share one in-flight provider request. Fetched calendars are written to the
+ * {@link HolidayCalendarStore}, which fills the cache at startup and serves a calendar when the
+ * provider fails. With a {@link SharedCalendarStore} the cache is a near-cache of it: a calendar
+ * is fetched by one instance for all of them and checked against the shared version after the
+ * near-cache refresh.
+ */
+@Component
+@Slf4j
+public class HolidayCalendarCache {
+
+  /**
+   * Cache name in metrics.
+   */
+  static final String CACHE_NAME = "holidayCalendars";
+
+  /**
+   * Calendars cache. The loading runs in the provider executor, or without blocking any thread in
+   * the reactive pipeline, and all callers of the same key share its future.
+   */
+  private final AsyncLoadingCache<HolidayCalendarKey, HolidayCalendar> calendars;
+
+  /**
+   * Local store of fetched calendars.
+   */
+  private final HolidayCalendarStore store;
+
+  /**
+   * Loader of calendars from the provider and its executor.
+   */
+  private final AsyncCacheLoader<HolidayCalendarKey, HolidayCalendar> providerLoader;
+  private final Executor providerExecutor;
+
+  /**
+   * Resilience policy of requests to the holidays URL.
+   */
+  private final ResilientEndpoint holidaysEndpoint;
+
+  /**
+   * How long a calendar is served before it is fetched again.
+   */
+  private final Duration ttl;
+
+  /**
+   * Loader of calendars through the store shared by the service instances or null.
+   */
+  private final SharedCalendarLoader sharedLoader;
+
+  /**
+   * Content versions by the cached calendar instance. An entry is removed when its calendar is no
+   * longer cached.
+   */
+  private final Cache<HolidayCalendar, Long> versions = Caffeine.newBuilder()
+      .weakKeys()
+      .build();
+
+  /**
+   * Listeners of loaded calendars.
+   */
+  private final List<BiConsumer<HolidayCalendarKey, HolidayCalendar>> loadListeners =
+      new CopyOnWriteArrayList<>();
+
+  public HolidayCalendarCache(final HolidayProviderClient providerClient,
+      final ObjectProvider<ReactiveHolidayProviderClient> reactiveProviderClient,
+      final HolidayProviderProperties properties, final MeterRegistry meterRegistry,
+      @Qualifier(AppConfig.PROVIDER_EXECUTOR) final Executor providerExecutor,
+      final HolidayCalendarStore store, final ObjectProvider<SharedCalendarStore> sharedStore,
+      final ProviderResilience resilience) {
+    final var cacheProperties = properties.getCache();
+    this.providerLoader = createLoader(providerClient, reactiveProviderClient.getIfAvailable());
+    this.providerExecutor = providerExecutor;
+    this.holidaysEndpoint = resilience.getHolidays();
+    this.store = store;
+    this.ttl = cacheProperties.getTtl();
+    final var shared = sharedStore.getIfAvailable();
+    this.sharedLoader = (shared != null) ? new SharedCalendarLoader(shared, properties,
+        meterRegistry, this::fetchAndStore, this::cachedIfEqual) : null;
+    final var refreshAfter = cacheProperties.getRefreshAfter();
+    final var nearCacheRefresh = properties.getSharedStore().getNearCacheRefresh();
+    final var refreshAfterWrite = (shared != null && nearCacheRefresh.compareTo(refreshAfter) < 0)
+        ? nearCacheRefresh : refreshAfter;
+    this.calendars = Caffeine.newBuilder()
+        .maximumSize(cacheProperties.getMaximumSize())
+        .expireAfterWrite(ttl)
+        .refreshAfterWrite(refreshAfterWrite)
+        .executor(providerExecutor)
+        .recordStats()
+        .buildAsync((key, executor) -> load(key, executor));
+    CaffeineCacheMetrics.monitor(meterRegistry, calendars.synchronous(), CACHE_NAME);
+  }
+
+  /**
+   * Fills the cache with stored calendars, so they are served without calling the provider.
+   * Calendars stored longer than the TTL ago are served until they are fetched again in the
+   * background.
+   */
+  @PostConstruct
+  void loadStoredCalendars() {
+    final var storedCalendars = store.readAllHolidays();
+    final var expired = Instant.now().minus(ttl);
+    storedCalendars.forEach((key, stored) -> {
+      calendars.put(key, CompletableFuture.completedFuture(stored.getValue()));
+      if (stored.getStoredAt().isBefore(expired)) {
+        calendars.synchronous().refresh(key);
+      }
+    });
+    if (!storedCalendars.isEmpty()) {
+      log.info("Loaded {} stored holiday calendars", storedCalendars.size());
+    }
+  }
+
+  /**
+   * Returns holidays for a given country and year, fetches them from the provider on a miss.
+   *
+   * @param countryCode country code param
+   * @param year        year from date
+   * @return holidays calendar in country
+   */
+  public HolidayCalendar getHolidays(final String countryCode, final int year) {
+    try {
+      return getHolidaysAsync(countryCode, year).join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw ex;
+    }
+  }
+
+  /**
+   * Returns future of holidays for a given country and year. On a miss the provider request is
+   * started in the background, so the method can be used to prefetch a calendar.
+   *
+   * @param countryCode country code param
+   * @param year        year from date
+   * @return future of holidays calendar in country
+   */
+  public CompletableFuture<HolidayCalendar> getHolidaysAsync(final String countryCode,
+      final int year) {
+    return calendars.get(HolidayCalendarKey.of(countryCode, year));
+  }
+
+  /**
+   * Returns version of the cached calendar for a given country and year, without fetching it. The
+   * version is a hash of the calendar content, so a calendar fetched again with the same holidays
+   * keeps its version.
+   *
+   * @param countryCode country code param
+   * @param year        year of calendar
+   * @return version or empty when the calendar is not cached
+   */
+  public OptionalLong getVersion(final String countryCode, final int year) {
+    final var holidays = calendars.asMap().get(HolidayCalendarKey.of(countryCode, year));
+    if (holidays == null || !holidays.isDone() || holidays.isCompletedExceptionally()) {
+      return OptionalLong.empty();
+    }
+    return OptionalLong.of(versions.get(holidays.join(), HolidayCalendarCache::contentVersion));
+  }
+
+  /**
+   * Adds listener of calendars loaded on a miss or a refresh. It is called with the loaded calendar
+   * before the calendar is cached, by the thread which loaded it, so it should not block.
+   *
+   * @param listener listener of country code with year and loaded calendar
+   */
+  public void addLoadListener(final BiConsumer<HolidayCalendarKey, HolidayCalendar> listener) {
+    loadListeners.add(listener);
+  }
+
+  /**
+   * Fetches calendar for a given country and year again and replaces the cached one, which is
+   * served until then. When the fetching fails the cached calendar is kept. With a shared store a
+   * shared calendar younger than the refresh after is taken instead of fetching it.
+   *
+   * @param countryCode country code param
+   * @param year        year of calendar
+   * @return future of fetched holidays calendar in country
+   */
+  public CompletableFuture<HolidayCalendar> refreshHolidays(final String countryCode,
+      final int year) {
+    final var key = HolidayCalendarKey.of(countryCode, year);
+    return load(key, providerExecutor).thenApply(holidays -> {
+      calendars.put(key, CompletableFuture.completedFuture(holidays));
+      return holidays;
+    });
+  }
+
+  /**
+   * Returns hit, miss and load time counters of the cache.
+   *
+   * @return cache statistics
+   */
+  public CacheStats stats() {
+    return calendars.synchronous().stats();
+  }
+
+  /**
+   * Loads calendar from the shared store, when there is one, or from the provider, and passes it
+   * to the load listeners.
+   *
+   * @param key      country code with year
+   * @param executor provider executor
+   * @return future of holidays calendar in country
+   */
+  private CompletableFuture<HolidayCalendar> load(final HolidayCalendarKey key,
+      final Executor executor) {
+    final CompletableFuture<HolidayCalendar> loaded = (sharedLoader == null)
+        ? fetchAndStore(key, executor, null, CompletableFuture::completedFuture)
+        : sharedLoader.load(key, executor);
+    return loaded.thenApply(holidays -> {
+      for (BiConsumer<HolidayCalendarKey, HolidayCalendar> listener : loadListeners) {
+        try {
+          listener.accept(key, holidays);
+        } catch (RuntimeException ex) {
+          log.warn("Load listener failed for holidays of {} in {}", key.getCountryCode(),
+              key.getYear(), ex);
+        }
+      }
+      return holidays;
+    });
+  }
+
+  /**
+   * Loads calendar from the provider, with retries and fast failures of the resilience policy, and
+   * stores it. When the provider fails the stale calendar, or the stored calendar is returned, if
+   * there is one.
+   *
+   * @param key      country code with year
+   * @param executor provider executor
+   * @param stale    calendar served when the provider fails or null
+   * @param fetched  returns future of calendar served after it is fetched
+   * @return future of holidays calendar in country
+   */
+  private CompletableFuture<HolidayCalendar> fetchAndStore(final HolidayCalendarKey key,
+      final Executor executor, final HolidayCalendar stale,
+      final Function<HolidayCalendar, CompletableFuture<HolidayCalendar>> fetched) {
+    return holidaysEndpoint.executeAsync(() -> fetch(key, executor))
+        .handle((holidays, ex) -> {
+          if (ex == null) {
+            executor.execute(() -> store.saveHolidays(key, holidays));
+            return fetched.apply(holidays);
+          }
+          if (stale != null) {
+            log.warn("Could not fetch holidays of {} in {}, serving the shared calendar: {}",
+                key.getCountryCode(), key.getYear(), ex.getMessage());
+            return CompletableFuture.completedFuture(stale);
+          }
+          return CompletableFuture.supplyAsync(() -> store.readHolidays(key), executor)
+              .thenCompose(stored -> {
+                if (stored.isEmpty()) {
+                  return CompletableFuture.<HolidayCalendar>failedFuture(ex);
+                }
+                log.warn("Could not fetch holidays of {} in {}, serving the stored calendar: {}",
+                    key.getCountryCode(), key.getYear(), ex.getMessage());
+                return CompletableFuture.completedFuture(stored.get().getValue());
+              });
+        })
+        .thenCompose(Function.identity());
+  }
+
+  private CompletableFuture<HolidayCalendar> fetch(final HolidayCalendarKey key,
+      final Executor executor) {
+    try {
+      return providerLoader.asyncLoad(key, executor);
+    } catch (Exception ex) {
+      return CompletableFuture.failedFuture(ex);
+    }
+  }
+
+  /**
+   * Returns the cached calendar when it has the same holidays as the given one, so a calendar
+   * checked against the shared store keeps its instance and what is built from it.
+   */
+  private HolidayCalendar cachedIfEqual(final HolidayCalendarKey key,
+      final HolidayCalendar holidays) {
+    final var cached = calendars.asMap().get(key);
+    if (cached != null && cached.isDone() && !cached.isCompletedExceptionally()
+        && cached.join().equals(holidays)) {
+      return cached.join();
+    }
+    return holidays;
+  }
+
+  /**
+   * Returns hash of holidays, which are kept in order of dates and names.
+   *
+   * @param holidays holidays calendar in country
+   * @return content version
+   */
+  private static long contentVersion(final HolidayCalendar holidays) {
+    long version = holidays.size();
+    for (int i = 0; i < holidays.size(); i++) {
+      version = 31 * version + holidays.getEpochDay(i);
+      version = 31 * version + String.valueOf(holidays.getLocalName(i)).hashCode();
+    }
+    return version;
+  }
+
+  /**
+   * Creates calendar loader with the reactive client when the reactive pipeline is enabled. A load
+   * of the blocking client is bounded by the connect, connection request and read timeouts of the
+   * HTTP client, which abort the call itself instead of leaving it running in the executor.
+   *
+   * @param providerClient         blocking provider client
+   * @param reactiveProviderClient reactive provider client or null
+   * @return calendar loader
+   */
+  private static AsyncCacheLoader<HolidayCalendarKey, HolidayCalendar> createLoader(
+      final HolidayProviderClient providerClient,
+      final ReactiveHolidayProviderClient reactiveProviderClient) {
+    if (reactiveProviderClient != null) {
+      return (key, executor) -> reactiveProviderClient
+          .fetchHolidays(key.getCountryCode(), key.getYear())
+          .toFuture();
+    }
+    return (key, executor) -> CompletableFuture.supplyAsync(
+        () -> providerClient.fetchHolidays(key.getCountryCode(), key.getYear()), executor);
+  }
+}
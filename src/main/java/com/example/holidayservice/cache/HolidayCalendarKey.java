@@ -0,0 +1,26 @@
+package com.example.holidayservice.cache;
+
+import com.example.holidayservice.domain.CountryCode;
+import lombok.Value;
+
+/**
+ * Key of the holiday calendar: country code with year.
+ */
+@Value
+public class HolidayCalendarKey {
+
+  String countryCode;
+
+  int year;
+
+  /**
+   * Creates key with normalized country code, so "pl" and "PL" share the same calendar.
+   *
+   * @param countryCode country code param
+   * @param year        year of calendar
+   * @return calendar key
+   */
+  public static HolidayCalendarKey of(final String countryCode, final int year) {
+    return new HolidayCalendarKey(CountryCode.normalize(countryCode), year);
+  }
+}
@@ -0,0 +1,269 @@
+package com.example.holidayservice.cache;
+
+import com.example.holidayservice.config.HolidayProviderProperties;
+import com.example.holidayservice.domain.Country;
+import com.example.holidayservice.domain.HolidayCalendar;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local store of calendars and supported countries fetched from the provider, so they survive
+ * restarts and provider outages. Every calendar is a small binary file replaced atomically. The
+ * store is best effort: errors are logged and a file which can not be read is skipped.
+ */
+@Component
+@Slf4j
+public class HolidayCalendarStore {
+
+  /**
+   * Version of the file format, files with other version are skipped.
+   */
+  private static final int FORMAT_VERSION = 2;
+
+  /**
+   * Store layout.
+   */
+  private static final String CALENDARS_DIRECTORY = "calendars";
+  private static final String COUNTRIES_FILE = "countries.bin";
+  private static final String FILE_EXTENSION = ".bin";
+  private static final Pattern CALENDAR_FILE = Pattern.compile("([A-Z]{2})-(\\d{1,9})\\.bin");
+
+  private final boolean enabled;
+
+  private final Path directory;
+
+  public HolidayCalendarStore(final HolidayProviderProperties properties) {
+    this.enabled = properties.getStore().isEnabled();
+    this.directory = properties.getStore().getDirectory();
+  }
+
+  /**
+   * Stores calendar of the country in the year.
+   *
+   * @param key      country code with year
+   * @param holidays holidays calendar in country
+   */
+  public void saveHolidays(final HolidayCalendarKey key, final HolidayCalendar holidays) {
+    if (!enabled) {
+      return;
+    }
+    write(calendarFile(key), output -> writeHolidays(output, holidays));
+  }
+
+  /**
+   * Returns stored calendar of the country in the year.
+   *
+   * @param key country code with year
+   * @return stored holidays calendar in country or empty
+   */
+  public Optional<Stored<HolidayCalendar>> readHolidays(final HolidayCalendarKey key) {
+    return enabled ? read(calendarFile(key), HolidayCalendarStore::readHolidays)
+        : Optional.empty();
+  }
+
+  /**
+   * Returns all stored calendars.
+   *
+   * @return stored holidays collections by country code with year
+   */
+  public Map<HolidayCalendarKey, Stored<HolidayCalendar>> readAllHolidays() {
+    final Map<HolidayCalendarKey, Stored<HolidayCalendar>> calendars = new HashMap<>();
+    final var calendarsDirectory = directory.resolve(CALENDARS_DIRECTORY);
+    if (!enabled || !Files.isDirectory(calendarsDirectory)) {
+      return calendars;
+    }
+    try (Stream<Path> files = Files.list(calendarsDirectory)) {
+      files.forEach(file -> {
+        final Matcher matcher = CALENDAR_FILE.matcher(file.getFileName().toString());
+        if (matcher.matches()) {
+          final var key = HolidayCalendarKey.of(matcher.group(1),
+              Integer.parseInt(matcher.group(2)));
+          read(file, HolidayCalendarStore::readHolidays)
+              .ifPresent(holidays -> calendars.put(key, holidays));
+        }
+      });
+    } catch (IOException ex) {
+      log.warn("Could not list stored calendars in {}: {}", calendarsDirectory, ex.getMessage());
+    }
+    return calendars;
+  }
+
+  /**
+   * Stores supported countries.
+   *
+   * @param countries country codes and names
+   */
+  public void saveCountries(final List<Country> countries) {
+    if (!enabled) {
+      return;
+    }
+    write(directory.resolve(COUNTRIES_FILE), output -> {
+      output.writeInt(countries.size());
+      for (Country country : countries) {
+        output.writeUTF(country.getKey());
+        output.writeUTF(country.getValue());
+      }
+    });
+  }
+
+  /**
+   * Returns stored supported countries.
+   *
+   * @return stored country codes and names or empty
+   */
+  public Optional<Stored<List<Country>>> readCountries() {
+    return enabled ? read(directory.resolve(COUNTRIES_FILE), HolidayCalendarStore::readCountries)
+        : Optional.empty();
+  }
+
+  private Path calendarFile(final HolidayCalendarKey key) {
+    return directory.resolve(CALENDARS_DIRECTORY)
+        .resolve(key.getCountryCode() + "-" + key.getYear() + FILE_EXTENSION);
+  }
+
+  /**
+   * Writes the file header and content to a temporary file and moves it in place of the file, so
+   * readers never see a partially written file.
+   */
+  private void write(final Path file, final ContentWriter content) {
+    try {
+      Files.createDirectories(file.getParent());
+      final var temporaryFile = Files.createTempFile(file.getParent(),
+          file.getFileName().toString(), ".tmp");
+      try {
+        try (var output = new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+          output.writeInt(FORMAT_VERSION);
+          output.writeLong(Instant.now().toEpochMilli());
+          content.write(output);
+        }
+        move(temporaryFile, file);
+      } finally {
+        Files.deleteIfExists(temporaryFile);
+      }
+    } catch (IOException | RuntimeException ex) {
+      log.warn("Could not store {}: {}", file, ex.getMessage());
+    }
+  }
+
+  private static void move(final Path source, final Path target) throws IOException {
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException ex) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  /**
+   * Reads the file header and content, returns empty when the file does not exist or can not be
+   * read.
+   */
+  private static <T> Optional<Stored<T>> read(final Path file, final ContentReader<T> content) {
+    if (!Files.isRegularFile(file)) {
+      return Optional.empty();
+    }
+    try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      if (input.readInt() != FORMAT_VERSION) {
+        return Optional.empty();
+      }
+      final var storedAt = Instant.ofEpochMilli(input.readLong());
+      return Optional.of(new Stored<>(content.read(input), storedAt));
+    } catch (IOException | RuntimeException ex) {
+      log.warn("Could not read stored {}: {}", file, ex.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Writes holidays of a calendar, also used by the {@link HazelcastCalendarStore}. A holiday
+   * without a local name is written with a flag of the missing name.
+   *
+   * @param output   output of the stored value
+   * @param holidays holidays calendar in country
+   * @throws IOException when the output fails
+   */
+  static void writeHolidays(final DataOutputStream output, final HolidayCalendar holidays)
+      throws IOException {
+    output.writeInt(holidays.size());
+    for (int i = 0; i < holidays.size(); i++) {
+      output.writeInt(holidays.getEpochDay(i));
+      final var localName = holidays.getLocalName(i);
+      output.writeBoolean(localName != null);
+      if (localName != null) {
+        output.writeUTF(localName);
+      }
+    }
+  }
+
+  /**
+   * Reads holidays of a calendar written by {@link #writeHolidays}.
+   *
+   * @param input input of the stored value
+   * @return holidays calendar in country
+   * @throws IOException when the input fails or ends
+   */
+  static HolidayCalendar readHolidays(final DataInputStream input) throws IOException {
+    final int size = input.readInt();
+    final var holidays = HolidayCalendar.builder(size);
+    for (int i = 0; i < size; i++) {
+      final int epochDay = input.readInt();
+      holidays.add(epochDay, input.readBoolean() ? input.readUTF() : null);
+    }
+    return holidays.build();
+  }
+
+  private static List<Country> readCountries(final DataInputStream input) throws IOException {
+    final int size = input.readInt();
+    final List<Country> countries = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      countries.add(Country.builder()
+          .key(input.readUTF())
+          .value(input.readUTF())
+          .build());
+    }
+    return List.copyOf(countries);
+  }
+
+  /**
+   * Stored value with time of storing.
+   */
+  @Value
+  public static class Stored<T> {
+
+    T value;
+
+    Instant storedAt;
+  }
+
+  @FunctionalInterface
+  private interface ContentWriter {
+
+    void write(DataOutputStream output) throws IOException;
+  }
+
+  @FunctionalInterface
+  private interface ContentReader<T> {
+
+    T read(DataInputStream input) throws IOException;
+  }
+}
@@ -0,0 +1,163 @@
+package com.example.holidayservice.cache;
+
+import com.example.holidayservice.config.HolidayProviderProperties;
+import com.example.holidayservice.config.ResponseCacheProperties;
+import com.example.holidayservice.domain.CountryCode;
+import com.example.holidayservice.dto.HolidayResponseDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Next holiday responses with strong ETags derived from the query and versions of the calendars
+ * the response was found in, so the ETag changes only when one of the calendars changes. When
+ * enabled, responses are also cached by the normalized query and served while their calendars
+ * are unchanged.
+ */
+@Component
+public class HolidayResponseCache {
+
+  /**
+   * Cache name in metrics.
+   */
+  private static final String CACHE_NAME = "holidayResponses";
+
+  /**
+   * Holiday calendars with their versions.
+   */
+  private final HolidayCalendarCache calendarCache;
+
+  /**
+   * How long clients can keep a response, the same as calendars are kept.
+   */
+  @Getter
+  private final Duration maxAge;
+
+  /**
+   * Responses by normalized query, null when the cache is disabled.
+   */
+  private final Cache<ResponseKey, CachedResponse> responses;
+
+  public HolidayResponseCache(final HolidayCalendarCache calendarCache,
+      final HolidayProviderProperties providerProperties,
+      final ResponseCacheProperties properties, final MeterRegistry meterRegistry) {
+    this.calendarCache = calendarCache;
+    this.maxAge = providerProperties.getCache().getTtl();
+    if (properties.isEnabled()) {
+      this.responses = Caffeine.newBuilder()
+          .maximumSize(properties.getMaximumSize())
+          .expireAfterWrite(maxAge)
+          .recordStats()
+          .build();
+      CaffeineCacheMetrics.monitor(meterRegistry, responses, CACHE_NAME);
+    } else {
+      this.responses = null;
+    }
+  }
+
+  /**
+   * Returns cached response of the query when its calendars are unchanged. Countries of the query
+   * are not verified, callers verify them on every cached response.
+   *
+   * @param date         given date param
+   * @param countryCode1 country1 code param
+   * @param countryCode2 country2 code param
+   * @return cached response or empty
+   */
+  public Optional<CachedResponse> get(final LocalDate date, final String countryCode1,
+      final String countryCode2) {
+    if (responses == null) {
+      return Optional.empty();
+    }
+    final var cached = responses.getIfPresent(ResponseKey.of(date, countryCode1, countryCode2));
+    if (cached == null) {
+      return Optional.empty();
+    }
+    final var eTag = eTag(date, countryCode1, countryCode2,
+        cached.getBody().getNextHolidayDate().getYear());
+    return cached.getETag().equals(eTag) ? Optional.of(cached) : Optional.empty();
+  }
+
+  /**
+   * Returns response of the query with its ETag and caches it when enabled.
+   *
+   * @param date         given date param
+   * @param countryCode1 country1 code param
+   * @param countryCode2 country2 code param
+   * @param body         next holiday found by the search
+   * @return response with ETag, which is null when the calendars are no longer cached
+   */
+  public CachedResponse put(final LocalDate date, final String countryCode1,
+      final String countryCode2, final HolidayResponseDto body) {
+    final var response = new CachedResponse(body, eTag(date, countryCode1, countryCode2,
+        body.getNextHolidayDate().getYear()));
+    if (responses != null && response.getETag() != null) {
+      responses.put(ResponseKey.of(date, countryCode1, countryCode2), response);
+    }
+    return response;
+  }
+
+  /**
+   * Returns ETag of the query from versions of calendars of both countries in all years searched
+   * before the holiday was found.
+   *
+   * @param date         given date param
+   * @param countryCode1 country1 code param
+   * @param countryCode2 country2 code param
+   * @param lastYear     year of the found holiday
+   * @return ETag or null when any of the calendars is not cached
+   */
+  private String eTag(final LocalDate date, final String countryCode1,
+      final String countryCode2, final int lastYear) {
+    long hash = date.toEpochDay();
+    hash = 31 * hash + CountryCode.normalize(countryCode1).hashCode();
+    hash = 31 * hash + CountryCode.normalize(countryCode2).hashCode();
+    for (int year = date.getYear(); year <= lastYear; year++) {
+      final var version1 = calendarCache.getVersion(countryCode1, year);
+      final var version2 = calendarCache.getVersion(countryCode2, year);
+      if (version1.isEmpty() || version2.isEmpty()) {
+        return null;
+      }
+      hash = 31 * hash + version1.getAsLong();
+      hash = 31 * hash + version2.getAsLong();
+    }
+    return '"' + Long.toHexString(hash) + '"';
+  }
+
+  /**
+   * Next holiday response with its ETag.
+   */
+  @Value
+  public static class CachedResponse {
+
+    HolidayResponseDto body;
+
+    String eTag;
+  }
+
+  /**
+   * Query with normalized country codes.
+   */
+  @Value
+  private static class ResponseKey {
+
+    LocalDate date;
+
+    String countryCode1;
+
+    String countryCode2;
+
+    static ResponseKey of(final LocalDate date, final String countryCode1,
+        final String countryCode2) {
+      return new ResponseKey(date, CountryCode.normalize(countryCode1),
+          CountryCode.normalize(countryCode2));
+    }
+  }
+}
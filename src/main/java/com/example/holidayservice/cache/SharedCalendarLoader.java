@@ -0,0 +1,213 @@
+package com.example.holidayservice.cache;
+
+import com.example.holidayservice.cache.SharedCalendarStore.SharedCalendar;
+import com.example.holidayservice.config.HolidayProviderProperties;
+import com.example.holidayservice.domain.HolidayCalendar;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads of calendars of the {@link HolidayCalendarCache} coordinated through the
+ * {@link SharedCalendarStore}: a shared calendar younger than the refresh after is taken from the
+ * store, otherwise one instance fetches the calendar and publishes it while the others wait for
+ * it. The shared store is best effort like the local one: when it fails the calendar is fetched
+ * and served by this instance alone.
+ */
+@Slf4j
+final class SharedCalendarLoader {
+
+  /**
+   * Name of the shared store loads counter.
+   */
+  static final String SHARED_LOADS = "holiday.shared-store.loads";
+
+  /**
+   * Delay between checks of a calendar fetched by another instance.
+   */
+  private static final long SHARED_POLL_MILLIS = 100;
+
+  /**
+   * Fetches calendar from the provider and stores it.
+   */
+  @FunctionalInterface
+  interface Fetcher {
+
+    /**
+     * Fetches calendar from the provider and stores it. When the provider fails the stale
+     * calendar, or the stored calendar is returned, if there is one.
+     *
+     * @param key      country code with year
+     * @param executor provider executor
+     * @param stale    calendar served when the provider fails or null
+     * @param fetched  returns future of calendar served after it is fetched
+     * @return future of holidays calendar in country
+     */
+    CompletableFuture<HolidayCalendar> fetch(HolidayCalendarKey key, Executor executor,
+        HolidayCalendar stale,
+        Function<HolidayCalendar, CompletableFuture<HolidayCalendar>> fetched);
+  }
+
+  private final SharedCalendarStore sharedStore;
+
+  /**
+   * Age of a shared calendar after which it is fetched again and the reservation time of a fetch.
+   */
+  private final Duration refreshAfter;
+  private final Duration fetchLease;
+
+  private final Fetcher fetcher;
+
+  /**
+   * Returns the cached calendar when it has the same holidays as the given one.
+   */
+  private final BiFunction<HolidayCalendarKey, HolidayCalendar, HolidayCalendar> cachedIfEqual;
+
+  /**
+   * Loads of calendars served by the shared store and fetched by this instance.
+   */
+  private final Counter sharedLoads;
+  private final Counter providerLoads;
+
+  SharedCalendarLoader(final SharedCalendarStore sharedStore,
+      final HolidayProviderProperties properties, final MeterRegistry meterRegistry,
+      final Fetcher fetcher,
+      final BiFunction<HolidayCalendarKey, HolidayCalendar, HolidayCalendar> cachedIfEqual) {
+    this.sharedStore = sharedStore;
+    this.refreshAfter = properties.getCache().getRefreshAfter();
+    this.fetchLease = properties.getSharedStore().getFetchLease();
+    this.fetcher = fetcher;
+    this.cachedIfEqual = cachedIfEqual;
+    this.sharedLoads = Counter.builder(SHARED_LOADS)
+        .description("Loads of calendars by whether the shared store or the provider served them")
+        .tag("source", "shared")
+        .register(meterRegistry);
+    this.providerLoads = Counter.builder(SHARED_LOADS)
+        .description("Loads of calendars by whether the shared store or the provider served them")
+        .tag("source", "provider")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Loads calendar from the shared store or from the provider.
+   *
+   * @param key      country code with year
+   * @param executor provider executor
+   * @return future of holidays calendar in country
+   */
+  CompletableFuture<HolidayCalendar> load(final HolidayCalendarKey key,
+      final Executor executor) {
+    return CompletableFuture.supplyAsync(() -> getShared(key), executor)
+        .thenCompose(shared -> loadShared(key, shared, executor));
+  }
+
+  /**
+   * Returns the shared calendar when it is younger than the refresh after. Otherwise fetches the
+   * calendar and publishes it when no other instance is fetching it, or waits for the instance
+   * which is, until the end of its lease.
+   *
+   * @param key      country code with year
+   * @param shared   shared calendar or null
+   * @param executor provider executor
+   * @return future of holidays calendar in country
+   */
+  private CompletableFuture<HolidayCalendar> loadShared(final HolidayCalendarKey key,
+      final SharedCalendar shared, final Executor executor) {
+    if (shared != null && shared.getFetchedAt().plus(refreshAfter).isAfter(Instant.now())) {
+      sharedLoads.increment();
+      return CompletableFuture.completedFuture(cachedIfEqual.apply(key, shared.getHolidays()));
+    }
+    final long version = (shared != null) ? shared.getVersion() : 0;
+    if (tryAcquireFetch(key)) {
+      return fetchAndPublish(key, version, shared, executor)
+          .whenCompleteAsync((holidays, ex) -> releaseFetch(key), executor);
+    }
+    return awaitShared(key, version, shared, System.nanoTime() + fetchLease.toNanos(), executor);
+  }
+
+  /**
+   * Checks the shared store until another instance publishes a version newer than the given one.
+   * When it does not publish it until the deadline the calendar is fetched without a lease.
+   */
+  private CompletableFuture<HolidayCalendar> awaitShared(final HolidayCalendarKey key,
+      final long version, final SharedCalendar shared, final long deadline,
+      final Executor executor) {
+    final var delayedExecutor = CompletableFuture.delayedExecutor(SHARED_POLL_MILLIS,
+        TimeUnit.MILLISECONDS, executor);
+    return CompletableFuture.supplyAsync(() -> getShared(key), delayedExecutor)
+        .thenCompose(current -> {
+          if (current != null && current.getVersion() > version) {
+            sharedLoads.increment();
+            return CompletableFuture.completedFuture(
+                cachedIfEqual.apply(key, current.getHolidays()));
+          }
+          if (System.nanoTime() - deadline >= 0) {
+            return fetchAndPublish(key, version, shared, executor);
+          }
+          return awaitShared(key, version, shared, deadline, executor);
+        });
+  }
+
+  /**
+   * Fetches calendar and publishes it as the next version of the shared one. When the provider
+   * fails the older shared calendar is returned, if there is one.
+   */
+  private CompletableFuture<HolidayCalendar> fetchAndPublish(final HolidayCalendarKey key,
+      final long version, final SharedCalendar shared, final Executor executor) {
+    return fetcher.fetch(key, executor, (shared != null) ? shared.getHolidays() : null,
+        holidays -> CompletableFuture.supplyAsync(() -> {
+          providerLoads.increment();
+          return cachedIfEqual.apply(key, publish(key, holidays, version));
+        }, executor));
+  }
+
+  /**
+   * Operations of the shared store, logged and skipped when the store fails.
+   */
+  private SharedCalendar getShared(final HolidayCalendarKey key) {
+    try {
+      return sharedStore.get(key).orElse(null);
+    } catch (RuntimeException ex) {
+      log.warn("Could not read shared holidays of {} in {}: {}", key.getCountryCode(),
+          key.getYear(), ex.getMessage());
+      return null;
+    }
+  }
+
+  private HolidayCalendar publish(final HolidayCalendarKey key, final HolidayCalendar holidays,
+      final long version) {
+    try {
+      return sharedStore.publish(key, holidays, version).getHolidays();
+    } catch (RuntimeException ex) {
+      log.warn("Could not publish holidays of {} in {}: {}", key.getCountryCode(), key.getYear(),
+          ex.getMessage());
+      return holidays;
+    }
+  }
+
+  private boolean tryAcquireFetch(final HolidayCalendarKey key) {
+    try {
+      return sharedStore.tryAcquireFetch(key, fetchLease);
+    } catch (RuntimeException ex) {
+      log.warn("Could not reserve fetching holidays of {} in {}: {}", key.getCountryCode(),
+          key.getYear(), ex.getMessage());
+      return true;
+    }
+  }
+
+  private void releaseFetch(final HolidayCalendarKey key) {
+    try {
+      sharedStore.releaseFetch(key);
+    } catch (RuntimeException ex) {
+      log.warn("Could not release fetching holidays of {} in {}: {}", key.getCountryCode(),
+          key.getYear(), ex.getMessage());
+    }
+  }
+}
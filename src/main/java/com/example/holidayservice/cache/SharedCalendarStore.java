@@ -0,0 +1,66 @@
+package com.example.holidayservice.cache;
+
+import com.example.holidayservice.domain.HolidayCalendar;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import lombok.Value;
+
+/**
+ * Store of calendars shared by all instances of the service, under the in-memory
+ * {@link HolidayCalendarCache} of every instance. A calendar fetched by one instance is published
+ * with the next version, the other instances take it from the store instead of calling the
+ * provider. Implementations are enabled by {@code provider.shared-store.type}.
+ */
+public interface SharedCalendarStore {
+
+  /**
+   * Returns shared calendar of the country in the year.
+   *
+   * @param key country code with year
+   * @return shared calendar with its version or empty
+   */
+  Optional<SharedCalendar> get(HolidayCalendarKey key);
+
+  /**
+   * Publishes calendar fetched from the provider as the next version, when the shared version is
+   * still the expected one. Otherwise another instance published a calendar in the meantime and
+   * that one is kept.
+   *
+   * @param key             country code with year
+   * @param holidays        fetched holidays calendar in country
+   * @param expectedVersion version the fetch was started from, 0 when there was none
+   * @return published calendar or the calendar published by another instance
+   */
+  SharedCalendar publish(HolidayCalendarKey key, HolidayCalendar holidays, long expectedVersion);
+
+  /**
+   * Reserves fetching of the calendar for this instance, so other instances wait for it instead
+   * of fetching the same calendar.
+   *
+   * @param key   country code with year
+   * @param lease how long the fetch is reserved when it is not released
+   * @return true when this instance should fetch the calendar
+   */
+  boolean tryAcquireFetch(HolidayCalendarKey key, Duration lease);
+
+  /**
+   * Releases fetching of the calendar reserved by this instance.
+   *
+   * @param key country code with year
+   */
+  void releaseFetch(HolidayCalendarKey key);
+
+  /**
+   * Shared calendar with its version and time of fetching from the provider.
+   */
+  @Value
+  class SharedCalendar {
+
+    HolidayCalendar holidays;
+
+    long version;
+
+    Instant fetchedAt;
+  }
+}
@@ -0,0 +1,144 @@
+package com.example.holidayservice.client;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Count based circuit breaker of requests to a provider URL. The circuit opens when the failure
+ * rate of the last requests reaches the threshold, then rejects requests for the open duration and
+ * lets one trial request through, which closes the circuit or opens it again.
+ */
+final class CircuitBreaker {
+
+  /**
+   * States of the circuit, the ordinal is the value of the state gauge.
+   */
+  enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  private final double failureRateThreshold;
+
+  private final int minimumCalls;
+
+  private final long openDurationNanos;
+
+  private final LongSupplier nanoClock;
+
+  /**
+   * Outcomes of the last requests in a ring, true when failed.
+   */
+  private final boolean[] outcomes;
+
+  private int calls;
+
+  private int failures;
+
+  private int next;
+
+  private State state = State.CLOSED;
+
+  private long openedAt;
+
+  private boolean trialInProgress;
+
+  CircuitBreaker(final double failureRateThreshold, final int minimumCalls,
+      final int slidingWindowSize, final Duration openDuration, final LongSupplier nanoClock) {
+    this.failureRateThreshold = failureRateThreshold;
+    this.minimumCalls = minimumCalls;
+    this.openDurationNanos = openDuration.toNanos();
+    this.nanoClock = nanoClock;
+    this.outcomes = new boolean[slidingWindowSize];
+  }
+
+  /**
+   * Checks a request is permitted. Every permitted request must be followed by
+   * {@link #onSuccess()}, {@link #onFailure()} or {@link #onIgnored()}.
+   *
+   * @return true when the request can be sent
+   */
+  synchronized boolean tryAcquirePermission() {
+    switch (state) {
+      case CLOSED:
+        return true;
+      case OPEN:
+        if (nanoClock.getAsLong() - openedAt < openDurationNanos) {
+          return false;
+        }
+        state = State.HALF_OPEN;
+        trialInProgress = true;
+        return true;
+      default:
+        if (trialInProgress) {
+          return false;
+        }
+        trialInProgress = true;
+        return true;
+    }
+  }
+
+  /**
+   * Records a request which the provider handled, closes the circuit after a trial request.
+   */
+  synchronized void onSuccess() {
+    if (state == State.HALF_OPEN) {
+      close();
+    } else if (state == State.CLOSED) {
+      record(false);
+    }
+  }
+
+  /**
+   * Records a failed request, opens the circuit when the failure rate reaches the threshold or a
+   * trial request failed.
+   */
+  synchronized void onFailure() {
+    if (state == State.HALF_OPEN) {
+      open();
+    } else if (state == State.CLOSED) {
+      record(true);
+      if (calls >= minimumCalls && failures >= failureRateThreshold * calls) {
+        open();
+      }
+    }
+  }
+
+  /**
+   * Releases the permission of a request which failed for a reason unrelated to the provider,
+   * without recording it, so a trial request can be sent again.
+   */
+  synchronized void onIgnored() {
+    if (state == State.HALF_OPEN) {
+      trialInProgress = false;
+    }
+  }
+
+  synchronized State getState() {
+    return state;
+  }
+
+  private void record(final boolean failed) {
+    if (calls == outcomes.length) {
+      failures -= outcomes[next] ? 1 : 0;
+    } else {
+      calls++;
+    }
+    outcomes[next] = failed;
+    failures += failed ? 1 : 0;
+    next = (next + 1) % outcomes.length;
+  }
+
+  private void open() {
+    state = State.OPEN;
+    openedAt = nanoClock.getAsLong();
+    trialInProgress = false;
+  }
+
+  private void close() {
+    state = State.CLOSED;
+    calls = 0;
+    failures = 0;
+    next = 0;
+    trialInProgress = false;
+  }
+}
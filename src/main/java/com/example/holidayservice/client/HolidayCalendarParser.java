@@ -0,0 +1,130 @@
+package com.example.holidayservice.client;
+
+import com.example.holidayservice.domain.HolidayCalendar;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * Streaming parser of provider holidays responses. Reads the JSON tokens straight into a
+ * {@link HolidayCalendar}, keeping only the date and local name of every holiday and skipping
+ * other fields, without binding the response to holiday objects first.
+ */
+final class HolidayCalendarParser {
+
+  /**
+   * Holiday fields read from the response.
+   */
+  private static final String DATE = "date";
+  private static final String LOCAL_NAME = "localName";
+
+  /**
+   * Typical number of holidays of a country in a year.
+   */
+  private static final int EXPECTED_SIZE = 16;
+
+  /**
+   * Length of a date in the {@code yyyy-MM-dd} format.
+   */
+  private static final int DATE_LENGTH = 10;
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private HolidayCalendarParser() {
+  }
+
+  /**
+   * Reads holidays from a provider response and closes the stream.
+   *
+   * @param body response body with an array of holidays
+   * @return holidays calendar, empty when the body is empty
+   * @throws IOException when the body can not be read or is not an array of holidays
+   */
+  static HolidayCalendar parse(final InputStream body) throws IOException {
+    try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+      return parse(parser);
+    }
+  }
+
+  private static HolidayCalendar parse(final JsonParser parser) throws IOException {
+    final var token = parser.nextToken();
+    if (token == null || token == JsonToken.VALUE_NULL) {
+      return HolidayCalendar.empty();
+    }
+    if (token != JsonToken.START_ARRAY) {
+      throw new JsonParseException(parser, "Expected an array of holidays");
+    }
+    final var calendar = HolidayCalendar.builder(EXPECTED_SIZE);
+    while (parser.nextToken() == JsonToken.START_OBJECT) {
+      long epochDay = Long.MIN_VALUE;
+      String localName = null;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String field = parser.getCurrentName();
+        final var value = parser.nextToken();
+        if (DATE.equals(field) && value == JsonToken.VALUE_STRING) {
+          epochDay = parseEpochDay(parser);
+        } else if (LOCAL_NAME.equals(field) && value != JsonToken.VALUE_NULL) {
+          localName = parser.getValueAsString();
+        } else {
+          parser.skipChildren();
+        }
+      }
+      if (epochDay == Long.MIN_VALUE) {
+        throw new JsonParseException(parser, "Expected a date of the holiday");
+      }
+      calendar.add(epochDay, localName);
+    }
+    if (parser.currentToken() != JsonToken.END_ARRAY) {
+      throw new JsonParseException(parser, "Expected a holiday object");
+    }
+    return calendar.build();
+  }
+
+  /**
+   * Returns epoch day of the current date token. A {@code yyyy-MM-dd} date is read from the token
+   * characters without creating a string, other ISO dates are parsed from text.
+   */
+  private static long parseEpochDay(final JsonParser parser) throws IOException {
+    try {
+      return readEpochDay(parser);
+    } catch (DateTimeException ex) {
+      throw new JsonParseException(parser, "Invalid date of the holiday", ex);
+    }
+  }
+
+  private static long readEpochDay(final JsonParser parser) throws IOException {
+    final char[] text = parser.getTextCharacters();
+    final int offset = parser.getTextOffset();
+    if (parser.getTextLength() != DATE_LENGTH || text[offset + 4] != '-'
+        || text[offset + 7] != '-') {
+      return LocalDate.parse(parser.getText()).toEpochDay();
+    }
+    final int year = digits(text, offset, 4);
+    final int month = digits(text, offset + 5, 2);
+    final int day = digits(text, offset + 8, 2);
+    if (year < 0 || month < 0 || day < 0) {
+      return LocalDate.parse(parser.getText()).toEpochDay();
+    }
+    return LocalDate.of(year, month, day).toEpochDay();
+  }
+
+  /**
+   * Returns number of the decimal digits or -1 when any of characters is not a digit.
+   */
+  private static int digits(final char[] text, final int offset, final int length) {
+    int number = 0;
+    for (int i = offset; i < offset + length; i++) {
+      final int digit = text[i] - '0';
+      if (digit < 0 || digit > 9) {
+        return -1;
+      }
+      number = number * 10 + digit;
+    }
+    return number;
+  }
+}
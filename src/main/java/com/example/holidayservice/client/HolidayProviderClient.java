@@ -0,0 +1,136 @@
+package com.example.holidayservice.client;
+
+import com.example.holidayservice.config.HolidayProviderProperties;
+import com.example.holidayservice.domain.Country;
+import com.example.holidayservice.domain.HolidayCalendar;
+import com.example.holidayservice.exception.HolidayServiceException;
+import com.example.holidayservice.exception.ProviderResponseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.util.Collections;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Client of the holiday API provider. Makes plain requests without any caching.
+ */
+@Component
+@RequiredArgsConstructor
+public class HolidayProviderClient {
+
+  /**
+   * Response messages.
+   */
+  private static final String ERROR_FROM_PROVIDER = "Internal error from the holiday's provider.";
+
+  /**
+   * REST Client to make requests to holiday provider.
+   */
+  private final RestTemplate restClient;
+
+  /**
+   * URLs in holiday provider.
+   */
+  private final HolidayProviderProperties properties;
+
+  /**
+   * Timers of provider requests.
+   */
+  private final HolidayProviderMetrics metrics;
+
+  /**
+   * Makes request to holiday API provider to get holiday list for a given country and year. The
+   * response is parsed while it is read, straight into the calendar.
+   *
+   * @param countryCode country code param
+   * @param year        year from date
+   * @return holidays calendar in country
+   */
+  public HolidayCalendar fetchHolidays(final String countryCode, final int year) {
+    final long startTime = System.nanoTime();
+    HolidayCalendar result;
+    try {
+      result = restClient.execute(
+          properties.getHolidaysUrl(),
+          HttpMethod.GET,
+          request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+          response -> parseHolidays(response.getBody()),
+          year,
+          countryCode
+      );
+    } catch (HttpStatusCodeException ex) {
+      metrics.record(HolidayProviderMetrics.HOLIDAYS, year,
+          Integer.toString(ex.getRawStatusCode()), startTime);
+      throw new ProviderResponseException(ERROR_FROM_PROVIDER, ex.getRawStatusCode());
+    } catch (RuntimeException ex) {
+      metrics.record(HolidayProviderMetrics.HOLIDAYS, year, failureStatus(ex), startTime);
+      throw ex;
+    }
+    metrics.record(HolidayProviderMetrics.HOLIDAYS, year, HolidayProviderMetrics.STATUS_OK,
+        startTime);
+    return (result != null) ? result : HolidayCalendar.empty();
+  }
+
+  /**
+   * Makes request to holiday API provider to get available country codes.
+   *
+   * @return country codes and names
+   */
+  public List<Country> fetchAvailableCountries() {
+    final long startTime = System.nanoTime();
+    Country[] result;
+    try {
+      result = restClient.getForObject(
+          properties.getAvailableCountriesUrl(),
+          Country[].class
+      );
+    } catch (HttpStatusCodeException ex) {
+      metrics.record(HolidayProviderMetrics.AVAILABLE_COUNTRIES, HolidayProviderMetrics.NO_YEAR,
+          Integer.toString(ex.getRawStatusCode()), startTime);
+      throw new ProviderResponseException(ERROR_FROM_PROVIDER, ex.getRawStatusCode());
+    } catch (RuntimeException ex) {
+      metrics.record(HolidayProviderMetrics.AVAILABLE_COUNTRIES, HolidayProviderMetrics.NO_YEAR,
+          failureStatus(ex), startTime);
+      throw ex;
+    }
+    metrics.record(HolidayProviderMetrics.AVAILABLE_COUNTRIES, HolidayProviderMetrics.NO_YEAR,
+        HolidayProviderMetrics.STATUS_OK, startTime);
+    return (result != null) ? List.of(result) : Collections.emptyList();
+  }
+
+  /**
+   * Parses holidays from the response body while it is read. Only a malformed body is reported as
+   * a provider error, a failed read stays an I/O failure of the request.
+   *
+   * @param body response body
+   * @return holidays calendar in country
+   * @throws IOException when the body can not be read
+   */
+  private static HolidayCalendar parseHolidays(final InputStream body) throws IOException {
+    try {
+      return HolidayCalendarParser.parse(body);
+    } catch (JsonProcessingException ex) {
+      throw new HolidayServiceException(ERROR_FROM_PROVIDER);
+    }
+  }
+
+  /**
+   * Returns status of a request failed without a response.
+   *
+   * @param ex failure of the request
+   * @return timeout when the provider did not respond in time, error otherwise
+   */
+  private static String failureStatus(final RuntimeException ex) {
+    return (ex instanceof ResourceAccessException
+        && ex.getCause() instanceof SocketTimeoutException)
+        ? HolidayProviderMetrics.STATUS_TIMEOUT : HolidayProviderMetrics.STATUS_ERROR;
+  }
+}
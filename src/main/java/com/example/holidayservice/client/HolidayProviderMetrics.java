@@ -0,0 +1,124 @@
+package com.example.holidayservice.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+/**
+ * Timers of requests to the holiday API provider, tagged by provider endpoint, response status and
+ * requested year. Timers are registered once and reused, and only years near the startup year get
+ * their own tag, so the number of time series stays bounded.
+ */
+@Component
+public class HolidayProviderMetrics {
+
+  /**
+   * Name of the provider requests timer.
+   */
+  static final String PROVIDER_REQUESTS = "holiday.provider.requests";
+
+  /**
+   * Provider endpoints.
+   */
+  static final String HOLIDAYS = "holidays";
+  static final String AVAILABLE_COUNTRIES = "available-countries";
+
+  /**
+   * Status of successful requests and statuses of requests without a response from the provider.
+   */
+  static final String STATUS_OK = "200";
+  static final String STATUS_ERROR = "error";
+  static final String STATUS_TIMEOUT = "timeout";
+
+  /**
+   * Year of requests not related to a year.
+   */
+  static final int NO_YEAR = 0;
+
+  /**
+   * Number of years before and after the startup year tagged with the year itself.
+   */
+  static final int TAGGED_YEARS = 10;
+
+  /**
+   * Year tag values of requests not related to a year and of years outside the tagged years.
+   */
+  static final String NO_YEAR_TAG = "none";
+  static final String OTHER_YEAR_TAG = "other";
+
+  private final MeterRegistry meterRegistry;
+
+  private final int firstTaggedYear;
+
+  private final String[] yearTags = new String[2 * TAGGED_YEARS + 1];
+
+  private final Map<String, Map<String, Map<String, Timer>>> timers = Map.of(
+      HOLIDAYS, new ConcurrentHashMap<>(),
+      AVAILABLE_COUNTRIES, new ConcurrentHashMap<>());
+
+  public HolidayProviderMetrics(final MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    this.firstTaggedYear = LocalDate.now().getYear() - TAGGED_YEARS;
+    for (int i = 0; i < yearTags.length; i++) {
+      yearTags[i] = Integer.toString(firstTaggedYear + i);
+    }
+  }
+
+  /**
+   * Records time of a provider request.
+   *
+   * @param endpoint  provider endpoint
+   * @param year      requested year or {@link #NO_YEAR}
+   * @param status    HTTP status of the response or status of the failed request
+   * @param startTime start of the request from {@link System#nanoTime()}
+   */
+  void record(final String endpoint, final int year, final String status,
+      final long startTime) {
+    timer(endpoint, status, yearTag(year))
+        .record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Returns the timer of requests, registering it on first use.
+   *
+   * @param endpoint provider endpoint
+   * @param status   status tag
+   * @param year     year tag
+   * @return requests timer
+   */
+  private Timer timer(final String endpoint, final String status, final String year) {
+    final var statusTimers = timers.get(endpoint);
+    var yearTimers = statusTimers.get(status);
+    if (yearTimers == null) {
+      yearTimers = statusTimers.computeIfAbsent(status, key -> new ConcurrentHashMap<>());
+    }
+    final var timer = yearTimers.get(year);
+    if (timer != null) {
+      return timer;
+    }
+    return yearTimers.computeIfAbsent(year, key -> Timer.builder(PROVIDER_REQUESTS)
+        .description("Requests to the holiday API provider")
+        .tag("endpoint", endpoint)
+        .tag("status", status)
+        .tag("year", year)
+        .register(meterRegistry));
+  }
+
+  /**
+   * Returns the year tag value.
+   *
+   * @param year requested year or {@link #NO_YEAR}
+   * @return the year when it is near the startup year, other or none otherwise
+   */
+  private String yearTag(final int year) {
+    if (year == NO_YEAR) {
+      return NO_YEAR_TAG;
+    }
+    final int index = year - firstTaggedYear;
+    return (index >= 0 && index < yearTags.length) ? yearTags[index] : OTHER_YEAR_TAG;
+  }
+}
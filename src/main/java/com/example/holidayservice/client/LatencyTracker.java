@@ -0,0 +1,41 @@
+package com.example.holidayservice.client;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of the last successful requests to a provider URL, used to delay hedged requests.
+ */
+final class LatencyTracker {
+
+  /**
+   * Number of kept latencies and minimum number of latencies of a reliable percentile.
+   */
+  private static final int SAMPLES = 128;
+  private static final int MIN_SAMPLES = 20;
+
+  private final long[] latencies = new long[SAMPLES];
+
+  private int count;
+
+  private int next;
+
+  synchronized void record(final long latencyNanos) {
+    latencies[next] = latencyNanos;
+    next = (next + 1) % SAMPLES;
+    count = Math.min(count + 1, SAMPLES);
+  }
+
+  /**
+   * Returns 95th percentile of the kept latencies.
+   *
+   * @return percentile in nanoseconds or -1 when there are not enough latencies
+   */
+  synchronized long percentile95() {
+    if (count < MIN_SAMPLES) {
+      return -1;
+    }
+    final long[] sorted = Arrays.copyOf(latencies, count);
+    Arrays.sort(sorted);
+    return sorted[(int) Math.ceil(0.95 * count) - 1];
+  }
+}
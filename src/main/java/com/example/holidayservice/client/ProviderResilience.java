@@ -0,0 +1,38 @@
+package com.example.holidayservice.client;
+
+import com.example.holidayservice.config.AppConfig;
+import com.example.holidayservice.config.HolidayProviderProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.Executor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resilience policies of requests to the provider URLs. Policy state is exposed as
+ * {@code holiday.provider.*} metrics tagged by the endpoint.
+ */
+@Component
+@Getter
+public class ProviderResilience {
+
+  /**
+   * Requests to the holidays URL.
+   */
+  private final ResilientEndpoint holidays;
+
+  /**
+   * Requests to the available countries URL.
+   */
+  private final ResilientEndpoint availableCountries;
+
+  public ProviderResilience(final HolidayProviderProperties properties,
+      final MeterRegistry meterRegistry,
+      @Qualifier(AppConfig.PROVIDER_EXECUTOR) final Executor providerExecutor) {
+    final var resilience = properties.getResilience();
+    this.holidays = new ResilientEndpoint(HolidayProviderMetrics.HOLIDAYS,
+        resilience.getHolidays(), providerExecutor, meterRegistry);
+    this.availableCountries = new ResilientEndpoint(HolidayProviderMetrics.AVAILABLE_COUNTRIES,
+        resilience.getAvailableCountries(), providerExecutor, meterRegistry);
+  }
+}
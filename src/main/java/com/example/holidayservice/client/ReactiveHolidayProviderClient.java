@@ -0,0 +1,108 @@
+package com.example.holidayservice.client;
+
+import com.example.holidayservice.config.HolidayProviderProperties;
+import com.example.holidayservice.domain.HolidayCalendar;
+import com.example.holidayservice.exception.HolidayServiceException;
+import com.example.holidayservice.exception.ProviderResponseException;
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking client of the holiday API provider, used by the reactive pipeline to fetch the
+ * holiday calendars. Makes plain requests without any caching.
+ */
+@Component
+@ConditionalOnProperty(name = "app.pipeline", havingValue = "reactive")
+public class ReactiveHolidayProviderClient {
+
+  /**
+   * Response messages.
+   */
+  private static final String ERROR_FROM_PROVIDER = "Internal error from the holiday's provider.";
+
+  /**
+   * Web Client to make requests to holiday provider.
+   */
+  private final WebClient webClient;
+
+  /**
+   * URLs in holiday provider.
+   */
+  private final HolidayProviderProperties properties;
+
+  /**
+   * Timers of provider requests.
+   */
+  private final HolidayProviderMetrics metrics;
+
+  public ReactiveHolidayProviderClient(final WebClient.Builder webClientBuilder,
+      final ReactorClientHttpConnector providerHttpConnector,
+      final HolidayProviderProperties properties, final HolidayProviderMetrics metrics) {
+    this.webClient = webClientBuilder.clientConnector(providerHttpConnector).build();
+    this.properties = properties;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Makes request to holiday API provider to get holiday list for a given country and year. The
+   * response buffers are parsed straight into the calendar.
+   *
+   * @param countryCode country code param
+   * @param year        year from date
+   * @return holidays calendar in country
+   */
+  public Mono<HolidayCalendar> fetchHolidays(final String countryCode, final int year) {
+    return Mono.defer(() -> {
+      final long startTime = System.nanoTime();
+      return webClient.get()
+          .uri(properties.getHolidaysUrl(), year, countryCode)
+          .retrieve()
+          .bodyToMono(DataBuffer.class)
+          .map(ReactiveHolidayProviderClient::parseHolidays)
+          .defaultIfEmpty(HolidayCalendar.empty())
+          .timeout(properties.getHttp().getResponseTimeout())
+          .doOnSuccess(holidays -> metrics.record(HolidayProviderMetrics.HOLIDAYS, year,
+              HolidayProviderMetrics.STATUS_OK, startTime))
+          .doOnError(ex -> metrics.record(HolidayProviderMetrics.HOLIDAYS, year,
+              failureStatus(ex), startTime));
+    })
+        .onErrorMap(WebClientResponseException.class,
+            ex -> new ProviderResponseException(ERROR_FROM_PROVIDER, ex.getRawStatusCode()));
+  }
+
+  /**
+   * Parses holidays from the response body and releases its buffer. The body is already in
+   * memory, so a failure here means the provider sent a malformed body.
+   *
+   * @param body joined response buffers
+   * @return holidays calendar in country
+   */
+  private static HolidayCalendar parseHolidays(final DataBuffer body) {
+    try {
+      return HolidayCalendarParser.parse(body.asInputStream(true));
+    } catch (IOException ex) {
+      throw new HolidayServiceException(ERROR_FROM_PROVIDER);
+    }
+  }
+
+  /**
+   * Returns status of a failed request.
+   *
+   * @param ex failure of the request
+   * @return HTTP status of the response, or timeout or error when there is no response
+   */
+  private static String failureStatus(final Throwable ex) {
+    if (ex instanceof WebClientResponseException) {
+      return Integer.toString(((WebClientResponseException) ex).getRawStatusCode());
+    }
+    return (ex instanceof TimeoutException)
+        ? HolidayProviderMetrics.STATUS_TIMEOUT : HolidayProviderMetrics.STATUS_ERROR;
+  }
+}
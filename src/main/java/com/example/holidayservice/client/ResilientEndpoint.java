@@ -0,0 +1,253 @@
+package com.example.holidayservice.client;
+
+import com.example.holidayservice.config.HolidayProviderProperties.Resilience.Policy;
+import com.example.holidayservice.exception.HolidayServiceException;
+import com.example.holidayservice.exception.ProviderResponseException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Requests to one provider URL guarded by a circuit breaker and a bulkhead, retried with jittered
+ * backoff within a retry budget and optionally hedged with a second request. Rejected requests
+ * fail fast with {@link HolidayServiceException}, so callers serve the stored data instead.
+ */
+public final class ResilientEndpoint {
+
+  /**
+   * Response messages.
+   */
+  static final String PROVIDER_UNAVAILABLE = "The holiday's provider is unavailable.";
+  static final String TOO_MANY_REQUESTS = "Too many concurrent requests to the holiday's provider.";
+
+  /**
+   * Metric names.
+   */
+  private static final String CIRCUIT_STATE = "holiday.provider.circuit.state";
+  private static final String BULKHEAD_AVAILABLE = "holiday.provider.bulkhead.available";
+  private static final String RETRY_BUDGET = "holiday.provider.retry.budget";
+  private static final String RETRIES = "holiday.provider.retries";
+  private static final String HEDGES = "holiday.provider.hedges";
+  private static final String REJECTIONS = "holiday.provider.rejections";
+
+  private final Policy policy;
+
+  private final CircuitBreaker circuitBreaker;
+
+  private final Semaphore bulkhead;
+
+  private final RetryBudget retryBudget;
+
+  private final LatencyTracker latencies = new LatencyTracker();
+
+  /**
+   * Executor of retries and hedged requests.
+   */
+  private final Executor executor;
+
+  private final Counter retries;
+
+  private final Counter hedges;
+
+  private final Counter circuitRejections;
+
+  private final Counter bulkheadRejections;
+
+  ResilientEndpoint(final String name, final Policy policy, final Executor executor,
+      final MeterRegistry meterRegistry) {
+    this.policy = policy;
+    this.circuitBreaker = new CircuitBreaker(policy.getFailureRateThreshold(),
+        policy.getMinimumCalls(), policy.getSlidingWindowSize(), policy.getOpenDuration(),
+        System::nanoTime);
+    this.bulkhead = new Semaphore(policy.getMaxConcurrentCalls());
+    this.retryBudget = new RetryBudget(policy.getRetryBudgetRatio());
+    this.executor = executor;
+    Gauge.builder(CIRCUIT_STATE, circuitBreaker, breaker -> breaker.getState().ordinal())
+        .description("State of the provider circuit: 0 closed, 1 open, 2 half open")
+        .tag("endpoint", name)
+        .register(meterRegistry);
+    Gauge.builder(BULKHEAD_AVAILABLE, bulkhead, Semaphore::availablePermits)
+        .description("Number of provider requests which can be started")
+        .tag("endpoint", name)
+        .register(meterRegistry);
+    Gauge.builder(RETRY_BUDGET, retryBudget, RetryBudget::getTokens)
+        .description("Number of provider retries within the budget")
+        .tag("endpoint", name)
+        .register(meterRegistry);
+    this.retries = meterRegistry.counter(RETRIES, "endpoint", name);
+    this.hedges = meterRegistry.counter(HEDGES, "endpoint", name);
+    this.circuitRejections = meterRegistry.counter(REJECTIONS, "endpoint", name,
+        "reason", "circuit-open");
+    this.bulkheadRejections = meterRegistry.counter(REJECTIONS, "endpoint", name,
+        "reason", "bulkhead-full");
+  }
+
+  /**
+   * Sends an asynchronous request with the resilience policy of the endpoint.
+   *
+   * @param request sends one attempt of the request
+   * @param <T>     type of the response
+   * @return future of the response of the first successful attempt
+   */
+  public <T> CompletableFuture<T> executeAsync(final Supplier<CompletableFuture<T>> request) {
+    retryBudget.onRequest();
+    return attempt(request, 1);
+  }
+
+  /**
+   * Sends a blocking request with the resilience policy of the endpoint. The first attempt runs on
+   * the calling thread, retries on the provider executor, and the request is not hedged.
+   *
+   * @param request sends one attempt of the request
+   * @param <T>     type of the response
+   * @return response of the first successful attempt
+   */
+  public <T> T execute(final Supplier<T> request) {
+    try {
+      return executeAsync(() -> {
+        try {
+          return CompletableFuture.completedFuture(request.get());
+        } catch (RuntimeException ex) {
+          return CompletableFuture.<T>failedFuture(ex);
+        }
+      }).join();
+    } catch (CompletionException ex) {
+      throw (ex.getCause() instanceof RuntimeException) ? (RuntimeException) ex.getCause() : ex;
+    }
+  }
+
+  /**
+   * Sends an attempt of the request and retries it after a failure of the provider, while
+   * attempts and the retry budget are left.
+   */
+  private <T> CompletableFuture<T> attempt(final Supplier<CompletableFuture<T>> request,
+      final int attempt) {
+    return hedged(request)
+        .handle((response, ex) -> {
+          if (ex == null) {
+            return CompletableFuture.completedFuture(response);
+          }
+          final var cause = unwrap(ex);
+          if (attempt >= policy.getMaxAttempts() || !isProviderFailure(cause)
+              || !retryBudget.tryWithdraw()) {
+            return CompletableFuture.<T>failedFuture(cause);
+          }
+          retries.increment();
+          return CompletableFuture.runAsync(() -> { },
+              CompletableFuture.delayedExecutor(backoffNanos(attempt), TimeUnit.NANOSECONDS,
+                  executor))
+              .thenCompose(retry -> attempt(request, attempt + 1));
+        })
+        .thenCompose(Function.identity());
+  }
+
+  /**
+   * Sends an attempt and, when hedging is enabled, a second attempt if the first one is slower
+   * than the 95th percentile of recent requests. The first successful response wins.
+   */
+  private <T> CompletableFuture<T> hedged(final Supplier<CompletableFuture<T>> request) {
+    final var primary = guarded(request);
+    final long hedgeDelay = policy.isHedgeEnabled() ? latencies.percentile95() : -1;
+    if (hedgeDelay < 0 || primary.isDone()) {
+      return primary;
+    }
+    final var response = new CompletableFuture<T>();
+    final var pending = new AtomicInteger(1);
+    primary.whenComplete((value, ex) -> complete(response, pending, value, ex));
+    final long delay = Math.max(hedgeDelay, policy.getHedgeMinDelay().toNanos());
+    CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS, executor).execute(() -> {
+      if (response.isDone() || !retryBudget.tryWithdraw()) {
+        return;
+      }
+      hedges.increment();
+      pending.incrementAndGet();
+      guarded(request).whenComplete((value, ex) -> complete(response, pending, value, ex));
+    });
+    return response;
+  }
+
+  private static <T> void complete(final CompletableFuture<T> response,
+      final AtomicInteger pending, final T value, final Throwable ex) {
+    if (ex == null) {
+      response.complete(value);
+    } else if (pending.decrementAndGet() == 0) {
+      response.completeExceptionally(unwrap(ex));
+    }
+  }
+
+  /**
+   * Sends one attempt when the bulkhead and the circuit breaker permit it and records its outcome.
+   */
+  private <T> CompletableFuture<T> guarded(final Supplier<CompletableFuture<T>> request) {
+    if (!bulkhead.tryAcquire()) {
+      bulkheadRejections.increment();
+      return CompletableFuture.failedFuture(new HolidayServiceException(TOO_MANY_REQUESTS));
+    }
+    if (!circuitBreaker.tryAcquirePermission()) {
+      bulkhead.release();
+      circuitRejections.increment();
+      return CompletableFuture.failedFuture(new HolidayServiceException(PROVIDER_UNAVAILABLE));
+    }
+    final long startTime = System.nanoTime();
+    CompletableFuture<T> response;
+    try {
+      response = request.get();
+    } catch (RuntimeException ex) {
+      response = CompletableFuture.failedFuture(ex);
+    }
+    return response.whenComplete((value, ex) -> {
+      bulkhead.release();
+      if (ex == null) {
+        latencies.record(System.nanoTime() - startTime);
+        circuitBreaker.onSuccess();
+      } else if (isProviderFailure(unwrap(ex))) {
+        circuitBreaker.onFailure();
+      } else {
+        circuitBreaker.onIgnored();
+      }
+    });
+  }
+
+  /**
+   * Returns random delay of a retry up to the base backoff doubled with every attempt.
+   */
+  private long backoffNanos(final int attempt) {
+    final long maxDelay = policy.getRetryBackoff().toNanos() << Math.min(attempt - 1, 20);
+    return ThreadLocalRandom.current().nextLong(maxDelay + 1);
+  }
+
+  /**
+   * Checks the failure is caused by the provider, so the request can be retried: an error status
+   * of the server, too many requests, an I/O error, a refused connection or a timeout. Other errors
+   * of the application are rethrown without a retry and not recorded by the circuit breaker.
+   */
+  static boolean isProviderFailure(final Throwable ex) {
+    if (ex instanceof ProviderResponseException) {
+      final int statusCode = ((ProviderResponseException) ex).getStatusCode();
+      return statusCode >= 500 || statusCode == 429;
+    }
+    for (var cause = ex; cause != null; cause = cause.getCause()) {
+      if (cause instanceof IOException || cause instanceof TimeoutException
+          || cause instanceof ResourceAccessException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static Throwable unwrap(final Throwable ex) {
+    return (ex instanceof CompletionException && ex.getCause() != null) ? ex.getCause() : ex;
+  }
+}
@@ -0,0 +1,46 @@
+package com.example.holidayservice.client;
+
+/**
+ * Budget of retries of requests to a provider URL. Every request deposits a part of a token and
+ * every retry withdraws a whole token, so retries stay a fixed part of the requests, and a few
+ * retries are allowed after a quiet period.
+ */
+final class RetryBudget {
+
+  /**
+   * Maximum number of saved tokens, the budget starts full.
+   */
+  static final double MAX_TOKENS = 10;
+
+  private final double ratio;
+
+  private double tokens = MAX_TOKENS;
+
+  RetryBudget(final double ratio) {
+    this.ratio = ratio;
+  }
+
+  /**
+   * Deposits a part of a token for a new request.
+   */
+  synchronized void onRequest() {
+    tokens = Math.min(MAX_TOKENS, tokens + ratio);
+  }
+
+  /**
+   * Withdraws a token for a retry.
+   *
+   * @return true when the retry is within the budget
+   */
+  synchronized boolean tryWithdraw() {
+    if (tokens < 1) {
+      return false;
+    }
+    tokens -= 1;
+    return true;
+  }
+
+  synchronized double getTokens() {
+    return tokens;
+  }
+}
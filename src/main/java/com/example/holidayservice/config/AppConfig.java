@@ -1,9 +1,17 @@
 package com.example.holidayservice.config;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.List;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
 /**
@@ -11,10 +19,64 @@ import org.springframework.web.client.RestTemplate;
  */
 @Configuration
 @ConfigurationPropertiesScan
+@EnableScheduling
 public class AppConfig {
 
+  /**
+   * Name of the executor making requests to the holiday provider.
+   */
+  public static final String PROVIDER_EXECUTOR = "providerExecutor";
+
+  /**
+   * Thread names of the provider executor.
+   */
+  private static final String PROVIDER_THREAD_PREFIX = "holiday-provider-";
+
+  /**
+   * Name of the executor of asynchronous requests and its thread names.
+   */
+  public static final String ASYNC_EXECUTOR = "asyncExecutor";
+  private static final String ASYNC_THREAD_PREFIX = "holiday-async-";
+
+  @Bean
+  public RestTemplate restTemplate(RestTemplateBuilder builder,
+      CloseableHttpClient providerHttpClient) {
+    return builder
+        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(providerHttpClient))
+        .build();
+  }
+
+  /**
+   * Pool of {@code provider.fetch.threads} threads making requests to the provider.
+   */
+  @Bean(PROVIDER_EXECUTOR)
+  public ThreadPoolTaskExecutor providerExecutor(HolidayProviderProperties properties) {
+    final var executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(properties.getFetch().getThreads());
+    executor.setMaxPoolSize(properties.getFetch().getThreads());
+    executor.setThreadNamePrefix(PROVIDER_THREAD_PREFIX);
+    return executor;
+  }
+
+  /**
+   * Pool of {@code app.async.threads} threads writing streamed responses.
+   */
+  @Bean(ASYNC_EXECUTOR)
+  public ThreadPoolTaskExecutor asyncExecutor(AsyncProperties properties) {
+    final var executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(properties.getThreads());
+    executor.setMaxPoolSize(properties.getThreads());
+    executor.setThreadNamePrefix(ASYNC_THREAD_PREFIX);
+    return executor;
+  }
+
+  /**
+   * Binds pool size, active threads and queued tasks metrics of the provider executor.
+   */
   @Bean
-  public RestTemplate restTemplate(RestTemplateBuilder builder) {
-    return builder.build();
+  public MeterBinder providerExecutorMetrics(
+      @Qualifier(PROVIDER_EXECUTOR) ThreadPoolTaskExecutor providerExecutor) {
+    return registry -> new ExecutorServiceMetrics(providerExecutor.getThreadPoolExecutor(),
+        PROVIDER_EXECUTOR, List.of()).bindTo(registry);
   }
 }
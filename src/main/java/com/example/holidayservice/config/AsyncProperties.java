@@ -0,0 +1,33 @@
+package com.example.holidayservice.config;
+
+import java.time.Duration;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Settings of asynchronously processed requests, like streamed responses, from properties file.
+ */
+@ConfigurationProperties("app.async")
+@ConstructorBinding
+@Validated
+@RequiredArgsConstructor
+@Getter
+public class AsyncProperties {
+
+  /**
+   * Number of threads writing streamed responses.
+   */
+  @Positive
+  private final int threads;
+
+  /**
+   * Maximum time of an asynchronous request, after which it ends with an error.
+   */
+  @NotNull
+  private final Duration requestTimeout;
+}
@@ -0,0 +1,92 @@
+package com.example.holidayservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * HTTP clients of the holiday provider with pooled keep-alive connections, timeouts and gzip
+ * compression.
+ */
+@Configuration
+public class HolidayProviderHttpConfig {
+
+  /**
+   * Connection pool name in metrics.
+   */
+  private static final String POOL_NAME = "holidayProvider";
+
+  /**
+   * Apache HTTP client used by the blocking pipeline. Gzip responses are accepted by default.
+   *
+   * @param properties    provider properties
+   * @param meterRegistry registry of the connection pool metrics
+   * @return HTTP client
+   */
+  @Bean
+  public CloseableHttpClient providerHttpClient(HolidayProviderProperties properties,
+      MeterRegistry meterRegistry) {
+    final var http = properties.getHttp();
+    final var connectionManager = new PoolingHttpClientConnectionManager();
+    connectionManager.setMaxTotal(http.getMaxConnections());
+    connectionManager.setDefaultMaxPerRoute(http.getMaxConnectionsPerRoute());
+    new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME)
+        .bindTo(meterRegistry);
+    final var requestConfig = RequestConfig.custom()
+        .setConnectTimeout((int) http.getConnectTimeout().toMillis())
+        .setSocketTimeout((int) http.getReadTimeout().toMillis())
+        .setConnectionRequestTimeout((int) http.getConnectionRequestTimeout().toMillis())
+        .build();
+    final long keepAlive = http.getKeepAlive().toMillis();
+    return HttpClients.custom()
+        .setConnectionManager(connectionManager)
+        .setDefaultRequestConfig(requestConfig)
+        .setKeepAliveStrategy((response, context) -> {
+          final long providerKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+              .getKeepAliveDuration(response, context);
+          return (providerKeepAlive > 0) ? Math.min(providerKeepAlive, keepAlive) : keepAlive;
+        })
+        .evictExpiredConnections()
+        .evictIdleConnections(keepAlive, TimeUnit.MILLISECONDS)
+        .build();
+  }
+
+  /**
+   * Reactor Netty connector used by the reactive pipeline. The pool metrics are published with
+   * {@code reactor.netty.connection.provider} prefix.
+   *
+   * @param properties provider properties
+   * @return HTTP connector
+   */
+  @Bean
+  @ConditionalOnProperty(name = "app.pipeline", havingValue = "reactive")
+  public ReactorClientHttpConnector providerHttpConnector(HolidayProviderProperties properties) {
+    final var http = properties.getHttp();
+    final var connectionProvider = ConnectionProvider.builder(POOL_NAME)
+        .maxConnections(http.getMaxConnectionsPerRoute())
+        .pendingAcquireTimeout(http.getConnectionRequestTimeout())
+        .maxIdleTime(http.getKeepAlive())
+        .metrics(true)
+        .build();
+    final var httpClient = HttpClient.create(connectionProvider)
+        .compress(true)
+        .tcpConfiguration(tcpClient -> tcpClient
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) http.getConnectTimeout().toMillis())
+            .doOnConnected(connection -> connection.addHandlerLast(
+                new ReadTimeoutHandler(http.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS))));
+    return new ReactorClientHttpConnector(httpClient);
+  }
+}
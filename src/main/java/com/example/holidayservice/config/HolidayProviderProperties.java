@@ -1,6 +1,16 @@
 package com.example.holidayservice.config;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Period;
+import java.util.List;
+import javax.validation.Valid;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -8,7 +18,7 @@ import org.springframework.boot.context.properties.ConstructorBinding;
 import org.springframework.validation.annotation.Validated;
 
 /**
- * URLs in holiday provider from properties file.
+ * URLs in holiday provider and settings of the provider calls from properties file.
  */
 @ConfigurationProperties("provider")
 @ConstructorBinding
@@ -22,4 +32,405 @@ public class HolidayProviderProperties {
 
   @NotBlank
   private final String availableCountriesUrl;
+
+  @Valid
+  @NotNull
+  private final Cache cache;
+
+  @Valid
+  @NotNull
+  private final Countries countries;
+
+  @Valid
+  @NotNull
+  private final Fetch fetch;
+
+  @Valid
+  @NotNull
+  private final Http http;
+
+  @Valid
+  @NotNull
+  private final Store store;
+
+  @Valid
+  @NotNull
+  private final SharedStore sharedStore;
+
+  @Valid
+  @NotNull
+  private final Preload preload;
+
+  @Valid
+  @NotNull
+  private final Precompute precompute;
+
+  @Valid
+  @NotNull
+  private final Resilience resilience;
+
+  @Valid
+  @NotNull
+  private final Search search;
+
+  /**
+   * Holiday calendars cache settings.
+   */
+  @RequiredArgsConstructor
+  @Getter
+  public static class Cache {
+
+    /**
+     * How long a fetched (country, year) calendar is served before it is fetched again.
+     */
+    @NotNull
+    private final Duration ttl;
+
+    /**
+     * Age of a calendar after which it is fetched again in the background on the next request,
+     * while the cached one is still served. Should be shorter than the TTL.
+     */
+    @NotNull
+    private final Duration refreshAfter;
+
+    /**
+     * Maximum number of (country, year) calendars kept in memory.
+     */
+    @Positive
+    private final long maximumSize;
+
+    /**
+     * Maximum number of (country pair, year) entries in the common holidays index.
+     */
+    @Positive
+    private final long indexMaximumSize;
+  }
+
+  /**
+   * Supported countries list settings.
+   */
+  @RequiredArgsConstructor
+  @Getter
+  public static class Countries {
+
+    /**
+     * Delay between background refreshes of the supported countries list.
+     */
+    @NotNull
+    private final Duration refreshInterval;
+  }
+
+  /**
+   * Holiday calendars fetching settings.
+   */
+  @RequiredArgsConstructor
+  @Getter
+  public static class Fetch {
+
+    /**
+     * Number of threads making concurrent requests to the provider.
+     */
+    @Positive
+    private final int threads;
+
+    /**
+     * Maximum time of waiting for the provider in one request to the service.
+     */
+    @NotNull
+    private final Duration requestTimeout;
+
+    /**
+     * Number of the last days in a year when the next year calendars are fetched in advance.
+     */
+    @PositiveOrZero
+    private final int nextYearPrefetchDays;
+  }
+
+  /**
+   * HTTP connections to the provider settings.
+   */
+  @RequiredArgsConstructor
+  @Getter
+  public static class Http {
+
+    /**
+     * Maximum number of pooled connections to all provider hosts.
+     */
+    @Positive
+    private final int maxConnections;
+
+    /**
+     * Maximum number of pooled connections to one provider host.
+     */
+    @Positive
+    private final int maxConnectionsPerRoute;
+
+    /**
+     * Maximum time of establishing a connection.
+     */
+    @NotNull
+    private final Duration connectTimeout;
+
+    /**
+     * Maximum time of inactivity between two data packets of a response.
+     */
+    @NotNull
+    private final Duration readTimeout;
+
+    /**
+     * Maximum time of waiting for a free connection from the pool.
+     */
+    @NotNull
+    private final Duration connectionRequestTimeout;
+
+    /**
+     * Maximum time of the whole provider call in the reactive pipeline, from a connection request
+     * to the response body. Blocking calls are bounded by the other timeouts.
+     */
+    @NotNull
+    private final Duration responseTimeout;
+
+    /**
+     * How long an idle connection is kept in the pool for reuse.
+     */
+    @NotNull
+    private final Duration keepAlive;
+  }
+
+  /**
+   * Local store of fetched calendars and supported countries settings.
+   */
+  @RequiredArgsConstructor
+  @Getter
+  public static class Store {
+
+    /**
+     * Whether fetched data is stored on disk and loaded at startup.
+     */
+    private final boolean enabled;
+
+    /**
+     * Directory of stored files.
+     */
+    @NotNull
+    private final Path directory;
+  }
+
+  /**
+   * Calendar store shared by the service instances settings.
+   */
+  @RequiredArgsConstructor
+  @Getter
+  public static class SharedStore {
+
+    /**
+     * Backend of the shared store: {@code none}, or {@code hazelcast} to share calendars in a
+     * Hazelcast cluster of the service instances.
+     */
+    @NotBlank
+    private final String type;
+
+    /**
+     * Delay after which a calendar in memory is checked against the shared version. Should be
+     * shorter than the refresh after, so instances switch to a new version at about the same time.
+     */
+    @NotNull
+    private final Duration nearCacheRefresh;
+
+    /**
+     * How long one instance fetches a calendar for all instances, the others wait for it until
+     * then and fetch it themselves after it.
+     */
+    @NotNull
+    private final Duration fetchLease;
+
+    /**
+     * Name of the cluster, only instances with the same name share calendars.
+     */
+    @NotBlank
+    private final String clusterName;
+
+    /**
+     * Addresses of cluster members, like {@code host:port}, used to join the cluster.
+     */
+    @NotNull
+    private final List<String> members;
+
+    /**
+     * Port of the cluster member of this instance, the next ports are tried when it is taken.
+     */
+    @Positive
+    private final int port;
+  }
+
+  /**
+   * Calendars preloading at startup and refreshing in the background settings.
+   */
+  @RequiredArgsConstructor
+  @Getter
+  public static class Preload {
+
+    /**
+     * Whether calendars of the current and the next year are preloaded and refreshed.
+     */
+    private final boolean enabled;
+
+    /**
+     * Codes of preloaded countries, all supported countries when empty.
+     */
+    @NotNull
+    private final List<String> countries;
+
+    /**
+     * Maximum number of calendars fetched at the same time by the preloading.
+     */
+    @Positive
+    private final int parallelism;
+
+    /**
+     * Maximum time the startup waits for the preloading.
+     */
+    @NotNull
+    private final Duration timeout;
+
+    /**
+     * Delay between background refreshes of the preloaded calendars. Should be shorter than the
+     * cache TTL, so they never expire.
+     */
+    @NotNull
+    private final Duration refreshInterval;
+  }
+
+  /**
+   * Precomputed next common holidays of all pairs of preloaded countries settings.
+   */
+  @RequiredArgsConstructor
+  @Getter
+  public static class Precompute {
+
+    /**
+     * Whether next common holidays in the current and the next year are precomputed for every
+     * pair of preloaded countries after the calendars are loaded.
+     */
+    private final boolean enabled;
+
+    /**
+     * Number of threads building the next common holidays of country pairs.
+     */
+    @Positive
+    private final int parallelism;
+  }
+
+  /**
+   * Resilience settings of requests to every provider URL.
+   */
+  @RequiredArgsConstructor
+  @Getter
+  public static class Resilience {
+
+    /**
+     * Settings of requests to the holidays URL.
+     */
+    @Valid
+    @NotNull
+    private final Policy holidays;
+
+    /**
+     * Settings of requests to the available countries URL.
+     */
+    @Valid
+    @NotNull
+    private final Policy availableCountries;
+
+    /**
+     * Circuit breaker, bulkhead, retry and hedging settings of requests to a provider URL.
+     */
+    @RequiredArgsConstructor
+    @Getter
+    public static class Policy {
+
+      /**
+       * Part of failed requests in the sliding window which opens the circuit.
+       */
+      @DecimalMin("0.0")
+      @DecimalMax("1.0")
+      private final double failureRateThreshold;
+
+      /**
+       * Minimum number of requests in the sliding window before the failure rate is checked.
+       */
+      @Positive
+      private final int minimumCalls;
+
+      /**
+       * Number of last requests in which the failure rate is measured.
+       */
+      @Positive
+      private final int slidingWindowSize;
+
+      /**
+       * How long requests are rejected when the circuit is open, before a trial request.
+       */
+      @NotNull
+      private final Duration openDuration;
+
+      /**
+       * Maximum number of requests at the same time, other requests are rejected.
+       */
+      @Positive
+      private final int maxConcurrentCalls;
+
+      /**
+       * Maximum number of attempts of a request, including the first one.
+       */
+      @Positive
+      private final int maxAttempts;
+
+      /**
+       * Base delay of a retry, doubled with every attempt and randomized.
+       */
+      @NotNull
+      private final Duration retryBackoff;
+
+      /**
+       * Retries and hedged requests allowed per request, so retries never multiply the load of a
+       * failing provider.
+       */
+      @DecimalMin("0.0")
+      private final double retryBudgetRatio;
+
+      /**
+       * Whether a second request is sent when the first one is slower than the 95th percentile of
+       * the recent requests.
+       */
+      private final boolean hedgeEnabled;
+
+      /**
+       * Minimum delay of the hedged request.
+       */
+      @NotNull
+      private final Duration hedgeMinDelay;
+    }
+  }
+
+  /**
+   * Next holiday and common holidays search settings.
+   */
+  @RequiredArgsConstructor
+  @Getter
+  public static class Search {
+
+    /**
+     * How far after the given date a holiday is searched, like {@code 1y} or {@code 180d}. Years
+     * are fetched one by one only until a holiday is found.
+     */
+    @NotNull
+    private final Period horizon;
+
+    /**
+     * Longest range of dates of a common holidays request, like {@code 10y}.
+     */
+    @NotNull
+    private final Period maxRange;
+  }
 }
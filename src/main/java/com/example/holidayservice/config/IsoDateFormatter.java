@@ -0,0 +1,66 @@
+package com.example.holidayservice.config;
+
+import java.text.ParseException;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import org.springframework.format.Formatter;
+
+/**
+ * Formatter of ISO dates of request params. Dates in the {@code yyyy-MM-dd} form are read from
+ * their digits, without the generic date parser and without the annotation lookups of
+ * {@code @DateTimeFormat}. Other values are read by the ISO date parser, which also reports the
+ * errors.
+ */
+class IsoDateFormatter implements Formatter<LocalDate> {
+
+  /**
+   * Length of a date in the {@code yyyy-MM-dd} form.
+   */
+  private static final int ISO_DATE_LENGTH = 10;
+
+  @Override
+  public LocalDate parse(final String text, final Locale locale) throws ParseException {
+    final var date = parseIsoDate(text);
+    return (date != null) ? date : LocalDate.parse(text, DateTimeFormatter.ISO_DATE);
+  }
+
+  @Override
+  public String print(final LocalDate date, final Locale locale) {
+    return DateTimeFormatter.ISO_LOCAL_DATE.format(date);
+  }
+
+  /**
+   * Returns date in the {@code yyyy-MM-dd} form.
+   *
+   * @param text date param
+   * @return date or null when the text is not a valid date in this form
+   */
+  static LocalDate parseIsoDate(final String text) {
+    if (text.length() != ISO_DATE_LENGTH || text.charAt(4) != '-' || text.charAt(7) != '-') {
+      return null;
+    }
+    final int year = parseDigits(text, 0, 4);
+    final int month = parseDigits(text, 5, 7);
+    final int day = parseDigits(text, 8, 10);
+    if (year < 0 || month < 1 || month > 12 || day < 1
+        || day > Month.of(month).length(Year.isLeap(year))) {
+      return null;
+    }
+    return LocalDate.of(year, month, day);
+  }
+
+  private static int parseDigits(final String text, final int start, final int end) {
+    int value = 0;
+    for (int i = start; i < end; i++) {
+      final char digit = text.charAt(i);
+      if (digit < '0' || digit > '9') {
+        return -1;
+      }
+      value = value * 10 + (digit - '0');
+    }
+    return value;
+  }
+}
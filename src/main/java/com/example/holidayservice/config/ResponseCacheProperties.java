@@ -0,0 +1,30 @@
+package com.example.holidayservice.config;
+
+import javax.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Settings of the in-memory cache of next holiday responses from properties file.
+ */
+@ConfigurationProperties("app.response-cache")
+@ConstructorBinding
+@Validated
+@RequiredArgsConstructor
+@Getter
+public class ResponseCacheProperties {
+
+  /**
+   * Whether responses are cached by the query, so a repeated query is not searched again.
+   */
+  private final boolean enabled;
+
+  /**
+   * Maximum number of cached responses.
+   */
+  @Positive
+  private final long maximumSize;
+}
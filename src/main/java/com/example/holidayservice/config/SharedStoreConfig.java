@@ -0,0 +1,44 @@
+package com.example.holidayservice.config;
+
+import com.example.holidayservice.cache.HazelcastCalendarStore;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.GroupConfig;
+import com.hazelcast.config.MapConfig;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hazelcast cluster of the service instances sharing calendars, enabled by
+ * {@code provider.shared-store.type=hazelcast}. Spring Boot starts the Hazelcast member of this
+ * instance from the config.
+ */
+@Configuration
+@ConditionalOnProperty(name = "provider.shared-store.type", havingValue = "hazelcast")
+public class SharedStoreConfig {
+
+  /**
+   * Hazelcast member config. Members join the cluster by TCP/IP with the configured addresses,
+   * shared calendars expire after the cache TTL.
+   *
+   * @param properties provider properties
+   * @return Hazelcast config
+   */
+  @Bean
+  public Config hazelcastConfig(final HolidayProviderProperties properties) {
+    final var sharedStore = properties.getSharedStore();
+    final var config = new Config();
+    config.setGroupConfig(new GroupConfig(sharedStore.getClusterName()));
+    config.setProperty("hazelcast.logging.type", "slf4j");
+    config.setProperty("hazelcast.phone.home.enabled", "false");
+    final var network = config.getNetworkConfig();
+    network.setPort(sharedStore.getPort());
+    network.getJoin().getMulticastConfig().setEnabled(false);
+    network.getJoin().getTcpIpConfig()
+        .setEnabled(true)
+        .setMembers(sharedStore.getMembers());
+    config.addMapConfig(new MapConfig(HazelcastCalendarStore.CALENDARS_MAP)
+        .setTimeToLiveSeconds((int) properties.getCache().getTtl().toSeconds()));
+    return config;
+  }
+}
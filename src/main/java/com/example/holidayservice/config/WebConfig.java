@@ -0,0 +1,59 @@
+package com.example.holidayservice.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.time.LocalDate;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC configuration. Streamed responses are written by the async executor instead of the
+ * default executor starting a new thread for every response. Dates of request params are ISO dates,
+ * read without the generic date parser. Bodies are JSON or, for clients accepting
+ * {@code application/cbor}, CBOR with the same fields.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+  private final AsyncProperties properties;
+
+  private final AsyncTaskExecutor asyncExecutor;
+
+  public WebConfig(final AsyncProperties properties,
+      @Qualifier(AppConfig.ASYNC_EXECUTOR) final AsyncTaskExecutor asyncExecutor) {
+    this.properties = properties;
+    this.asyncExecutor = asyncExecutor;
+  }
+
+  @Override
+  public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+    configurer.setTaskExecutor(asyncExecutor);
+    configurer.setDefaultTimeout(properties.getRequestTimeout().toMillis());
+  }
+
+  @Override
+  public void addFormatters(final FormatterRegistry registry) {
+    registry.addFormatterForFieldType(LocalDate.class, new IsoDateFormatter());
+  }
+
+  /**
+   * Returns converter of CBOR bodies with the JSON object mapper settings, replacing the default
+   * CBOR converter. It follows the JSON converter, so JSON is still written for any media type.
+   *
+   * @param builder object mapper builder with the application settings
+   * @return CBOR message converter
+   */
+  @Bean
+  public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+      final Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2CborHttpMessageConverter(builder.createXmlMapper(false)
+        .factory(new CBORFactory())
+        .build());
+  }
+}
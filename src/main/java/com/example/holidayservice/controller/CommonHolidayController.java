@@ -0,0 +1,49 @@
+package com.example.holidayservice.controller;
+
+import com.example.holidayservice.dto.CommonHolidayResponseDto;
+import com.example.holidayservice.service.CommonHolidayService;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Web layer in application to processing requests about many countries. Serves both pipelines,
+ * the request thread is released while the provider responds.
+ */
+@RestController
+@RequestMapping("${url.app.prefix}/${url.holiday.controller}")
+@RequiredArgsConstructor
+public class CommonHolidayController {
+
+  private final CommonHolidayService commonHolidayService;
+
+  /**
+   * Returns next holiday after the given date that will happen on the same day in all countries,
+   * or in at least the given number of them. If in the country with this date exists a few
+   * holidays then merge holiday names.
+   *
+   * @param date         given date param
+   * @param countryCodes country codes param
+   * @param minCountries minimum number of countries with the holiday, all countries when omitted
+   * @return next holiday or throw exception when not found next holiday or get error from provider
+   */
+  @GetMapping("${url.holiday.controller.next-common-holiday}")
+  @ResponseStatus(HttpStatus.OK)
+  private CompletableFuture<CommonHolidayResponseDto> checkNextCommonHoliday(
+      @RequestParam("date") final LocalDate date,
+      @RequestParam("countries") final List<String> countryCodes,
+      @RequestParam(value = "minCountries", required = false) final Integer minCountries) {
+    return commonHolidayService.findNextHolidayInCountries(date, countryCodes, minCountries)
+        .thenApply(nextHoliday -> nextHoliday.orElseThrow(
+            () -> HolidayController.NEXT_HOLIDAY_NOT_FOUND_ERROR
+        ));
+  }
+
+}
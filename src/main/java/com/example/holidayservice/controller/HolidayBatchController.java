@@ -0,0 +1,44 @@
+package com.example.holidayservice.controller;
+
+import com.example.holidayservice.dto.BatchHolidayRequestDto;
+import com.example.holidayservice.dto.BatchHolidayResponseDto;
+import com.example.holidayservice.service.HolidayBatchService;
+import java.util.concurrent.CompletableFuture;
+import javax.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Web layer in application to processing batch requests. Serves both pipelines, the request
+ * thread is released while the provider responds.
+ */
+@RestController
+@RequestMapping("${url.app.prefix}/${url.holiday.controller}")
+@RequiredArgsConstructor
+public class HolidayBatchController {
+
+  private final HolidayBatchService holidayBatchService;
+
+  /**
+   * Returns next holidays for many dates and country pairs, each of them like the next holiday
+   * endpoint. A query which fails gets its error in the result and does not fail the batch.
+   *
+   * @param request dates with country codes
+   * @return results in the order of queries
+   */
+  @PostMapping("${url.holiday.controller.next-holiday-batch}")
+  @ResponseStatus(HttpStatus.OK)
+  private CompletableFuture<BatchHolidayResponseDto> checkNextHolidays(
+      @Valid @RequestBody final BatchHolidayRequestDto request) {
+    return holidayBatchService.findNextHolidays(request.getQueries())
+        .thenApply(results -> BatchHolidayResponseDto.builder()
+            .results(results)
+            .build());
+  }
+
+}
@@ -1,17 +1,23 @@
 package com.example.holidayservice.controller;
 
+import com.example.holidayservice.cache.HolidayResponseCache;
+import com.example.holidayservice.cache.HolidayResponseCache.CachedResponse;
 import com.example.holidayservice.dto.HolidayResponseDto;
 import com.example.holidayservice.exception.NextHolidayNotFoundException;
 import com.example.holidayservice.service.HolidayService;
+import com.example.holidayservice.service.NextHolidayCoalescer;
+import io.micrometer.core.annotation.Timed;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.util.Optional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.format.annotation.DateTimeFormat;
-import org.springframework.http.HttpStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -19,37 +25,79 @@ import org.springframework.web.bind.annotation.RestController;
  */
 @RestController
 @RequestMapping("${url.app.prefix}/${url.holiday.controller}")
+@ConditionalOnProperty(name = "app.pipeline", havingValue = "blocking", matchIfMissing = true)
 @RequiredArgsConstructor
 public class HolidayController {
 
-  private static final String NEXT_HOLIDAY_NOT_FOUND =
-      "Could not find the next holiday for given countries.";
+  /**
+   * Error of a next holiday not found, its message is constant.
+   */
+  static final NextHolidayNotFoundException NEXT_HOLIDAY_NOT_FOUND_ERROR =
+      new NextHolidayNotFoundException(NextHolidayNotFoundException.NEXT_HOLIDAY_NOT_FOUND);
+
+  /**
+   * Name of the next holiday requests timer.
+   */
+  static final String NEXT_HOLIDAY_TIMER = "holiday.next-holiday.requests";
 
   private final HolidayService holidayService;
 
+  private final NextHolidayCoalescer nextHolidayCoalescer;
+
+  private final HolidayResponseCache responseCache;
+
   /**
    * Returns next holiday after the given date that will happen on the same day in both countries.
    * If the first country and second country code are the same just return next holiday in the
    * country. If in the country with this date exists a few holidays then merge holiday names.
+   * The response has an ETag of the calendars it was found in, so a client sending it back in
+   * If-None-Match gets 304 Not Modified until one of the calendars changes. Identical queries in
+   * flight share one search. Countries of a cached response are verified again, as the supported
+   * countries may have changed since it was cached.
    *
    * @param date         given date param
    * @param countryCode1 country1 code param
    * @param countryCode2 country2 code param
+   * @param accept       accept header, which selects the response format and its ETag
    * @return next holiday or throw exception when not found next holiday or get error from provider
    */
   @GetMapping("${url.holiday.controller.next-holiday}")
-  @ResponseStatus(HttpStatus.OK)
-  private HolidayResponseDto checkNextHoliday(
-      @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) final LocalDate date,
+  @Timed(value = NEXT_HOLIDAY_TIMER, histogram = true)
+  private ResponseEntity<HolidayResponseDto> checkNextHoliday(
+      @RequestParam("date") final LocalDate date,
       @RequestParam("country1") final String countryCode1,
-      @RequestParam("country2") final String countryCode2) {
-    holidayService.verifyAvailableCountries(countryCode1, countryCode2);
-    Optional<HolidayResponseDto> nextHoliday = holidayService.findNextHolidayInBothCountries(
+      @RequestParam("country2") final String countryCode2,
+      @RequestHeader(name = HttpHeaders.ACCEPT, required = false) final String accept) {
+    final var cached = responseCache.get(date, countryCode1, countryCode2);
+    if (cached.isPresent()) {
+      holidayService.verifyAvailableCountries(countryCode1, countryCode2);
+      return toResponseEntity(cached.get(), responseCache.getMaxAge(), accept);
+    }
+    final var nextHoliday = nextHolidayCoalescer.findNextHolidayInBothCountries(
         date, countryCode1, countryCode2
-    );
-    return nextHoliday.orElseThrow(
-        () -> new NextHolidayNotFoundException(NEXT_HOLIDAY_NOT_FOUND)
-    );
+    ).orElseThrow(() -> NEXT_HOLIDAY_NOT_FOUND_ERROR);
+    return toResponseEntity(responseCache.put(date, countryCode1, countryCode2, nextHoliday),
+        responseCache.getMaxAge(), accept);
+  }
+
+  /**
+   * Creates response with the ETag, when there is one, and the max age of the cached calendars.
+   * Every response format has its own ETag, and caches keep formats apart by Accept.
+   *
+   * @param response next holiday with its ETag
+   * @param maxAge   how long clients can keep the response
+   * @param accept   accept header of the request
+   * @return response entity
+   */
+  static ResponseEntity<HolidayResponseDto> toResponseEntity(final CachedResponse response,
+      final Duration maxAge, final String accept) {
+    final var builder = ResponseEntity.ok()
+        .cacheControl(CacheControl.maxAge(maxAge))
+        .varyBy(HttpHeaders.ACCEPT);
+    if (response.getETag() != null) {
+      builder.eTag(ResponseETags.of(response.getETag(), accept));
+    }
+    return builder.body(response.getBody());
   }
 
 }
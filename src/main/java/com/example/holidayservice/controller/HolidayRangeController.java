@@ -0,0 +1,116 @@
+package com.example.holidayservice.controller;
+
+import com.example.holidayservice.dto.BothCountriesHolidayDto;
+import com.example.holidayservice.dto.ErrorResponseDto;
+import com.example.holidayservice.exception.HolidayServiceException;
+import com.example.holidayservice.service.HolidayService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Web layer in application to processing requests about ranges of dates. Serves both pipelines,
+ * responses are streamed by the async executor while the provider responds.
+ */
+@RestController
+@RequestMapping("${url.app.prefix}/${url.holiday.controller}")
+@Slf4j
+public class HolidayRangeController {
+
+  /**
+   * Newline delimited JSON, one holiday in every line.
+   */
+  static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+  private final HolidayService holidayService;
+
+  private final ObjectMapper objectMapper;
+
+  private final ObjectWriter holidayWriter;
+
+  public HolidayRangeController(final HolidayService holidayService,
+      final ObjectMapper objectMapper) {
+    this.holidayService = holidayService;
+    this.objectMapper = objectMapper;
+    this.holidayWriter = objectMapper.writerFor(BothCountriesHolidayDto.class)
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+  }
+
+  /**
+   * Returns all holidays between the given dates, inclusive, that happen on the same day in both
+   * countries, one JSON holiday in a line. If in the country with this date exists a few holidays
+   * then merge holiday names. Holidays of every year are written as soon as the year calendars
+   * are fetched, so the response is never buffered whole. An error of the provider ends the
+   * response with a line of the error message.
+   *
+   * @param from         first date param
+   * @param to           last date param
+   * @param countryCode1 country1 code param
+   * @param countryCode2 country2 code param
+   * @return streamed holidays or throw exception when the range or a country is not valid
+   */
+  @GetMapping("${url.holiday.controller.common-holidays}")
+  private ResponseEntity<StreamingResponseBody> streamCommonHolidays(
+      @RequestParam("from") final LocalDate from,
+      @RequestParam("to") final LocalDate to,
+      @RequestParam("country1") final String countryCode1,
+      @RequestParam("country2") final String countryCode2) {
+    holidayService.verifyDateRange(from, to);
+    holidayService.verifyAvailableCountries(countryCode1, countryCode2);
+    return ResponseEntity.ok()
+        .contentType(APPLICATION_NDJSON)
+        .body(output -> writeHolidays(output, from, to, countryCode1, countryCode2));
+  }
+
+  /**
+   * Writes holidays year by year, flushing every year. The status is sent before the holidays are
+   * found, so an error of the provider is written as the last line with an error message.
+   */
+  private void writeHolidays(final OutputStream output, final LocalDate from, final LocalDate to,
+      final String countryCode1, final String countryCode2) throws IOException {
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      generator.setRootValueSeparator(null);
+      try {
+        holidayService.findHolidaysInBothCountries(from, to, countryCode1, countryCode2,
+            holidays -> writeLines(generator, holidays));
+      } catch (HolidayServiceException ex) {
+        log.error("HolidayServiceException in streamed response: ", ex);
+        objectMapper.writeValue(generator, ErrorResponseDto.builder()
+            .errorMessage(ex.getMessage())
+            .build());
+        generator.writeRaw('\n');
+      }
+    } catch (UncheckedIOException ex) {
+      throw ex.getCause();
+    }
+  }
+
+  private void writeLines(final JsonGenerator generator,
+      final List<BothCountriesHolidayDto> holidays) {
+    try {
+      for (BothCountriesHolidayDto holiday : holidays) {
+        holidayWriter.writeValue(generator, holiday);
+        generator.writeRaw('\n');
+      }
+      generator.flush();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+}
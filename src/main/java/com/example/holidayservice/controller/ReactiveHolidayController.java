@@ -0,0 +1,76 @@
+package com.example.holidayservice.controller;
+
+import com.example.holidayservice.cache.HolidayResponseCache;
+import com.example.holidayservice.dto.HolidayResponseDto;
+import com.example.holidayservice.service.NextHolidayCoalescer;
+import com.example.holidayservice.service.ReactiveHolidayService;
+import io.micrometer.core.annotation.Timed;
+import java.time.LocalDate;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive web layer in application to processing requests. Replaces {@link HolidayController}
+ * when the reactive pipeline is enabled, the request thread is released while the provider
+ * responds.
+ */
+@RestController
+@RequestMapping("${url.app.prefix}/${url.holiday.controller}")
+@ConditionalOnProperty(name = "app.pipeline", havingValue = "reactive")
+@RequiredArgsConstructor
+public class ReactiveHolidayController {
+
+  private final ReactiveHolidayService holidayService;
+
+  private final HolidayResponseCache responseCache;
+
+  private final NextHolidayCoalescer nextHolidayCoalescer;
+
+  /**
+   * Returns next holiday after the given date that will happen on the same day in both countries.
+   * If the first country and second country code are the same just return next holiday in the
+   * country. If in the country with this date exists a few holidays then merge holiday names.
+   * The response has an ETag of the calendars it was found in, identical queries in flight share
+   * one search and countries of a cached response are verified again, like in
+   * {@link HolidayController}.
+   *
+   * @param date         given date param
+   * @param countryCode1 country1 code param
+   * @param countryCode2 country2 code param
+   * @param accept       accept header, which selects the response format and its ETag
+   * @return next holiday or error when not found next holiday or get error from provider
+   */
+  @GetMapping("${url.holiday.controller.next-holiday}")
+  @Timed(value = HolidayController.NEXT_HOLIDAY_TIMER, histogram = true)
+  private Mono<ResponseEntity<HolidayResponseDto>> checkNextHoliday(
+      @RequestParam("date") final LocalDate date,
+      @RequestParam("country1") final String countryCode1,
+      @RequestParam("country2") final String countryCode2,
+      @RequestHeader(name = HttpHeaders.ACCEPT, required = false) final String accept) {
+    return Mono.defer(() -> Mono.justOrEmpty(responseCache.get(date, countryCode1, countryCode2)))
+        .flatMap(cached -> holidayService.verifyAvailableCountries(countryCode1, countryCode2)
+            .thenReturn(cached))
+        .switchIfEmpty(Mono.defer(() -> Mono.fromFuture(nextHolidayCoalescer.coalesce(date,
+            countryCode1, countryCode2, (code1, code2) -> holidayService
+                .findNextHolidayInBothCountries(date, code1, code2)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .toFuture()))
+            .flatMap(nextHoliday -> Mono.justOrEmpty(nextHoliday))
+            .switchIfEmpty(Mono.error(HolidayController.NEXT_HOLIDAY_NOT_FOUND_ERROR))
+            .map(nextHoliday -> responseCache.put(date, countryCode1, countryCode2,
+                nextHoliday))))
+        .map(response -> HolidayController.toResponseEntity(response,
+            responseCache.getMaxAge(), accept));
+  }
+
+}
@@ -0,0 +1,64 @@
+package com.example.holidayservice.controller;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+/**
+ * Strong ETags of responses written in the format negotiated by the Accept header. JSON and CBOR
+ * bodies of the same resource differ in bytes, so CBOR responses get their own ETag.
+ */
+final class ResponseETags {
+
+  /**
+   * Suffix of the ETag of CBOR responses.
+   */
+  static final String CBOR_SUFFIX = "-cbor";
+
+  private ResponseETags() {
+  }
+
+  /**
+   * Returns ETag of the response in the format accepted by the client.
+   *
+   * @param eTag   ETag of the resource, quoted or not, may be null
+   * @param accept Accept header of the request, may be null
+   * @return the ETag for JSON responses, the ETag with the CBOR suffix for CBOR responses
+   */
+  static String of(final String eTag, final String accept) {
+    if (eTag == null || !isCbor(accept)) {
+      return eTag;
+    }
+    return eTag.endsWith("\"")
+        ? eTag.substring(0, eTag.length() - 1) + CBOR_SUFFIX + '"'
+        : eTag + CBOR_SUFFIX;
+  }
+
+  /**
+   * Checks the response is written in CBOR. The JSON converter comes first, so JSON is written for
+   * any media type including JSON, and CBOR only when the most preferred of the accepted types
+   * compatible with a body is CBOR. Accept headers not mentioning CBOR are not parsed.
+   *
+   * @param accept Accept header of the request, may be null
+   * @return true when the response is written in CBOR
+   */
+  private static boolean isCbor(final String accept) {
+    if (accept == null || !accept.contains("cbor")) {
+      return false;
+    }
+    try {
+      final var mediaTypes = MediaType.parseMediaTypes(accept);
+      MediaType.sortBySpecificityAndQuality(mediaTypes);
+      for (MediaType mediaType : mediaTypes) {
+        if (mediaType.includes(MediaType.APPLICATION_JSON)) {
+          return false;
+        }
+        if (mediaType.includes(MediaType.APPLICATION_CBOR)) {
+          return true;
+        }
+      }
+    } catch (InvalidMediaTypeException ex) {
+      return false;
+    }
+    return false;
+  }
+}
@@ -0,0 +1,48 @@
+package com.example.holidayservice.controller;
+
+import com.example.holidayservice.dto.SupportedCountriesDto;
+import com.example.holidayservice.service.SupportedCountryRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Web layer in application to processing requests about supported countries. Serves both
+ * pipelines.
+ */
+@RestController
+@RequestMapping("${url.app.prefix}/${url.holiday.controller}")
+@RequiredArgsConstructor
+public class SupportedCountryController {
+
+  private final SupportedCountryRegistry countryRegistry;
+
+  /**
+   * Returns countries supported by the holiday provider with version of the list. The version is
+   * the ETag of JSON responses, and with a suffix of CBOR responses, so a client sending it back
+   * in If-None-Match gets 304 Not Modified until the list changes. Errors of not supported
+   * countries refer to the list by the version.
+   *
+   * @param accept accept header, which selects the response format and its ETag
+   * @return supported countries with version
+   */
+  @GetMapping("${url.holiday.controller.supported-countries}")
+  private ResponseEntity<SupportedCountriesDto> getSupportedCountries(
+      @RequestHeader(name = HttpHeaders.ACCEPT, required = false) final String accept) {
+    final var supportedCountries = countryRegistry.getSupportedCountries();
+    return ResponseEntity.ok()
+        .cacheControl(CacheControl.noCache())
+        .varyBy(HttpHeaders.ACCEPT)
+        .eTag(ResponseETags.of(supportedCountries.getVersion(), accept))
+        .body(SupportedCountriesDto.builder()
+            .version(supportedCountries.getVersion())
+            .countries(supportedCountries.getCountries())
+            .build());
+  }
+
+}
@@ -0,0 +1,81 @@
+package com.example.holidayservice.domain;
+
+import java.util.Locale;
+
+/**
+ * Two letters country codes encoded as numbers. Every code has one canonical upper case string,
+ * so normalizing a code of a request does not allocate a new string.
+ */
+public final class CountryCode {
+
+  /**
+   * Number of letters in the alphabet of country codes.
+   */
+  private static final int LETTERS = 26;
+
+  /**
+   * Number of all two letters country codes.
+   */
+  public static final int COUNT = LETTERS * LETTERS;
+
+  /**
+   * Canonical upper case codes by their number.
+   */
+  private static final String[] CODES = new String[COUNT];
+
+  static {
+    for (int code = 0; code < COUNT; code++) {
+      CODES[code] = new String(new char[] {
+          (char) ('A' + code / LETTERS), (char) ('A' + code % LETTERS)});
+    }
+  }
+
+  private CountryCode() {
+  }
+
+  /**
+   * Returns number of two letters country code, ignoring letters case.
+   *
+   * @param countryCode country code
+   * @return number between 0 and {@link #COUNT} or -1 when code has other format
+   */
+  public static int encode(final CharSequence countryCode) {
+    if (countryCode == null || countryCode.length() != 2) {
+      return -1;
+    }
+    final int first = letterIndex(countryCode.charAt(0));
+    final int second = letterIndex(countryCode.charAt(1));
+    return (first < 0 || second < 0) ? -1 : first * LETTERS + second;
+  }
+
+  /**
+   * Returns canonical upper case string of the code number.
+   *
+   * @param code number of country code
+   * @return country code
+   */
+  public static String decode(final int code) {
+    return CODES[code];
+  }
+
+  /**
+   * Returns upper case country code, the canonical string for two letters codes.
+   *
+   * @param countryCode country code param
+   * @return normalized country code
+   */
+  public static String normalize(final String countryCode) {
+    final int code = encode(countryCode);
+    return (code >= 0) ? CODES[code] : countryCode.toUpperCase(Locale.ROOT);
+  }
+
+  private static int letterIndex(final char letter) {
+    if (letter >= 'A' && letter <= 'Z') {
+      return letter - 'A';
+    }
+    if (letter >= 'a' && letter <= 'z') {
+      return letter - 'a';
+    }
+    return -1;
+  }
+}
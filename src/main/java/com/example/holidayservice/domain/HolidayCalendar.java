@@ -0,0 +1,220 @@
+package com.example.holidayservice.domain;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable holidays of a country in a year. Holidays are kept sorted by date and name in an array
+ * of epoch days and an array of interned names, instead of a set of {@link Holiday} objects, so a
+ * cached calendar takes a few small arrays and names repeated every year are shared.
+ */
+public final class HolidayCalendar {
+
+  private static final HolidayCalendar EMPTY = new HolidayCalendar(new int[0], new String[0]);
+
+  /**
+   * Order of names of holidays on the same day.
+   */
+  private static final Comparator<String> NAME_ORDER =
+      Comparator.nullsFirst(Comparator.naturalOrder());
+
+  /**
+   * Sorted days of holidays with their names, the i-th holiday is on {@code epochDays[i]}.
+   */
+  private final int[] epochDays;
+  private final String[] localNames;
+
+  private HolidayCalendar(final int[] epochDays, final String[] localNames) {
+    this.epochDays = epochDays;
+    this.localNames = localNames;
+  }
+
+  /**
+   * Returns calendar without holidays.
+   *
+   * @return empty calendar
+   */
+  public static HolidayCalendar empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Returns calendar of given holidays.
+   *
+   * @param holidays holidays collection in country
+   * @return calendar
+   */
+  public static HolidayCalendar of(final Collection<Holiday> holidays) {
+    final var builder = builder(holidays.size());
+    for (Holiday holiday : holidays) {
+      builder.add(holiday.getDate().toEpochDay(), holiday.getLocalName());
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns builder of a calendar.
+   *
+   * @param expectedSize expected number of holidays
+   * @return calendar builder
+   */
+  public static Builder builder(final int expectedSize) {
+    return new Builder(expectedSize);
+  }
+
+  /**
+   * Returns number of holidays.
+   *
+   * @return number of holidays
+   */
+  public int size() {
+    return epochDays.length;
+  }
+
+  /**
+   * Returns epoch day of the holiday at given position.
+   *
+   * @param index position in order of dates and names
+   * @return epoch day of holiday
+   */
+  public int getEpochDay(final int index) {
+    return epochDays[index];
+  }
+
+  /**
+   * Returns date of the holiday at given position.
+   *
+   * @param index position in order of dates and names
+   * @return date of holiday
+   */
+  public LocalDate getDate(final int index) {
+    return LocalDate.ofEpochDay(epochDays[index]);
+  }
+
+  /**
+   * Returns local name of the holiday at given position.
+   *
+   * @param index position in order of dates and names
+   * @return local name of holiday
+   */
+  public String getLocalName(final int index) {
+    return localNames[index];
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof HolidayCalendar)) {
+      return false;
+    }
+    final var calendar = (HolidayCalendar) other;
+    return Arrays.equals(epochDays, calendar.epochDays)
+        && Arrays.equals(localNames, calendar.localNames);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Arrays.hashCode(epochDays) + Arrays.hashCode(localNames);
+  }
+
+  @Override
+  public String toString() {
+    final var text = new StringBuilder("HolidayCalendar[");
+    for (int i = 0; i < epochDays.length; i++) {
+      text.append((i > 0) ? ", " : "").append(getDate(i)).append(' ').append(localNames[i]);
+    }
+    return text.append(']').toString();
+  }
+
+  /**
+   * Builder of a calendar from holidays in any order. Holidays with the same date and name are
+   * added once.
+   */
+  public static final class Builder {
+
+    private int[] epochDays;
+    private String[] localNames;
+    private int size;
+
+    /**
+     * Whether holidays were added in order, the provider returns them sorted by date.
+     */
+    private boolean sorted = true;
+
+    private Builder(final int expectedSize) {
+      this.epochDays = new int[Math.max(expectedSize, 1)];
+      this.localNames = new String[epochDays.length];
+    }
+
+    /**
+     * Adds holiday to the calendar.
+     *
+     * @param epochDay  epoch day of holiday
+     * @param localName local name of holiday
+     * @return this builder
+     */
+    public Builder add(final long epochDay, final String localName) {
+      if (size == epochDays.length) {
+        epochDays = Arrays.copyOf(epochDays, size * 2);
+        localNames = Arrays.copyOf(localNames, size * 2);
+      }
+      epochDays[size] = Math.toIntExact(epochDay);
+      localNames[size] = (localName != null) ? localName.intern() : null;
+      if (size > 0 && compare(size - 1, size) > 0) {
+        sorted = false;
+      }
+      size++;
+      return this;
+    }
+
+    /**
+     * Returns calendar of added holidays.
+     *
+     * @return calendar
+     */
+    public HolidayCalendar build() {
+      if (size == 0) {
+        return EMPTY;
+      }
+      if (!sorted) {
+        sort();
+      }
+      int unique = 1;
+      for (int i = 1; i < size; i++) {
+        if (compare(unique - 1, i) != 0) {
+          epochDays[unique] = epochDays[i];
+          localNames[unique] = localNames[i];
+          unique++;
+        }
+      }
+      return new HolidayCalendar(Arrays.copyOf(epochDays, unique),
+          Arrays.copyOf(localNames, unique));
+    }
+
+    private void sort() {
+      final int[] order = IntStream.range(0, size).boxed()
+          .sorted(this::compare)
+          .mapToInt(Integer::intValue)
+          .toArray();
+      final int[] sortedDays = new int[size];
+      final String[] sortedNames = new String[size];
+      for (int i = 0; i < size; i++) {
+        sortedDays[i] = epochDays[order[i]];
+        sortedNames[i] = localNames[order[i]];
+      }
+      epochDays = sortedDays;
+      localNames = sortedNames;
+    }
+
+    private int compare(final int index1, final int index2) {
+      final int order = Integer.compare(epochDays[index1], epochDays[index2]);
+      return (order != 0) ? order
+          : NAME_ORDER.compare(localNames[index1], localNames[index2]);
+    }
+  }
+}
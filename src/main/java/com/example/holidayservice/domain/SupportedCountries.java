@@ -0,0 +1,59 @@
+package com.example.holidayservice.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.CRC32;
+import lombok.Getter;
+
+/**
+ * Immutable snapshot of the countries supported by the holiday provider. Country codes are kept in
+ * a bitset of their numbers, so the lookup is case-insensitive and does not allocate. The version
+ * is derived from the countries, so every instance loading the same list has the same version.
+ */
+public final class SupportedCountries {
+
+  @Getter
+  private final List<Country> countries;
+
+  /**
+   * Checksum of the country codes and names, as hexadecimal digits.
+   */
+  @Getter
+  private final String version;
+
+  private final long[] codes = new long[(CountryCode.COUNT + Long.SIZE - 1) / Long.SIZE];
+
+  public SupportedCountries(final List<Country> countries) {
+    this.countries = List.copyOf(countries);
+    final var checksum = new CRC32();
+    for (Country country : this.countries) {
+      final int code = CountryCode.encode(country.getKey());
+      if (code >= 0) {
+        codes[code / Long.SIZE] |= 1L << code;
+      }
+      checksum.update((country.getKey() + '=' + country.getValue() + '\n')
+          .getBytes(StandardCharsets.UTF_8));
+    }
+    this.version = String.format("%08x", checksum.getValue());
+  }
+
+  /**
+   * Checks country code is supported, ignoring letters case.
+   *
+   * @param countryCode country code param
+   * @return true when supported
+   */
+  public boolean contains(final String countryCode) {
+    return contains(CountryCode.encode(countryCode));
+  }
+
+  /**
+   * Checks country code number is supported.
+   *
+   * @param code number of country code or -1
+   * @return true when supported
+   */
+  public boolean contains(final int code) {
+    return code >= 0 && (codes[code / Long.SIZE] & (1L << code)) != 0;
+  }
+}
@@ -0,0 +1,28 @@
+package com.example.holidayservice.dto;
+
+import java.util.List;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO request of next holidays for many dates and country pairs.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchHolidayRequestDto {
+
+  /**
+   * Maximum number of queries in one request.
+   */
+  public static final int MAX_QUERIES = 1000;
+
+  @NotEmpty
+  @Size(max = MAX_QUERIES)
+  private List<HolidayQueryDto> queries;
+}
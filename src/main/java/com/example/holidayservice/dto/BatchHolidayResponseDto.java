@@ -0,0 +1,15 @@
+package com.example.holidayservice.dto;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * DTO response of the batch request, results are in the order of queries.
+ */
+@Getter
+@Builder
+public class BatchHolidayResponseDto {
+
+  private final List<BatchHolidayResultDto> results;
+}
@@ -0,0 +1,29 @@
+package com.example.holidayservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.LocalDate;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * DTO result of one query in the batch: next holiday in both countries or error message, with the
+ * HTTP status the query would get alone.
+ */
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchHolidayResultDto {
+
+  private final int status;
+
+  @JsonFormat(pattern = "yyyy-MM-dd")
+  private final LocalDate nextHolidayDate;
+
+  private final String holidayName1;
+
+  private final String holidayName2;
+
+  private final String errorMessage;
+
+}
@@ -0,0 +1,23 @@
+package com.example.holidayservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.LocalDate;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * DTO response which holiday date in a range that happens in both countries and names of holidays
+ * with local languages.
+ */
+@Getter
+@Builder
+public class BothCountriesHolidayDto {
+
+  @JsonFormat(pattern = "yyyy-MM-dd")
+  private final LocalDate date;
+
+  private final String holidayName1;
+
+  private final String holidayName2;
+
+}
@@ -0,0 +1,22 @@
+package com.example.holidayservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * DTO response which next holiday date in many countries and names of holidays with local
+ * languages in countries which have the holiday.
+ */
+@Getter
+@Builder
+public class CommonHolidayResponseDto {
+
+  @JsonFormat(pattern = "yyyy-MM-dd")
+  private final LocalDate nextHolidayDate;
+
+  private final List<CountryHolidayDto> holidays;
+
+}
@@ -0,0 +1,17 @@
+package com.example.holidayservice.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * DTO of a holiday name in the country with local language.
+ */
+@Getter
+@Builder
+public class CountryHolidayDto {
+
+  private final String countryCode;
+
+  private final String holidayName;
+
+}
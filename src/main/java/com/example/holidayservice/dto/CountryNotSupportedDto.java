@@ -1,12 +1,14 @@
 package com.example.holidayservice.dto;
 
 import com.example.holidayservice.domain.Country;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.util.List;
 import lombok.Builder;
 import lombok.Getter;
 
 /**
- * DTO response when country code not supported.
+ * DTO response when country code not supported. The list of supported countries is left out when
+ * the client already has its version.
  */
 @Getter
 @Builder
@@ -14,5 +16,8 @@ public class CountryNotSupportedDto {
 
   private final String errorMessage;
 
+  private final String supportedCountriesVersion;
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
   private final List<Country> supportedCountries;
 }
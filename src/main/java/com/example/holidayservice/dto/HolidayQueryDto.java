@@ -0,0 +1,23 @@
+package com.example.holidayservice.dto;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO request of the next holiday after the date in both countries, an item of the batch request.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class HolidayQueryDto {
+
+  private LocalDate date;
+
+  private String country1;
+
+  private String country2;
+}
@@ -0,0 +1,18 @@
+package com.example.holidayservice.dto;
+
+import com.example.holidayservice.domain.Country;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * DTO response with countries supported by the holiday provider and version of the list.
+ */
+@Getter
+@Builder
+public class SupportedCountriesDto {
+
+  private final String version;
+
+  private final List<Country> countries;
+}
@@ -3,61 +3,167 @@ package com.example.holidayservice.errorhandling;
 import com.example.holidayservice.dto.CountryNotSupportedDto;
 import com.example.holidayservice.dto.ErrorResponseDto;
 import com.example.holidayservice.exception.HolidayServiceException;
+import com.example.holidayservice.exception.InvalidParameterException;
 import com.example.holidayservice.exception.NextHolidayNotFoundException;
 import com.example.holidayservice.exception.CountryNotSupportedException;
+import com.example.holidayservice.exception.ProviderResponseException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 /**
- * Global exception handler in the application.
+ * Global exception handler in the application. Expected errors of invalid requests are counted in
+ * the {@code holiday.errors} metric and logged without stack traces, errors of the provider are
+ * counted and logged with stack traces. Counters of the handled errors are registered up front, so
+ * counting an error does not allocate. Responses are written in the format of the Accept header,
+ * like the responses of the endpoints.
  */
 @RestControllerAdvice
 @Slf4j
 public class GlobalErrorHandling {
 
+  /**
+   * Name of the errors counter.
+   */
+  static final String ERRORS = "holiday.errors";
+
+  /**
+   * Request header with the version of supported countries list the client already has.
+   */
+  public static final String SUPPORTED_COUNTRIES_VERSION = "Supported-Countries-Version";
+
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Errors counters by status and exception type. Counters of subclasses of the handled exceptions
+   * are registered on their first error.
+   */
+  private final Map<HttpStatus, Map<Class<?>, Counter>> errorCounters =
+      new EnumMap<>(HttpStatus.class);
+
+  public GlobalErrorHandling(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    registerErrorCounter(NextHolidayNotFoundException.class, HttpStatus.NOT_FOUND);
+    registerErrorCounter(CountryNotSupportedException.class, HttpStatus.BAD_REQUEST);
+    registerErrorCounter(MissingServletRequestParameterException.class, HttpStatus.BAD_REQUEST);
+    registerErrorCounter(MethodArgumentTypeMismatchException.class, HttpStatus.BAD_REQUEST);
+    registerErrorCounter(InvalidParameterException.class, HttpStatus.BAD_REQUEST);
+    registerErrorCounter(HttpMessageNotReadableException.class, HttpStatus.BAD_REQUEST);
+    registerErrorCounter(MethodArgumentNotValidException.class, HttpStatus.BAD_REQUEST);
+    registerErrorCounter(HolidayServiceException.class, HttpStatus.INTERNAL_SERVER_ERROR);
+    registerErrorCounter(ProviderResponseException.class, HttpStatus.INTERNAL_SERVER_ERROR);
+  }
+
   @ExceptionHandler(NextHolidayNotFoundException.class)
   @ResponseStatus(HttpStatus.NOT_FOUND)
   public ErrorResponseDto handleHolidayExceptions(NextHolidayNotFoundException ex) {
-    log.error("HolidayNotFoundException: ", ex);
+    countExpectedError(ex, HttpStatus.NOT_FOUND);
     return createGenericErrorResponse(ex.getMessage());
   }
 
   @ExceptionHandler(CountryNotSupportedException.class)
   @ResponseStatus(HttpStatus.BAD_REQUEST)
-  public CountryNotSupportedDto handleNotSupportedException(CountryNotSupportedException ex) {
-    log.error("CountryNotSupportedException: ", ex);
+  public CountryNotSupportedDto handleNotSupportedException(CountryNotSupportedException ex,
+      WebRequest request) {
+    countExpectedError(ex, HttpStatus.BAD_REQUEST);
+    final var supportedCountries = ex.getSupportedCountries();
+    final var version = supportedCountries.getVersion();
     return CountryNotSupportedDto.builder()
         .errorMessage(ex.getMessage())
-        .supportedCountries(ex.getSupportedCountries())
+        .supportedCountriesVersion(version)
+        .supportedCountries(version.equals(request.getHeader(SUPPORTED_COUNTRIES_VERSION))
+            ? null : supportedCountries.getCountries())
         .build();
   }
 
   @ExceptionHandler(MissingServletRequestParameterException.class)
   @ResponseStatus(HttpStatus.BAD_REQUEST)
   public ErrorResponseDto handleMissingParams(MissingServletRequestParameterException ex) {
-    log.error("MissingServletRequestParameterException: ", ex);
+    countExpectedError(ex, HttpStatus.BAD_REQUEST);
     return createGenericErrorResponse(ex.getMessage());
   }
 
   @ExceptionHandler(MethodArgumentTypeMismatchException.class)
   @ResponseStatus(HttpStatus.BAD_REQUEST)
   public ErrorResponseDto handleTypeMismatchException(MethodArgumentTypeMismatchException ex) {
-    log.error("MethodArgumentTypeMismatchException: ", ex);
+    countExpectedError(ex, HttpStatus.BAD_REQUEST);
     return createGenericErrorResponse(ex.getMessage());
   }
 
+  @ExceptionHandler(InvalidParameterException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public ErrorResponseDto handleInvalidParameter(InvalidParameterException ex) {
+    countExpectedError(ex, HttpStatus.BAD_REQUEST);
+    return createGenericErrorResponse(ex.getMessage());
+  }
+
+  @ExceptionHandler(HttpMessageNotReadableException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public ErrorResponseDto handleNotReadableBody(HttpMessageNotReadableException ex) {
+    countExpectedError(ex, HttpStatus.BAD_REQUEST);
+    return createGenericErrorResponse(ex.getMessage());
+  }
+
+  @ExceptionHandler(MethodArgumentNotValidException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public ErrorResponseDto handleNotValidBody(MethodArgumentNotValidException ex) {
+    countExpectedError(ex, HttpStatus.BAD_REQUEST);
+    return createGenericErrorResponse(ex.getBindingResult().getFieldErrors().stream()
+        .map(error -> error.getField() + " " + error.getDefaultMessage())
+        .collect(Collectors.joining(", ")));
+  }
+
   @ExceptionHandler(HolidayServiceException.class)
   @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
   public ErrorResponseDto handleHolidayServiceException(HolidayServiceException ex) {
+    countError(ex, HttpStatus.INTERNAL_SERVER_ERROR);
     log.error("HolidayServiceException: ", ex);
     return createGenericErrorResponse(ex.getMessage());
   }
 
+  /**
+   * Counts an expected error and logs it without stack trace.
+   */
+  private void countExpectedError(Exception ex, HttpStatus status) {
+    countError(ex, status);
+    log.debug("{}: {}", ex.getClass().getSimpleName(), ex.getMessage());
+  }
+
+  private void countError(Exception ex, HttpStatus status) {
+    final var counters = errorCounters.get(status);
+    var counter = counters.get(ex.getClass());
+    if (counter == null) {
+      counter = counters.computeIfAbsent(ex.getClass(), type -> errorCounter(type, status));
+    }
+    counter.increment();
+  }
+
+  private void registerErrorCounter(Class<?> type, HttpStatus status) {
+    errorCounters.computeIfAbsent(status, handledStatus -> new ConcurrentHashMap<>())
+        .put(type, errorCounter(type, status));
+  }
+
+  private Counter errorCounter(Class<?> type, HttpStatus status) {
+    return Counter.builder(ERRORS)
+        .description("Errors returned by the application")
+        .tag("exception", type.getSimpleName())
+        .tag("status", Integer.toString(status.value()))
+        .register(meterRegistry);
+  }
+
   private ErrorResponseDto createGenericErrorResponse(String message) {
     return ErrorResponseDto.builder()
         .errorMessage(message)
@@ -1,19 +1,19 @@
 package com.example.holidayservice.exception;
 
-import com.example.holidayservice.domain.Country;
-import java.util.List;
+import com.example.holidayservice.domain.SupportedCountries;
 import lombok.Getter;
 
 /**
  * Exception when a country code not supported.
+ * Expected error of a request, created without a stack trace.
  */
 public class CountryNotSupportedException extends RuntimeException {
 
   @Getter
-  private final List<Country> supportedCountries;
+  private final SupportedCountries supportedCountries;
 
-  public CountryNotSupportedException(String message, List<Country> supportedCountries) {
-    super(message);
+  public CountryNotSupportedException(String message, SupportedCountries supportedCountries) {
+    super(message, null, false, false);
     this.supportedCountries = supportedCountries;
   }
 }
@@ -0,0 +1,13 @@
+package com.example.holidayservice.exception;
+
+/**
+ * Exception when a request param has a not allowed value.
+ * Expected error of a request, created without a stack trace and suppressed exceptions, so one
+ * instance with a constant message is thrown by all requests.
+ */
+public class InvalidParameterException extends RuntimeException {
+
+  public InvalidParameterException(String message) {
+    super(message, null, false, false);
+  }
+}
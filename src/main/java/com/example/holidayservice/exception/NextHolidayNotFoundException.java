@@ -2,10 +2,18 @@ package com.example.holidayservice.exception;
 
 /**
  * Exception when a next holiday in both countries not found.
+ * Expected error of a request, created without a stack trace and suppressed exceptions, so one
+ * instance with a constant message is thrown by all requests.
  */
 public class NextHolidayNotFoundException extends RuntimeException {
 
+  /**
+   * Message of a next holiday not found, in errors of single and batch requests.
+   */
+  public static final String NEXT_HOLIDAY_NOT_FOUND =
+      "Could not find the next holiday for given countries.";
+
   public NextHolidayNotFoundException(String message) {
-    super(message);
+    super(message, null, false, false);
   }
 }
@@ -0,0 +1,17 @@
+package com.example.holidayservice.exception;
+
+import lombok.Getter;
+
+/**
+ * Exception when the holiday provider responds with an error status.
+ */
+public class ProviderResponseException extends HolidayServiceException {
+
+  @Getter
+  private final int statusCode;
+
+  public ProviderResponseException(String message, int statusCode) {
+    super(message);
+    this.statusCode = statusCode;
+  }
+}
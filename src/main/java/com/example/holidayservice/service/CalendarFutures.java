@@ -0,0 +1,74 @@
+package com.example.holidayservice.service;
+
+import com.example.holidayservice.exception.HolidayServiceException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Waiting for holiday calendars fetched concurrently from the provider.
+ */
+final class CalendarFutures {
+
+  /**
+   * Response messages.
+   */
+  static final String ERROR_FROM_PROVIDER = "Internal error from the holiday's provider.";
+  static final String PROVIDER_TIMEOUT = "Timed out waiting for the holiday's provider.";
+
+  private CalendarFutures() {
+  }
+
+  /**
+   * Waits until all calendars are fetched or the first of them fails. The calendar futures are
+   * shared with other requests, so they are never cancelled here and keep loading after the
+   * deadline.
+   *
+   * @param deadline  {@link System#nanoTime()} after which waiting stops
+   * @param calendars calendar futures
+   */
+  static void awaitAll(final long deadline, final CompletableFuture<?>... calendars) {
+    final var completion = new CompletableFuture<Void>();
+    CompletableFuture.allOf(calendars).whenComplete((result, ex) -> complete(completion, ex));
+    for (CompletableFuture<?> calendar : calendars) {
+      calendar.whenComplete((result, ex) -> {
+        if (ex != null) {
+          completion.completeExceptionally(ex);
+        }
+      });
+    }
+    try {
+      completion.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    } catch (ExecutionException ex) {
+      throw providerError(ex.getCause());
+    } catch (TimeoutException ex) {
+      throw new HolidayServiceException(PROVIDER_TIMEOUT);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new HolidayServiceException(ERROR_FROM_PROVIDER);
+    }
+  }
+
+  /**
+   * Returns exception thrown by the provider client from the failed calendar future.
+   *
+   * @param ex failure of calendar future
+   * @return provider client exception
+   */
+  static RuntimeException providerError(final Throwable ex) {
+    final var cause = (ex instanceof CompletionException && ex.getCause() != null)
+        ? ex.getCause() : ex;
+    return (cause instanceof RuntimeException)
+        ? (RuntimeException) cause : new HolidayServiceException(ERROR_FROM_PROVIDER);
+  }
+
+  private static void complete(final CompletableFuture<Void> completion, final Throwable ex) {
+    if (ex != null) {
+      completion.completeExceptionally(ex);
+    } else {
+      completion.complete(null);
+    }
+  }
+}
@@ -0,0 +1,217 @@
+package com.example.holidayservice.service;
+
+import com.example.holidayservice.cache.HolidayCalendarCache;
+import com.example.holidayservice.cache.HolidayCalendarKey;
+import com.example.holidayservice.config.HolidayProviderProperties;
+import com.example.holidayservice.domain.Country;
+import com.example.holidayservice.domain.HolidayCalendar;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Component;
+
+/**
+ * Preloads calendars of the current and the next year at startup, before the application is
+ * ready, so the first requests do not wait for the provider. Preloaded calendars are refreshed in
+ * the background before they expire, and calendars of the new next year are preloaded on New Year.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CalendarPreloader implements ApplicationRunner {
+
+  /**
+   * Cron expression of the New Year midnight.
+   */
+  static final String NEW_YEAR = "0 0 0 1 1 *";
+
+  /**
+   * Holiday calendars fetched from the provider.
+   */
+  private final HolidayCalendarCache calendarCache;
+
+  /**
+   * Registry of countries preloaded when no countries are configured.
+   */
+  private final SupportedCountryRegistry countryRegistry;
+
+  /**
+   * Preloading settings.
+   */
+  private final HolidayProviderProperties properties;
+
+  /**
+   * Scheduler of the background refresh.
+   */
+  private final TaskScheduler taskScheduler;
+
+  /**
+   * Preloads calendars, waiting at most the preloading timeout, and schedules the refresh.
+   *
+   * @param args application arguments
+   */
+  @Override
+  public void run(final ApplicationArguments args) {
+    final var preload = properties.getPreload();
+    if (!preload.isEnabled()) {
+      return;
+    }
+    try {
+      preload().get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException ex) {
+      log.warn("Could not preload holiday calendars: {}", ex.getCause().getMessage());
+    }
+    final var interval = preload.getRefreshInterval();
+    taskScheduler.scheduleWithFixedDelay(this::refresh, Instant.now().plus(interval), interval);
+    taskScheduler.schedule(this::preload, new CronTrigger(NEW_YEAR));
+  }
+
+  /**
+   * Loads calendars of the current and the next year which are not cached yet.
+   *
+   * @return future completed when the calendars are loaded or the timeout elapses
+   */
+  CompletableFuture<Void> preload() {
+    return loadAll("Preloaded", key -> calendarCache.getHolidaysAsync(key.getCountryCode(),
+        key.getYear()));
+  }
+
+  /**
+   * Fetches calendars of the current and the next year again, cached calendars are served until
+   * then.
+   *
+   * @return future completed when the calendars are fetched or the timeout elapses
+   */
+  CompletableFuture<Void> refresh() {
+    return loadAll("Refreshed", key -> calendarCache.refreshHolidays(key.getCountryCode(),
+        key.getYear()));
+  }
+
+  /**
+   * Loads calendars with at most the configured number of loads at the same time and logs the
+   * summary. Failed loads are counted and skipped, loads not started before the timeout are
+   * skipped.
+   *
+   * @param action name of the loading in the summary
+   * @param loader loader of a calendar
+   * @return future completed when the calendars are loaded or the timeout elapses
+   */
+  private CompletableFuture<Void> loadAll(final String action,
+      final Function<HolidayCalendarKey, CompletableFuture<HolidayCalendar>> loader) {
+    final var preload = properties.getPreload();
+    final List<HolidayCalendarKey> keys;
+    try {
+      keys = preloadedCalendars(LocalDate.now().getYear());
+    } catch (RuntimeException ex) {
+      log.warn("Could not load countries of preloaded holiday calendars: {}", ex.getMessage());
+      return CompletableFuture.completedFuture(null);
+    }
+    final long start = System.nanoTime();
+    final Queue<HolidayCalendarKey> pending = new ConcurrentLinkedQueue<>(keys);
+    final var failed = new AtomicInteger();
+    final int workers = Math.min(preload.getParallelism(), keys.size());
+    final List<CompletableFuture<Void>> loads = new ArrayList<>(workers);
+    for (int i = 0; i < workers; i++) {
+      loads.add(loadNext(pending, loader, failed));
+    }
+    return CompletableFuture.allOf(loads.toArray(new CompletableFuture<?>[0]))
+        .orTimeout(preload.getTimeout().toNanos(), TimeUnit.NANOSECONDS)
+        .handle((completed, ex) -> {
+          final int skipped = pending.size();
+          pending.clear();
+          if (ex instanceof TimeoutException) {
+            log.warn("{} holiday calendars did not complete in {}", action, preload.getTimeout());
+          }
+          log.info("{} {} of {} holiday calendars in {} ms, {} failed, {} skipped", action,
+              keys.size() - failed.get() - skipped, keys.size(),
+              TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), failed.get(), skipped);
+          return null;
+        });
+  }
+
+  /**
+   * Loads pending calendars one after another until none is left.
+   *
+   * @param pending calendars not loaded yet
+   * @param loader  loader of a calendar
+   * @param failed  counter of failed loads
+   * @return future completed when no calendar is pending
+   */
+  private static CompletableFuture<Void> loadNext(final Queue<HolidayCalendarKey> pending,
+      final Function<HolidayCalendarKey, CompletableFuture<HolidayCalendar>> loader,
+      final AtomicInteger failed) {
+    final var key = pending.poll();
+    if (key == null) {
+      return CompletableFuture.completedFuture(null);
+    }
+    CompletableFuture<HolidayCalendar> load;
+    try {
+      load = loader.apply(key);
+    } catch (RuntimeException ex) {
+      load = CompletableFuture.failedFuture(ex);
+    }
+    return load
+        .handle((holidays, ex) -> {
+          if (ex != null) {
+            failed.incrementAndGet();
+            log.debug("Could not load holiday calendar {}: {}", key, ex.getMessage());
+          }
+          return null;
+        })
+        .thenCompose(loaded -> loadNext(pending, loader, failed));
+  }
+
+  /**
+   * Returns calendars of the configured countries, or all supported countries, in the year and in
+   * the next year.
+   *
+   * @param year current year
+   * @return keys of preloaded calendars
+   */
+  private List<HolidayCalendarKey> preloadedCalendars(final int year) {
+    final var countryCodes = preloadedCountryCodes();
+    final List<HolidayCalendarKey> keys = new ArrayList<>(countryCodes.size() * 2);
+    for (String countryCode : countryCodes) {
+      keys.add(HolidayCalendarKey.of(countryCode, year));
+      keys.add(HolidayCalendarKey.of(countryCode, year + 1));
+    }
+    return keys;
+  }
+
+  /**
+   * Returns codes of the configured countries, or all supported countries.
+   *
+   * @return codes of preloaded countries
+   */
+  List<String> preloadedCountryCodes() {
+    final List<String> countryCodes = new ArrayList<>();
+    final var configuredCodes = properties.getPreload().getCountries();
+    if (configuredCodes.isEmpty()) {
+      for (Country country : countryRegistry.getSupportedCountries().getCountries()) {
+        countryCodes.add(country.getKey());
+      }
+    } else {
+      for (String countryCode : configuredCodes) {
+        countryCodes.add(countryCode.trim());
+      }
+    }
+    return countryCodes;
+  }
+}
@@ -0,0 +1,254 @@
+package com.example.holidayservice.service;
+
+import com.example.holidayservice.config.HolidayProviderProperties;
+import com.example.holidayservice.domain.CountryCode;
+import com.example.holidayservice.domain.HolidayCalendar;
+import com.example.holidayservice.dto.BothCountriesHolidayDto;
+import com.example.holidayservice.dto.HolidayResponseDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory index of holidays which happen on the same day in two countries, per country pair and
+ * year. An entry is built on the first lookup of a pair and rebuilt when any of its calendars is
+ * refreshed. A lookup is a binary search over sorted epoch days.
+ */
+@Component
+public class CommonHolidayIndex {
+
+  /**
+   * Index name in metrics.
+   */
+  private static final String INDEX_NAME = "commonHolidayIndex";
+
+  /**
+   * Common holidays by country pair in alphabetical order and year.
+   */
+  private final Cache<CommonHolidayKey, CommonHolidays> index;
+
+  /**
+   * Time of matching holidays of a country pair, including indexing.
+   */
+  private final Timer matchingTimer;
+
+  public CommonHolidayIndex(final HolidayProviderProperties properties,
+      final MeterRegistry meterRegistry) {
+    final var cacheProperties = properties.getCache();
+    this.index = Caffeine.newBuilder()
+        .maximumSize(cacheProperties.getIndexMaximumSize())
+        .expireAfterAccess(cacheProperties.getTtl())
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, index, INDEX_NAME);
+    this.matchingTimer = HolidayMatching.matchingTimer(meterRegistry,
+        HolidayMatching.COUNTRY_PAIR);
+  }
+
+  /**
+   * Returns first holiday after the given date that happens on the same day in both countries in
+   * the year of given calendars.
+   *
+   * @param date         given date param
+   * @param countryCode1 country1 code param
+   * @param countryCode2 country2 code param
+   * @param year         year of calendars
+   * @param holidays1    holidays in country1 in the year
+   * @param holidays2    holidays in country2 in the year
+   * @return first match holiday DTO in both countries or empty
+   */
+  public Optional<HolidayResponseDto> findFirstHolidayAfter(final LocalDate date,
+      final String countryCode1, final String countryCode2, final int year,
+      final HolidayCalendar holidays1, final HolidayCalendar holidays2) {
+    final long startTime = System.nanoTime();
+    final var holiday = matchFirstHolidayAfter(date, countryCode1, countryCode2, year, holidays1,
+        holidays2);
+    matchingTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+    return holiday;
+  }
+
+  private Optional<HolidayResponseDto> matchFirstHolidayAfter(final LocalDate date,
+      final String countryCode1, final String countryCode2, final int year,
+      final HolidayCalendar holidays1, final HolidayCalendar holidays2) {
+    final boolean swapped = countryCode1.compareToIgnoreCase(countryCode2) > 0;
+    final var commonHolidays = swapped
+        ? getCommonHolidays(countryCode2, countryCode1, year, holidays2, holidays1)
+        : getCommonHolidays(countryCode1, countryCode2, year, holidays1, holidays2);
+    final int index = commonHolidays.indexOfFirstAfter(date);
+    if (index < 0) {
+      return Optional.empty();
+    }
+    return Optional.of(HolidayResponseDto.builder()
+        .nextHolidayDate(commonHolidays.getDate(index))
+        .holidayName1(swapped ? commonHolidays.names2[index] : commonHolidays.names1[index])
+        .holidayName2(swapped ? commonHolidays.names1[index] : commonHolidays.names2[index])
+        .build());
+  }
+
+  /**
+   * Returns holidays between the given dates, inclusive, that happen on the same day in both
+   * countries in the year of given calendars.
+   *
+   * @param from         first date of the range
+   * @param to           last date of the range
+   * @param countryCode1 country1 code param
+   * @param countryCode2 country2 code param
+   * @param year         year of calendars
+   * @param holidays1    holidays in country1 in the year
+   * @param holidays2    holidays in country2 in the year
+   * @return matched holiday DTOs in both countries sorted by date
+   */
+  public List<BothCountriesHolidayDto> findHolidaysBetween(final LocalDate from,
+      final LocalDate to, final String countryCode1, final String countryCode2, final int year,
+      final HolidayCalendar holidays1, final HolidayCalendar holidays2) {
+    final long startTime = System.nanoTime();
+    final boolean swapped = countryCode1.compareToIgnoreCase(countryCode2) > 0;
+    final var commonHolidays = swapped
+        ? getCommonHolidays(countryCode2, countryCode1, year, holidays2, holidays1)
+        : getCommonHolidays(countryCode1, countryCode2, year, holidays1, holidays2);
+    final long lastDay = to.toEpochDay();
+    final List<BothCountriesHolidayDto> holidays = new ArrayList<>();
+    for (int i = commonHolidays.indexOfFirstFrom(from.toEpochDay());
+        i < commonHolidays.epochDays.length && commonHolidays.epochDays[i] <= lastDay; i++) {
+      holidays.add(BothCountriesHolidayDto.builder()
+          .date(commonHolidays.getDate(i))
+          .holidayName1(swapped ? commonHolidays.names2[i] : commonHolidays.names1[i])
+          .holidayName2(swapped ? commonHolidays.names1[i] : commonHolidays.names2[i])
+          .build());
+    }
+    matchingTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+    return holidays;
+  }
+
+  /**
+   * Returns common holidays of the pair built from given calendars, builds them when the pair is
+   * not indexed or was indexed from other calendars.
+   *
+   * @param countryCode1 first country code in alphabetical order
+   * @param countryCode2 second country code in alphabetical order
+   * @param year         year of calendars
+   * @param holidays1    holidays in first country
+   * @param holidays2    holidays in second country
+   * @return common holidays
+   */
+  private CommonHolidays getCommonHolidays(final String countryCode1, final String countryCode2,
+      final int year, final HolidayCalendar holidays1, final HolidayCalendar holidays2) {
+    final var key = new CommonHolidayKey(CountryCode.normalize(countryCode1),
+        CountryCode.normalize(countryCode2), year);
+    final var commonHolidays = index.getIfPresent(key);
+    if (commonHolidays != null && commonHolidays.isBuiltFrom(holidays1, holidays2)) {
+      return commonHolidays;
+    }
+    return index.asMap().compute(key, (k, current) ->
+        (current != null && current.isBuiltFrom(holidays1, holidays2))
+            ? current : CommonHolidays.build(holidays1, holidays2));
+  }
+
+  /**
+   * Key of the index: country codes in alphabetical order with year.
+   */
+  @Value
+  private static class CommonHolidayKey {
+
+    String countryCode1;
+
+    String countryCode2;
+
+    int year;
+  }
+
+  /**
+   * Holidays which happen on the same day in two countries. The i-th holiday is on epoch day
+   * {@code epochDays[i]} with merged names {@code names1[i]} and {@code names2[i]}.
+   */
+  private static final class CommonHolidays {
+
+    /**
+     * Calendars the holidays were built from.
+     */
+    private final HolidayCalendar holidays1;
+    private final HolidayCalendar holidays2;
+
+    /**
+     * Sorted days of the common holidays with names in both countries.
+     */
+    private final int[] epochDays;
+    private final String[] names1;
+    private final String[] names2;
+
+    private CommonHolidays(final HolidayCalendar holidays1, final HolidayCalendar holidays2,
+        final int[] epochDays, final String[] names1, final String[] names2) {
+      this.holidays1 = holidays1;
+      this.holidays2 = holidays2;
+      this.epochDays = epochDays;
+      this.names1 = names1;
+      this.names2 = names2;
+    }
+
+    /**
+     * Builds common holidays of two calendars.
+     *
+     * @param holidays1 holidays in first country
+     * @param holidays2 holidays in second country
+     * @return common holidays
+     */
+    static CommonHolidays build(final HolidayCalendar holidays1, final HolidayCalendar holidays2) {
+      final var country1Holidays = HolidayMatching.reduceHolidayCollection(LocalDate.MIN,
+          holidays1);
+      final var country2Holidays = (holidays1 == holidays2) ? country1Holidays
+          : HolidayMatching.reduceHolidayCollection(LocalDate.MIN, holidays2);
+      final var matchedHolidays = HolidayMatching.matchAllHolidaysInBothCollections(
+          country1Holidays, country2Holidays);
+      final int size = matchedHolidays.size();
+      final int[] epochDays = new int[size];
+      final String[] names1 = new String[size];
+      final String[] names2 = new String[size];
+      for (int i = 0; i < size; i++) {
+        final var holiday = matchedHolidays.get(i);
+        epochDays[i] = (int) holiday.getNextHolidayDate().toEpochDay();
+        names1[i] = holiday.getHolidayName1();
+        names2[i] = holiday.getHolidayName2();
+      }
+      return new CommonHolidays(holidays1, holidays2, epochDays, names1, names2);
+    }
+
+    /**
+     * Checks the holidays were built from given calendars, a refreshed calendar is another
+     * instance.
+     */
+    boolean isBuiltFrom(final HolidayCalendar holidays1, final HolidayCalendar holidays2) {
+      return this.holidays1 == holidays1 && this.holidays2 == holidays2;
+    }
+
+    /**
+     * Returns index of the first holiday after given date or -1 when there is none.
+     */
+    int indexOfFirstAfter(final LocalDate date) {
+      final int index = indexOfFirstFrom(date.toEpochDay() + 1);
+      return (index < epochDays.length) ? index : -1;
+    }
+
+    /**
+     * Returns index of the first holiday on or after given epoch day or the number of holidays
+     * when there is none.
+     */
+    int indexOfFirstFrom(final long epochDay) {
+      final int index = Arrays.binarySearch(epochDays, (int) epochDay);
+      return (index < 0) ? -index - 1 : index;
+    }
+
+    LocalDate getDate(final int index) {
+      return LocalDate.ofEpochDay(epochDays[index]);
+    }
+  }
+}
@@ -0,0 +1,201 @@
+package com.example.holidayservice.service;
+
+import com.example.holidayservice.cache.HolidayCalendarCache;
+import com.example.holidayservice.config.HolidayProviderProperties;
+import com.example.holidayservice.domain.CountryCode;
+import com.example.holidayservice.domain.Holiday;
+import com.example.holidayservice.domain.HolidayCalendar;
+import com.example.holidayservice.dto.CommonHolidayResponseDto;
+import com.example.holidayservice.exception.HolidayServiceException;
+import com.example.holidayservice.exception.InvalidParameterException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service finding next holiday which happens on the same day in many countries. Calendars of all
+ * countries are fetched concurrently and merged in one pass.
+ */
+@Service
+public class CommonHolidayService {
+
+  /**
+   * Maximum number of countries in one request.
+   */
+  public static final int MAX_COUNTRIES = 50;
+
+  /**
+   * Response messages.
+   */
+  private static final String INVALID_COUNTRIES =
+      "Number of countries must be between 1 and " + MAX_COUNTRIES + ".";
+  private static final String INVALID_MIN_COUNTRIES =
+      "Minimum number of countries must be between 1 and the number of countries.";
+
+  /**
+   * Errors of invalid parameters, their messages are constant.
+   */
+  private static final InvalidParameterException INVALID_COUNTRIES_ERROR =
+      new InvalidParameterException(INVALID_COUNTRIES);
+  private static final InvalidParameterException INVALID_MIN_COUNTRIES_ERROR =
+      new InvalidParameterException(INVALID_MIN_COUNTRIES);
+
+  /**
+   * Service to verify country codes and to check the next year prefetch.
+   */
+  private final HolidayService holidayService;
+
+  /**
+   * Holiday calendars fetched from the provider.
+   */
+  private final HolidayCalendarCache calendarCache;
+
+  /**
+   * Settings of fetching calendars from the provider.
+   */
+  private final HolidayProviderProperties properties;
+
+  /**
+   * Calendars with unique dates sorted by date, by the cached calendar instance. An entry is
+   * removed when its calendar is no longer cached.
+   */
+  private final Cache<HolidayCalendar, List<Holiday>> sortedCalendars;
+
+  /**
+   * Time of matching holidays of many countries, including reducing calendars.
+   */
+  private final Timer matchingTimer;
+
+  public CommonHolidayService(final HolidayService holidayService,
+      final HolidayCalendarCache calendarCache, final HolidayProviderProperties properties,
+      final MeterRegistry meterRegistry) {
+    this.holidayService = holidayService;
+    this.calendarCache = calendarCache;
+    this.properties = properties;
+    this.sortedCalendars = Caffeine.newBuilder()
+        .weakKeys()
+        .build();
+    this.matchingTimer = HolidayMatching.matchingTimer(meterRegistry, HolidayMatching.COUNTRIES);
+  }
+
+  /**
+   * Returns future of first next holiday which happens on the same day in at least the given
+   * number of countries, or empty. Searches years until the search horizon.
+   *
+   * @param date         given date param
+   * @param countryCodes country codes param, repeated codes are used once
+   * @param minCountries minimum number of countries with the holiday, all countries when null
+   * @return future of next holiday or empty
+   */
+  public CompletableFuture<Optional<CommonHolidayResponseDto>> findNextHolidayInCountries(
+      final LocalDate date, final List<String> countryCodes, final Integer minCountries) {
+    final Map<String, String> distinctCodes = distinctCountryCodes(countryCodes);
+    if (distinctCodes.isEmpty() || distinctCodes.size() > MAX_COUNTRIES) {
+      throw INVALID_COUNTRIES_ERROR;
+    }
+    final int requiredCountries = (minCountries == null) ? distinctCodes.size() : minCountries;
+    if (requiredCountries < 1 || requiredCountries > distinctCodes.size()) {
+      throw INVALID_MIN_COUNTRIES_ERROR;
+    }
+    holidayService.verifyAvailableCountries(new ArrayList<>(distinctCodes.values()));
+    final List<String> countries = new ArrayList<>(distinctCodes.keySet());
+    if (holidayService.isNextYearPrefetchDate(date)) {
+      countries.forEach(countryCode -> calendarCache.getHolidaysAsync(countryCode,
+          date.getYear() + 1));
+    }
+    return holidayService.searchYearsAsync(date,
+        year -> findNextHolidayInYear(date, countries, requiredCountries, year),
+        CommonHolidayResponseDto::getNextHolidayDate)
+        .orTimeout(properties.getFetch().getRequestTimeout().toNanos(), TimeUnit.NANOSECONDS)
+        .handle((holiday, ex) -> {
+          if (ex != null) {
+            throw providerError(ex);
+          }
+          return holiday;
+        });
+  }
+
+  /**
+   * Returns future of first next holiday in countries in the year or empty.
+   *
+   * @param date              given date param
+   * @param countryCodes      country codes param
+   * @param requiredCountries minimum number of countries with the holiday
+   * @param year              searched year
+   * @return future of next holiday or empty
+   */
+  private CompletableFuture<Optional<CommonHolidayResponseDto>> findNextHolidayInYear(
+      final LocalDate date, final List<String> countryCodes, final int requiredCountries,
+      final int year) {
+    final List<CompletableFuture<HolidayCalendar>> calendars = new ArrayList<>(countryCodes.size());
+    for (String countryCode : countryCodes) {
+      calendars.add(calendarCache.getHolidaysAsync(countryCode, year));
+    }
+    return CompletableFuture.allOf(calendars.toArray(new CompletableFuture<?>[0]))
+        .thenApply(completed -> {
+          final long startTime = System.nanoTime();
+          List<List<Holiday>> sortedHolidays = new ArrayList<>(calendars.size());
+          for (CompletableFuture<HolidayCalendar> calendar : calendars) {
+            sortedHolidays.add(getSortedCalendar(calendar.join()));
+          }
+          final var holiday = HolidayMatching.matchFirstHolidayInCountries(date, countryCodes,
+              sortedHolidays, requiredCountries);
+          matchingTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+          return holiday;
+        });
+  }
+
+  /**
+   * Returns holidays with unique dates sorted by date, reduces the calendar once.
+   *
+   * @param holidays holidays in country
+   * @return sorted holidays
+   */
+  private List<Holiday> getSortedCalendar(final HolidayCalendar holidays) {
+    return sortedCalendars.get(holidays, calendar -> HolidayMatching.reduceHolidayCollection(
+        LocalDate.MIN, calendar));
+  }
+
+  /**
+   * Returns country codes as given by the client by their normalized codes, in order of the first
+   * occurrence, so errors name the codes as the client spelled them.
+   *
+   * @param countryCodes country codes param
+   * @return trimmed country codes by normalized codes
+   */
+  private static Map<String, String> distinctCountryCodes(final List<String> countryCodes) {
+    final Map<String, String> countries = new LinkedHashMap<>();
+    for (String countryCode : countryCodes) {
+      final var trimmed = countryCode.trim();
+      countries.putIfAbsent(CountryCode.normalize(trimmed), trimmed);
+    }
+    return countries;
+  }
+
+  /**
+   * Returns exception of the failed search, timeout when calendars are not fetched in time.
+   *
+   * @param ex failure of the search
+   * @return exception thrown to the caller
+   */
+  private static RuntimeException providerError(final Throwable ex) {
+    final var cause = (ex instanceof CompletionException && ex.getCause() != null)
+        ? ex.getCause() : ex;
+    if (cause instanceof TimeoutException) {
+      return new HolidayServiceException(CalendarFutures.PROVIDER_TIMEOUT);
+    }
+    return CalendarFutures.providerError(cause);
+  }
+}
@@ -0,0 +1,202 @@
+package com.example.holidayservice.service;
+
+import com.example.holidayservice.cache.HolidayCalendarCache;
+import com.example.holidayservice.cache.HolidayCalendarKey;
+import com.example.holidayservice.config.HolidayProviderProperties;
+import com.example.holidayservice.domain.HolidayCalendar;
+import com.example.holidayservice.dto.BatchHolidayResultDto;
+import com.example.holidayservice.dto.HolidayQueryDto;
+import com.example.holidayservice.dto.HolidayResponseDto;
+import com.example.holidayservice.exception.CountryNotSupportedException;
+import com.example.holidayservice.exception.HolidayServiceException;
+import com.example.holidayservice.exception.NextHolidayNotFoundException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service finding next holidays for many dates and country pairs at once. Every calendar needed by
+ * the batch is taken from the cache once, and each query is matched as soon as its calendars are
+ * fetched, so queries are resolved in parallel.
+ */
+@Service
+@RequiredArgsConstructor
+public class HolidayBatchService {
+
+  /**
+   * Response messages.
+   */
+  private static final String QUERY_NOT_PRESENT = "Required query is not present";
+  private static final String FIELD_NOT_PRESENT = "Required %s field '%s' is not present";
+
+  /**
+   * Service to verify country codes and to check the next year prefetch.
+   */
+  private final HolidayService holidayService;
+
+  /**
+   * Holiday calendars fetched from the provider.
+   */
+  private final HolidayCalendarCache calendarCache;
+
+  /**
+   * Common holidays of country pairs.
+   */
+  private final CommonHolidayIndex commonHolidayIndex;
+
+  /**
+   * Settings of fetching calendars from the provider.
+   */
+  private final HolidayProviderProperties properties;
+
+  /**
+   * Returns future of results of all queries in the order of queries. A query which fails gets an
+   * error result and does not fail other queries. Queries not resolved within the request timeout
+   * get the timeout error.
+   *
+   * @param queries dates with country codes
+   * @return future of results
+   */
+  public CompletableFuture<List<BatchHolidayResultDto>> findNextHolidays(
+      final List<HolidayQueryDto> queries) {
+    final Map<HolidayCalendarKey, CompletableFuture<HolidayCalendar>> calendars =
+        new ConcurrentHashMap<>();
+    final List<CompletableFuture<BatchHolidayResultDto>> results =
+        new ArrayList<>(queries.size());
+    for (HolidayQueryDto query : queries) {
+      results.add(findNextHoliday(query, calendars));
+    }
+    return CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0]))
+        .completeOnTimeout(null, properties.getFetch().getRequestTimeout().toNanos(),
+            TimeUnit.NANOSECONDS)
+        .thenApply(completed -> {
+          List<BatchHolidayResultDto> batchResults = new ArrayList<>(results.size());
+          for (CompletableFuture<BatchHolidayResultDto> result : results) {
+            batchResults.add(result.isDone() ? result.join()
+                : error(HttpStatus.INTERNAL_SERVER_ERROR, CalendarFutures.PROVIDER_TIMEOUT));
+          }
+          return batchResults;
+        });
+  }
+
+  /**
+   * Returns future of the query result. Searches years until the search horizon, the future never
+   * completes exceptionally.
+   *
+   * @param query     date with country codes
+   * @param calendars calendars of the batch
+   * @return future of query result
+   */
+  private CompletableFuture<BatchHolidayResultDto> findNextHoliday(final HolidayQueryDto query,
+      final Map<HolidayCalendarKey, CompletableFuture<HolidayCalendar>> calendars) {
+    final String invalidQuery = verifyQuery(query);
+    if (invalidQuery != null) {
+      return CompletableFuture.completedFuture(error(HttpStatus.BAD_REQUEST, invalidQuery));
+    }
+    final var date = query.getDate();
+    if (holidayService.isNextYearPrefetchDate(date)) {
+      getCalendar(calendars, query.getCountry1(), date.getYear() + 1);
+      getCalendar(calendars, query.getCountry2(), date.getYear() + 1);
+    }
+    return holidayService.searchYearsAsync(date,
+        year -> findNextHolidayInYear(query, year, calendars),
+        HolidayResponseDto::getNextHolidayDate)
+        .handle((holiday, ex) -> {
+          if (ex != null) {
+            return providerError(ex);
+          }
+          return holiday.map(HolidayBatchService::found)
+              .orElseGet(() -> error(HttpStatus.NOT_FOUND,
+                  NextHolidayNotFoundException.NEXT_HOLIDAY_NOT_FOUND));
+        });
+  }
+
+  /**
+   * Returns future of first next holiday in both countries in the year or empty.
+   *
+   * @param query     date with country codes
+   * @param year      searched year
+   * @param calendars calendars of the batch
+   * @return future of next holiday or empty
+   */
+  private CompletableFuture<Optional<HolidayResponseDto>> findNextHolidayInYear(
+      final HolidayQueryDto query, final int year,
+      final Map<HolidayCalendarKey, CompletableFuture<HolidayCalendar>> calendars) {
+    return getCalendar(calendars, query.getCountry1(), year)
+        .thenCombine(getCalendar(calendars, query.getCountry2(), year),
+            (holidays1, holidays2) -> commonHolidayIndex.findFirstHolidayAfter(query.getDate(),
+                query.getCountry1(), query.getCountry2(), year, holidays1, holidays2));
+  }
+
+  /**
+   * Returns calendar future from the cache once per batch.
+   *
+   * @param calendars   calendars of the batch
+   * @param countryCode country code param
+   * @param year        year of calendar
+   * @return future of holidays calendar in country
+   */
+  private CompletableFuture<HolidayCalendar> getCalendar(
+      final Map<HolidayCalendarKey, CompletableFuture<HolidayCalendar>> calendars,
+      final String countryCode, final int year) {
+    return calendars.computeIfAbsent(HolidayCalendarKey.of(countryCode, year),
+        key -> calendarCache.getHolidaysAsync(key.getCountryCode(), key.getYear()));
+  }
+
+  /**
+   * Verifies query has all fields and supported country codes.
+   *
+   * @param query date with country codes
+   * @return error message or null when the query is valid
+   */
+  private String verifyQuery(final HolidayQueryDto query) {
+    if (query == null) {
+      return QUERY_NOT_PRESENT;
+    }
+    if (query.getDate() == null) {
+      return String.format(FIELD_NOT_PRESENT, LocalDate.class.getSimpleName(), "date");
+    }
+    if (query.getCountry1() == null) {
+      return String.format(FIELD_NOT_PRESENT, String.class.getSimpleName(), "country1");
+    }
+    if (query.getCountry2() == null) {
+      return String.format(FIELD_NOT_PRESENT, String.class.getSimpleName(), "country2");
+    }
+    try {
+      holidayService.verifyAvailableCountries(query.getCountry1(), query.getCountry2());
+    } catch (CountryNotSupportedException ex) {
+      return ex.getMessage();
+    }
+    return null;
+  }
+
+  private static BatchHolidayResultDto found(final HolidayResponseDto holiday) {
+    return BatchHolidayResultDto.builder()
+        .status(HttpStatus.OK.value())
+        .nextHolidayDate(holiday.getNextHolidayDate())
+        .holidayName1(holiday.getHolidayName1())
+        .holidayName2(holiday.getHolidayName2())
+        .build();
+  }
+
+  private static BatchHolidayResultDto providerError(final Throwable ex) {
+    final var cause = CalendarFutures.providerError(ex);
+    return error(HttpStatus.INTERNAL_SERVER_ERROR, (cause instanceof HolidayServiceException)
+        ? cause.getMessage() : CalendarFutures.ERROR_FROM_PROVIDER);
+  }
+
+  private static BatchHolidayResultDto error(final HttpStatus status, final String message) {
+    return BatchHolidayResultDto.builder()
+        .status(status.value())
+        .errorMessage(message)
+        .build();
+  }
+}
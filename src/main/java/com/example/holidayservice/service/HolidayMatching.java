@@ -0,0 +1,237 @@
+package com.example.holidayservice.service;
+
+import com.example.holidayservice.domain.Holiday;
+import com.example.holidayservice.domain.HolidayCalendar;
+import com.example.holidayservice.dto.CommonHolidayResponseDto;
+import com.example.holidayservice.dto.CountryHolidayDto;
+import com.example.holidayservice.dto.HolidayResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Matching of holidays in two countries, used to build the {@link CommonHolidayIndex}, and in many
+ * countries. Works on calendars kept sorted by date and name, so every step is a single pass over
+ * the holidays.
+ */
+final class HolidayMatching {
+
+  /**
+   * Separator of merged holiday names.
+   */
+  private static final String NAMES_SEPARATOR = " | ";
+
+  /**
+   * Name of the matching timer and its types.
+   */
+  static final String MATCHING_TIMER = "holiday.matching";
+  static final String COUNTRY_PAIR = "country-pair";
+  static final String COUNTRIES = "countries";
+
+  private HolidayMatching() {
+  }
+
+  /**
+   * Returns timer of the matching phase of a request, after calendars are fetched.
+   *
+   * @param meterRegistry registry of the timer
+   * @param type          country pair or many countries matching
+   * @return matching timer
+   */
+  static Timer matchingTimer(final MeterRegistry meterRegistry, final String type) {
+    return Timer.builder(MATCHING_TIMER)
+        .description("Matching of holidays in fetched calendars")
+        .tag("type", type)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Removes holidays before and equal given date. If the holiday with this date exists a few then
+   * merge holiday names.
+   *
+   * @param date     given date param
+   * @param calendar holidays in country sorted by date and name
+   * @return holidays with unique dates sorted by date
+   */
+  static List<Holiday> reduceHolidayCollection(final LocalDate date,
+      final HolidayCalendar calendar) {
+    final int size = calendar.size();
+    final long epochDay = date.toEpochDay();
+    List<Holiday> reduceHolidays = new ArrayList<>(size);
+    int i = 0;
+    while (i < size && calendar.getEpochDay(i) <= epochDay) {
+      i++;
+    }
+    while (i < size) {
+      final int holidayDay = calendar.getEpochDay(i);
+      String localName = calendar.getLocalName(i);
+      int next = i + 1;
+      if (next < size && calendar.getEpochDay(next) == holidayDay) {
+        StringBuilder localNames = new StringBuilder(localName);
+        while (next < size && calendar.getEpochDay(next) == holidayDay) {
+          localNames.append(NAMES_SEPARATOR).append(calendar.getLocalName(next));
+          next++;
+        }
+        localName = localNames.toString();
+      }
+      reduceHolidays.add(Holiday.builder()
+          .date(LocalDate.ofEpochDay(holidayDay))
+          .localName(localName)
+          .build());
+      i = next;
+    }
+    return reduceHolidays;
+  }
+
+  /**
+   * Returns all holidays DTO which happen on the same day in both countries holiday collection.
+   *
+   * @param country1Holidays holidays in country1 with unique dates sorted by date
+   * @param country2Holidays holidays in country2 with unique dates sorted by date
+   * @return holiday DTOs in both countries sorted by date
+   */
+  static List<HolidayResponseDto> matchAllHolidaysInBothCollections(
+      final List<Holiday> country1Holidays, final List<Holiday> country2Holidays) {
+    List<HolidayResponseDto> matchedHolidays = new ArrayList<>();
+    int i = 0;
+    int j = 0;
+    while (i < country1Holidays.size() && j < country2Holidays.size()) {
+      final var holiday1 = country1Holidays.get(i);
+      final var holiday2 = country2Holidays.get(j);
+      final int order = holiday1.getDate().compareTo(holiday2.getDate());
+      if (order < 0) {
+        i++;
+      } else if (order > 0) {
+        j++;
+      } else {
+        matchedHolidays.add(HolidayResponseDto.builder()
+            .nextHolidayDate(holiday1.getDate())
+            .holidayName1(holiday1.getLocalName())
+            .holidayName2(holiday2.getLocalName())
+            .build());
+        i++;
+        j++;
+      }
+    }
+    return matchedHolidays;
+  }
+
+  /**
+   * Returns first holiday after the given date which happens on the same day in at least the
+   * given number of countries. Merges calendars with a queue of cursors ordered by the date of
+   * their current holiday, so calendars are read only up to the found day and the merge stops
+   * when fewer calendars than required are left.
+   *
+   * @param date         given date param
+   * @param countryCodes country codes in the order of calendars
+   * @param calendars    holidays in countries with unique dates sorted by date
+   * @param minCountries minimum number of countries with the holiday
+   * @return first matched holiday DTO with names in countries which have it or empty
+   */
+  static Optional<CommonHolidayResponseDto> matchFirstHolidayInCountries(final LocalDate date,
+      final List<String> countryCodes, final List<List<Holiday>> calendars,
+      final int minCountries) {
+    final PriorityQueue<CalendarCursor> cursors =
+        new PriorityQueue<>(Math.max(1, calendars.size()));
+    for (int i = 0; i < calendars.size(); i++) {
+      final var calendar = calendars.get(i);
+      final int position = indexOfFirstAfter(calendar, date);
+      if (position < calendar.size()) {
+        cursors.add(new CalendarCursor(i, calendar, position));
+      }
+    }
+    final List<CalendarCursor> matchedCursors = new ArrayList<>(calendars.size());
+    while (cursors.size() >= minCountries) {
+      final var holidayDate = cursors.peek().getDate();
+      matchedCursors.clear();
+      while (!cursors.isEmpty() && cursors.peek().getDate().equals(holidayDate)) {
+        matchedCursors.add(cursors.poll());
+      }
+      if (matchedCursors.size() >= minCountries) {
+        matchedCursors.sort(Comparator.comparingInt(cursor -> cursor.calendarIndex));
+        List<CountryHolidayDto> holidays = new ArrayList<>(matchedCursors.size());
+        for (CalendarCursor cursor : matchedCursors) {
+          holidays.add(CountryHolidayDto.builder()
+              .countryCode(countryCodes.get(cursor.calendarIndex))
+              .holidayName(cursor.getHoliday().getLocalName())
+              .build());
+        }
+        return Optional.of(CommonHolidayResponseDto.builder()
+            .nextHolidayDate(holidayDate)
+            .holidays(holidays)
+            .build());
+      }
+      for (CalendarCursor cursor : matchedCursors) {
+        if (cursor.next()) {
+          cursors.add(cursor);
+        }
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Returns index of the first holiday after given date or size of the calendar when there is
+   * none.
+   *
+   * @param calendar holidays with unique dates sorted by date
+   * @param date     given date param
+   * @return index of first holiday after date
+   */
+  private static int indexOfFirstAfter(final List<Holiday> calendar, final LocalDate date) {
+    int low = 0;
+    int high = calendar.size();
+    while (low < high) {
+      final int middle = (low + high) >>> 1;
+      if (calendar.get(middle).getDate().isAfter(date)) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Position in the calendar of a country during the merge.
+   */
+  private static final class CalendarCursor implements Comparable<CalendarCursor> {
+
+    private final int calendarIndex;
+
+    private final List<Holiday> calendar;
+
+    private int position;
+
+    CalendarCursor(final int calendarIndex, final List<Holiday> calendar, final int position) {
+      this.calendarIndex = calendarIndex;
+      this.calendar = calendar;
+      this.position = position;
+    }
+
+    Holiday getHoliday() {
+      return calendar.get(position);
+    }
+
+    LocalDate getDate() {
+      return getHoliday().getDate();
+    }
+
+    /**
+     * Moves to the next holiday, returns false when the calendar has no more holidays.
+     */
+    boolean next() {
+      return ++position < calendar.size();
+    }
+
+    @Override
+    public int compareTo(final CalendarCursor other) {
+      return getDate().compareTo(other.getDate());
+    }
+  }
+}
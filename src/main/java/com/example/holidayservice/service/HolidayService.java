@@ -1,33 +1,30 @@
 package com.example.holidayservice.service;
 
-import com.example.holidayservice.domain.Country;
-import com.example.holidayservice.domain.Holiday;
+import com.example.holidayservice.cache.HolidayCalendarCache;
+import com.example.holidayservice.config.HolidayProviderProperties;
+import com.example.holidayservice.domain.CountryCode;
+import com.example.holidayservice.dto.BothCountriesHolidayDto;
 import com.example.holidayservice.dto.HolidayResponseDto;
 import com.example.holidayservice.exception.CountryNotSupportedException;
-import com.example.holidayservice.exception.HolidayServiceException;
-import com.example.holidayservice.config.HolidayProviderProperties;
+import com.example.holidayservice.exception.InvalidParameterException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
 
 /**
  * Service for logic layer about holidays. Enables find next holiday in both countries and verify
- * country codes.
+ * country codes. A search of the next holiday scans years one by one, from the year of the date
+ * until a holiday is found or the search horizon is reached. Common holidays in a range of dates
+ * are found year by year, each year in one lookup of the common holidays index.
  */
 @Service
-@RequiredArgsConstructor
 public class HolidayService {
 
   /**
@@ -35,20 +32,73 @@ public class HolidayService {
    */
   private static final String COUNTRY_CODE = "Country code: ";
   private static final String NOT_SUPPORTED = " is not supported. ";
-  private static final String ERROR_FROM_PROVIDER = "Internal error from the holiday's provider.";
+  private static final String INVALID_RANGE =
+      "Date range must end on or after its start and be at most ";
+
+  /**
+   * Messages of not supported two letters country codes by their number.
+   */
+  private static final String[] NOT_SUPPORTED_MESSAGES = new String[CountryCode.COUNT];
+
+  static {
+    for (int code = 0; code < CountryCode.COUNT; code++) {
+      NOT_SUPPORTED_MESSAGES[code] = COUNTRY_CODE + CountryCode.decode(code) + NOT_SUPPORTED;
+    }
+  }
 
   /**
-   * REST Client to make requests to holiday provider.
+   * Name of the scanned years summary.
    */
-  private final RestTemplate restClient;
+  private static final String SEARCH_YEARS = "holiday.search.years";
 
   /**
-   * URLs in holiday provider.
+   * Countries supported by the holiday provider.
+   */
+  private final SupportedCountryRegistry countryRegistry;
+
+  /**
+   * Holiday calendars fetched from the provider.
+   */
+  private final HolidayCalendarCache calendarCache;
+
+  /**
+   * Common holidays of country pairs.
+   */
+  private final CommonHolidayIndex commonHolidayIndex;
+
+  /**
+   * Settings of fetching calendars from the provider.
    */
   private final HolidayProviderProperties properties;
 
   /**
-   * Returns first next holiday response dto from both countries or empty.
+   * Number of years scanned by a search.
+   */
+  private final DistributionSummary yearsScanned;
+
+  /**
+   * Error of an invalid date range, its message is constant.
+   */
+  private final InvalidParameterException invalidRange;
+
+  public HolidayService(final SupportedCountryRegistry countryRegistry,
+      final HolidayCalendarCache calendarCache, final CommonHolidayIndex commonHolidayIndex,
+      final HolidayProviderProperties properties, final MeterRegistry meterRegistry) {
+    this.countryRegistry = countryRegistry;
+    this.calendarCache = calendarCache;
+    this.commonHolidayIndex = commonHolidayIndex;
+    this.properties = properties;
+    this.yearsScanned = DistributionSummary.builder(SEARCH_YEARS)
+        .description("Number of years scanned by a next holiday search")
+        .register(meterRegistry);
+    this.invalidRange = new InvalidParameterException(
+        INVALID_RANGE + properties.getSearch().getMaxRange() + ".");
+  }
+
+  /**
+   * Returns first next holiday response dto from both countries or empty. Calendars of both
+   * countries are fetched concurrently, close to the end of a year the next year calendars are
+   * fetched in advance as well. Holidays after the search horizon are not found.
    *
    * @param date         given date param
    * @param countryCode1 country1 code param
@@ -57,160 +107,185 @@ public class HolidayService {
    */
   public Optional<HolidayResponseDto> findNextHolidayInBothCountries(final LocalDate date,
       final String countryCode1, final String countryCode2) {
-    int year = date.getYear();
-    // If next year also returns 0 match iterate for next years not make sense.
-    while (year <= year + 1) {
-      final var holidays1 = makeHolidaysRequest(properties.getHolidaysUrl(),
-          countryCode1, year);
-      final var country1Holidays = reduceHolidayCollection(date, holidays1);
-      final var holidays2 = makeHolidaysRequest(properties.getHolidaysUrl(),
-          countryCode2, year);
-      final var country2Holidays = reduceHolidayCollection(date, holidays2);
-      final var holiday = matchFirstHolidayInBothCollections(country1Holidays, country2Holidays);
-      if (holiday.isPresent()) {
-        return holiday;
+    final long deadline = System.nanoTime() + properties.getFetch().getRequestTimeout().toNanos();
+    final var endDate = searchEndDate(date);
+    if (isNextYearPrefetchDate(date)) {
+      calendarCache.getHolidaysAsync(countryCode1, date.getYear() + 1);
+      calendarCache.getHolidaysAsync(countryCode2, date.getYear() + 1);
+    }
+    for (int year = date.getYear(); ; year++) {
+      final var holidays1 = calendarCache.getHolidaysAsync(countryCode1, year);
+      final var holidays2 = calendarCache.getHolidaysAsync(countryCode2, year);
+      CalendarFutures.awaitAll(deadline, holidays1, holidays2);
+      final var holiday = commonHolidayIndex.findFirstHolidayAfter(date, countryCode1,
+          countryCode2, year, holidays1.join(), holidays2.join());
+      if (holiday.isPresent() || year >= endDate.getYear()) {
+        recordYearsScanned(date, year);
+        return holiday.filter(found -> !found.getNextHolidayDate().isAfter(endDate));
       }
-      year++;
     }
-    return Optional.empty();
   }
 
   /**
-   * Verifies country codes are available in the provider API.
+   * Passes all holidays between the given dates, inclusive, which happen on the same day in both
+   * countries, to the consumer, in order of dates and in one call per year. Calendars of the next
+   * year are fetched while holidays of the current year are consumed.
    *
+   * @param from         first date of the range
+   * @param to           last date of the range
    * @param countryCode1 country1 code param
    * @param countryCode2 country2 code param
+   * @param yearHolidays consumer of holidays of every year of the range sorted by date
    */
-  public void verifyAvailableCountries(final String countryCode1, final String countryCode2) {
-    final var supportedCountries = makeAvailableCountriesRequest(
-        properties.getAvailableCountriesUrl());
-    final var keys = supportedCountries.stream()
-        .map(Country::getKey)
-        .collect(Collectors.toSet());
-    StringBuilder errorMessage = new StringBuilder();
-    errorMessage.append(checkCountryCodeExists(countryCode1, keys));
-    errorMessage.append(checkCountryCodeExists(countryCode2, keys));
-    if (!errorMessage.toString().isEmpty()) {
-      throw new CountryNotSupportedException(errorMessage.toString(), supportedCountries);
+  public void findHolidaysInBothCountries(final LocalDate from, final LocalDate to,
+      final String countryCode1, final String countryCode2,
+      final Consumer<List<BothCountriesHolidayDto>> yearHolidays) {
+    final long requestTimeout = properties.getFetch().getRequestTimeout().toNanos();
+    var holidays1 = calendarCache.getHolidaysAsync(countryCode1, from.getYear());
+    var holidays2 = calendarCache.getHolidaysAsync(countryCode2, from.getYear());
+    for (int year = from.getYear(); year <= to.getYear(); year++) {
+      CalendarFutures.awaitAll(System.nanoTime() + requestTimeout, holidays1, holidays2);
+      final var calendar1 = holidays1.join();
+      final var calendar2 = holidays2.join();
+      if (year < to.getYear()) {
+        holidays1 = calendarCache.getHolidaysAsync(countryCode1, year + 1);
+        holidays2 = calendarCache.getHolidaysAsync(countryCode2, year + 1);
+      }
+      yearHolidays.accept(commonHolidayIndex.findHolidaysBetween(from, to, countryCode1,
+          countryCode2, year, calendar1, calendar2));
     }
   }
 
   /**
-   * Makes request to holiday API provider to get holiday list for a given country and year.
+   * Verifies the date range ends on or after its start and is not longer than the maximum range.
    *
-   * @param url         request url
-   * @param countryCode country code param
-   * @param year        year from date
-   * @return holidays collection in country
-   */
-  private Set<Holiday> makeHolidaysRequest(final String url,
-      final String countryCode, final int year) {
-    Holiday[] result;
-    try {
-      result = restClient.getForObject(
-          url,
-          Holiday[].class,
-          year,
-          countryCode
-      );
-    } catch (HttpStatusCodeException ex) {
-      throw new HolidayServiceException(ERROR_FROM_PROVIDER);
+   * @param from first date of the range
+   * @param to   last date of the range
+   */
+  public void verifyDateRange(final LocalDate from, final LocalDate to) {
+    if (to.isBefore(from) || to.isAfter(from.plus(properties.getSearch().getMaxRange()))) {
+      throw invalidRange;
     }
-    return (result != null) ? Set.copyOf(Arrays.asList(result)) : Collections.emptySet();
   }
 
   /**
-   * Removes holidays before and equal given date. If the holiday with this date exists a few then
-   * merge holiday names.
+   * Returns future of first next holiday found by searching years one by one, until a holiday is
+   * found or the search horizon is reached.
    *
-   * @param date     given date param
-   * @param holidays holidays in country
-   */
-  private Set<Holiday> reduceHolidayCollection(final LocalDate date,
-      final Collection<Holiday> holidays) {
-    Set<Holiday> reduceHolidays = new HashSet<>();
-    List<Holiday> sortedList = new ArrayList<>(holidays);
-    sortedList.sort(Comparator.comparing(Holiday::getDate).thenComparing(Holiday::getLocalName));
-    for (Holiday holiday : sortedList) {
-      var holidayDateExists = reduceHolidays.stream()
-          .filter(x -> x.getDate().equals(holiday.getDate()))
-          .findFirst();
-      if (holiday.getDate().isAfter(date) && holidayDateExists.isEmpty()) {
-        reduceHolidays.add(holiday);
-      } else if ((holiday.getDate().isAfter(date) && holidayDateExists.isPresent())) {
-        var newHoliday = Holiday.builder()
-            .date(holiday.getDate())
-            .localName(holidayDateExists.get().getLocalName() + " | " + holiday.getLocalName())
-            .build();
-        reduceHolidays.remove(holidayDateExists.get());
-        reduceHolidays.add(newHoliday);
+   * @param date        given date param
+   * @param searchYear  returns future of first next holiday in the year or empty
+   * @param holidayDate returns date of the holiday
+   * @param <T>         type of the holiday
+   * @return future of next holiday or empty
+   */
+  <T> CompletableFuture<Optional<T>> searchYearsAsync(final LocalDate date,
+      final IntFunction<CompletableFuture<Optional<T>>> searchYear,
+      final Function<T, LocalDate> holidayDate) {
+    return searchFromYear(date, date.getYear(), searchEndDate(date), searchYear, holidayDate);
+  }
+
+  private <T> CompletableFuture<Optional<T>> searchFromYear(final LocalDate date, final int year,
+      final LocalDate endDate, final IntFunction<CompletableFuture<Optional<T>>> searchYear,
+      final Function<T, LocalDate> holidayDate) {
+    return searchYear.apply(year).thenCompose(holiday -> {
+      if (holiday.isPresent() || year >= endDate.getYear()) {
+        recordYearsScanned(date, year);
+        return CompletableFuture.completedFuture(
+            holiday.filter(found -> !holidayDate.apply(found).isAfter(endDate)));
       }
-    }
-    return reduceHolidays;
+      return searchFromYear(date, year + 1, endDate, searchYear, holidayDate);
+    });
+  }
+
+  /**
+   * Returns last date of the search of a holiday after the given date.
+   *
+   * @param date given date param
+   * @return date at the search horizon
+   */
+  LocalDate searchEndDate(final LocalDate date) {
+    return date.plus(properties.getSearch().getHorizon());
+  }
+
+  /**
+   * Records number of years scanned by a search.
+   *
+   * @param date     given date param
+   * @param lastYear last scanned year
+   */
+  void recordYearsScanned(final LocalDate date, final int lastYear) {
+    yearsScanned.record(lastYear - date.getYear() + 1);
   }
 
   /**
-   * Returns first next holiday DTO in both countries holiday collection.
+   * Verifies country codes are available in the provider API.
    *
-   * @param country1Holidays holidays in country1
-   * @param country2Holidays holidays in country2
-   * @return first match holiday DTO in both countries or empty
-   */
-  private Optional<HolidayResponseDto> matchFirstHolidayInBothCollections(
-      final Collection<Holiday> country1Holidays, final Collection<Holiday> country2Holidays) {
-    List<Holiday> mergedHolidays = new ArrayList<>();
-    mergedHolidays.addAll(country1Holidays);
-    mergedHolidays.addAll(country2Holidays);
-    mergedHolidays.sort(Comparator.comparing(Holiday::getDate));
-    if (mergedHolidays.size() <= 1) {
-      return Optional.empty();
+   * @param countryCode1 country1 code param
+   * @param countryCode2 country2 code param
+   */
+  public void verifyAvailableCountries(final String countryCode1, final String countryCode2) {
+    final var supportedCountries = countryRegistry.getSupportedCountries();
+    final boolean supported1 = supportedCountries.contains(countryCode1);
+    final boolean supported2 = supportedCountries.contains(countryCode2);
+    if (supported1 && supported2) {
+      return;
     }
-    for (int i = 0; i < mergedHolidays.size() - 1; i++) {
-      if (mergedHolidays.get(i).getDate().equals(mergedHolidays.get(i + 1).getDate())) {
-        return Optional.of(HolidayResponseDto.builder()
-            .nextHolidayDate(mergedHolidays.get(i).getDate())
-            .holidayName1(mergedHolidays.get(i).getLocalName())
-            .holidayName2(mergedHolidays.get(i + 1).getLocalName())
-            .build());
-      }
+    final String errorMessage;
+    if (supported1) {
+      errorMessage = notSupportedMessage(countryCode2);
+    } else if (supported2) {
+      errorMessage = notSupportedMessage(countryCode1);
+    } else {
+      errorMessage = notSupportedMessage(countryCode1) + notSupportedMessage(countryCode2);
     }
-    return Optional.empty();
+    throw new CountryNotSupportedException(errorMessage, supportedCountries);
   }
 
   /**
-   * Makes request to holiday API provider to get available country codes.
+   * Verifies all country codes are available in the provider API.
    *
-   * @param url available countries request url
-   * @return country codes and names
-   */
-  private List<Country> makeAvailableCountriesRequest(final String url) {
-    Country[] result;
-    try {
-      result = restClient.getForObject(
-          url,
-          Country[].class
-      );
-    } catch (HttpStatusCodeException ex) {
-      throw new HolidayServiceException(ERROR_FROM_PROVIDER);
+   * @param countryCodes country codes param
+   */
+  public void verifyAvailableCountries(final List<String> countryCodes) {
+    final var supportedCountries = countryRegistry.getSupportedCountries();
+    String errorMessage = null;
+    for (String countryCode : countryCodes) {
+      if (!supportedCountries.contains(countryCode)) {
+        final var message = notSupportedMessage(countryCode);
+        errorMessage = (errorMessage == null) ? message : errorMessage + message;
+      }
+    }
+    if (errorMessage != null) {
+      throw new CountryNotSupportedException(errorMessage, supportedCountries);
     }
-    return (result != null) ? List.of(result) : Collections.emptyList();
   }
 
   /**
-   * Verifies country code exists in provider API.
+   * Checks the date is in the last days of a year, when the next year calendars are likely needed,
+   * and the next year is within the search horizon.
+   *
+   * @param date given date param
+   * @return true when next year calendars should be fetched in advance
+   */
+  boolean isNextYearPrefetchDate(final LocalDate date) {
+    return date.lengthOfYear() - date.getDayOfYear()
+        < properties.getFetch().getNextYearPrefetchDays()
+        && searchEndDate(date).getYear() > date.getYear();
+  }
+
+  /**
+   * Returns error message of a country code not supported in provider API. Messages of upper case
+   * two letters codes are created once.
    *
    * @param countryCode country code param
-   * @param keys        country codes collection
    * @return error message
    */
-  private String checkCountryCodeExists(final String countryCode, final Collection<String> keys) {
-    StringBuilder errorMessage = new StringBuilder();
-    if (!keys.contains(countryCode.toUpperCase())) {
-      errorMessage.append(COUNTRY_CODE);
-      errorMessage.append(countryCode);
-      errorMessage.append(NOT_SUPPORTED);
+  private static String notSupportedMessage(final String countryCode) {
+    final int code = CountryCode.encode(countryCode);
+    if (code >= 0 && CountryCode.decode(code).equals(countryCode)) {
+      return NOT_SUPPORTED_MESSAGES[code];
     }
-    return errorMessage.toString();
+    return COUNTRY_CODE + countryCode + NOT_SUPPORTED;
   }
 
 }
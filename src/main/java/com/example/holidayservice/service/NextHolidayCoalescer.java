@@ -0,0 +1,188 @@
+package com.example.holidayservice.service;
+
+import com.example.holidayservice.domain.CountryCode;
+import com.example.holidayservice.dto.HolidayResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import lombok.Value;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalescing of identical next holiday queries in flight. The first query of a date and a country
+ * pair runs the search, concurrent queries of the same date and pair, in any order of countries,
+ * share its result instead of searching again. Names of a shared result are swapped for queries
+ * with countries in the other order. Queries of precomputed country pairs are answered from the
+ * {@link NextHolidayTable} without a search.
+ */
+@Component
+public class NextHolidayCoalescer {
+
+  /**
+   * Name of the coalescing counter and its roles.
+   */
+  private static final String COALESCING = "holiday.next-holiday.coalescing";
+  private static final String EXECUTED = "executed";
+  private static final String COALESCED = "coalesced";
+
+  /**
+   * Blocking service to search the next holiday.
+   */
+  private final HolidayService holidayService;
+
+  /**
+   * Precomputed next common holidays or null when precomputation is disabled.
+   */
+  private final NextHolidayTable nextHolidayTable;
+
+  /**
+   * Searches in flight by normalized query.
+   */
+  private final Map<QueryKey, CompletableFuture<Optional<HolidayResponseDto>>> inFlight =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Queries which ran the search and queries which shared a search in flight.
+   */
+  private final Counter executed;
+  private final Counter coalesced;
+
+  public NextHolidayCoalescer(final HolidayService holidayService,
+      final ObjectProvider<NextHolidayTable> nextHolidayTable, final MeterRegistry meterRegistry) {
+    this.holidayService = holidayService;
+    this.nextHolidayTable = nextHolidayTable.getIfAvailable();
+    this.executed = Counter.builder(COALESCING)
+        .description("Next holiday queries by whether they ran or shared a search")
+        .tag("role", EXECUTED)
+        .register(meterRegistry);
+    this.coalesced = Counter.builder(COALESCING)
+        .description("Next holiday queries by whether they ran or shared a search")
+        .tag("role", COALESCED)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Verifies country codes and returns next holiday from both countries or empty with the blocking
+   * service, sharing the search with identical queries in flight.
+   *
+   * @param date         given date param
+   * @param countryCode1 country1 code param
+   * @param countryCode2 country2 code param
+   * @return next holiday or empty
+   */
+  public Optional<HolidayResponseDto> findNextHolidayInBothCountries(final LocalDate date,
+      final String countryCode1, final String countryCode2) {
+    try {
+      return coalesce(date, countryCode1, countryCode2, (code1, code2) ->
+          CompletableFuture.completedFuture(
+              holidayService.findNextHolidayInBothCountries(date, code1, code2))).join();
+    } catch (CompletionException ex) {
+      throw CalendarFutures.providerError(ex);
+    }
+  }
+
+  /**
+   * Verifies country codes of the query and returns future of next holiday from both countries,
+   * running the search only when the query is not precomputed and no identical query is in
+   * flight. Every query is verified before it shares a search, so its error names the codes as
+   * the query spelled them. The search gets countries in the order of the query which runs it.
+   *
+   * @param date         given date param
+   * @param countryCode1 country1 code param
+   * @param countryCode2 country2 code param
+   * @param search       searches the next holiday of the date in verified countries
+   * @return future of next holiday or empty, cancelling it does not cancel the shared search
+   */
+  public CompletableFuture<Optional<HolidayResponseDto>> coalesce(final LocalDate date,
+      final String countryCode1, final String countryCode2, final NextHolidaySearch search) {
+    holidayService.verifyAvailableCountries(countryCode1, countryCode2);
+    final var code1 = CountryCode.normalize(countryCode1);
+    final var code2 = CountryCode.normalize(countryCode2);
+    final var precomputed = (nextHolidayTable != null)
+        ? nextHolidayTable.findNextHoliday(date, code1, code2) : null;
+    if (precomputed != null) {
+      return CompletableFuture.completedFuture(precomputed);
+    }
+    final boolean swapped = code1.compareTo(code2) > 0;
+    final var key = swapped ? new QueryKey(date, code2, code1) : new QueryKey(date, code1, code2);
+    final var shared = new CompletableFuture<Optional<HolidayResponseDto>>();
+    final var current = inFlight.putIfAbsent(key, shared);
+    if (current != null) {
+      coalesced.increment();
+      return view(current, swapped);
+    }
+    executed.increment();
+    CompletableFuture<Optional<HolidayResponseDto>> result;
+    try {
+      result = swapped ? search.find(countryCode2, countryCode1)
+          : search.find(countryCode1, countryCode2);
+    } catch (RuntimeException ex) {
+      result = CompletableFuture.failedFuture(ex);
+    }
+    result.whenComplete((holiday, ex) -> {
+      inFlight.remove(key, shared);
+      if (ex != null) {
+        shared.completeExceptionally(CalendarFutures.providerError(ex));
+      } else {
+        shared.complete(holiday);
+      }
+    });
+    return view(shared, swapped);
+  }
+
+  /**
+   * Returns dependent future of the shared search, with holiday names in the order of the query.
+   */
+  private static CompletableFuture<Optional<HolidayResponseDto>> view(
+      final CompletableFuture<Optional<HolidayResponseDto>> shared, final boolean swapped) {
+    if (!swapped) {
+      return shared.thenApply(Function.identity());
+    }
+    return shared.thenApply(holiday -> holiday.map(NextHolidayCoalescer::swap));
+  }
+
+  private static HolidayResponseDto swap(final HolidayResponseDto holiday) {
+    return HolidayResponseDto.builder()
+        .nextHolidayDate(holiday.getNextHolidayDate())
+        .holidayName1(holiday.getHolidayName2())
+        .holidayName2(holiday.getHolidayName1())
+        .build();
+  }
+
+  /**
+   * Search of the next holiday of a date in both verified countries.
+   */
+  @FunctionalInterface
+  public interface NextHolidaySearch {
+
+    /**
+     * Searches the next holiday.
+     *
+     * @param countryCode1 country1 code param
+     * @param countryCode2 country2 code param
+     * @return future of next holiday or empty
+     */
+    CompletableFuture<Optional<HolidayResponseDto>> find(String countryCode1,
+        String countryCode2);
+  }
+
+  /**
+   * Query with upper-cased country codes in alphabetical order.
+   */
+  @Value
+  private static class QueryKey {
+
+    LocalDate date;
+
+    String countryCode1;
+
+    String countryCode2;
+  }
+}
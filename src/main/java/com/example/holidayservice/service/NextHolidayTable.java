@@ -0,0 +1,545 @@
+package com.example.holidayservice.service;
+
+import com.example.holidayservice.cache.HolidayCalendarCache;
+import com.example.holidayservice.cache.HolidayCalendarKey;
+import com.example.holidayservice.config.HolidayProviderProperties;
+import com.example.holidayservice.domain.CountryCode;
+import com.example.holidayservice.domain.Holiday;
+import com.example.holidayservice.domain.HolidayCalendar;
+import com.example.holidayservice.dto.HolidayResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Component;
+
+/**
+ * Precomputed next common holidays of all pairs of preloaded countries in the current and the next
+ * year, enabled by {@code provider.precompute.enabled}. For every day of both years a pair has the
+ * index of its next common holiday, so a query is answered by two array reads without searching.
+ * The table is built by a fork-join pool when the application is ready and on New Year. When a
+ * loaded calendar of a country differs from the one in the table, only pairs of the country are
+ * built again, and queries of these pairs are searched until then.
+ */
+@Component
+@ConditionalOnProperty(name = "provider.precompute.enabled", havingValue = "true")
+@Slf4j
+public class NextHolidayTable {
+
+  /**
+   * Names of the table metrics.
+   */
+  private static final String TABLE_BYTES = "holiday.next-holiday.table.bytes";
+  private static final String TABLE_PAIRS = "holiday.next-holiday.table.pairs";
+  private static final String TABLE_LOOKUPS = "holiday.next-holiday.table.lookups";
+
+  /**
+   * Number of years in the table.
+   */
+  private static final int YEARS = 2;
+
+  /**
+   * Index of a day without a next common holiday. Pairs with more common holidays are searched.
+   */
+  private static final int NONE = 0xFF;
+
+  /**
+   * Estimated sizes of an object and an array header and of a reference, in bytes.
+   */
+  private static final int OBJECT_BYTES = 16;
+  private static final int ARRAY_BYTES = 16;
+  private static final int REFERENCE_BYTES = 4;
+
+  /**
+   * Table of a pair without common holidays.
+   */
+  private static final PairTable NO_HOLIDAYS = new PairTable(null, new int[0], List.of(),
+      List.of());
+
+  /**
+   * Holiday calendars fetched from the provider.
+   */
+  private final HolidayCalendarCache calendarCache;
+
+  /**
+   * Countries of the table.
+   */
+  private final CalendarPreloader calendarPreloader;
+
+  /**
+   * Search horizon and precomputation settings.
+   */
+  private final HolidayProviderProperties properties;
+
+  /**
+   * Scheduler of the New Year build.
+   */
+  private final TaskScheduler taskScheduler;
+
+  /**
+   * Threads building the table.
+   */
+  private final ForkJoinPool pool;
+
+  /**
+   * Whether a build is running.
+   */
+  private final AtomicBoolean building = new AtomicBoolean();
+
+  /**
+   * Whether the next build loads calendars of the current year instead of updating the table.
+   */
+  private volatile boolean newLayout = true;
+
+  /**
+   * Countries and calendars of the table, null until the first build.
+   */
+  private volatile Layout layout;
+
+  /**
+   * Estimated memory of the table and number of precomputed pairs.
+   */
+  private final AtomicLong tableBytes = new AtomicLong();
+  private final AtomicLong tablePairs = new AtomicLong();
+
+  /**
+   * Queries answered by the table and queries searched.
+   */
+  private final Counter hits;
+  private final Counter misses;
+
+  public NextHolidayTable(final HolidayCalendarCache calendarCache,
+      final CalendarPreloader calendarPreloader, final HolidayProviderProperties properties,
+      final TaskScheduler taskScheduler, final MeterRegistry meterRegistry) {
+    this.calendarCache = calendarCache;
+    this.calendarPreloader = calendarPreloader;
+    this.properties = properties;
+    this.taskScheduler = taskScheduler;
+    this.pool = new ForkJoinPool(properties.getPrecompute().getParallelism());
+    Gauge.builder(TABLE_BYTES, tableBytes, AtomicLong::get)
+        .description("Estimated memory of the precomputed next common holidays")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+    Gauge.builder(TABLE_PAIRS, tablePairs, AtomicLong::get)
+        .description("Country pairs with precomputed next common holidays")
+        .register(meterRegistry);
+    this.hits = Counter.builder(TABLE_LOOKUPS)
+        .description("Next holiday queries by whether the table answered them")
+        .tag("result", "hit")
+        .register(meterRegistry);
+    this.misses = Counter.builder(TABLE_LOOKUPS)
+        .description("Next holiday queries by whether the table answered them")
+        .tag("result", "miss")
+        .register(meterRegistry);
+    calendarCache.addLoadListener(this::calendarLoaded);
+  }
+
+  /**
+   * Builds the table after the calendars are preloaded and schedules the New Year build.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  void start() {
+    scheduleBuild();
+    taskScheduler.schedule(() -> {
+      newLayout = true;
+      scheduleBuild();
+    }, new CronTrigger(CalendarPreloader.NEW_YEAR));
+  }
+
+  @PreDestroy
+  void stop() {
+    pool.shutdownNow();
+  }
+
+  /**
+   * Returns first holiday after the given date, until the end of the search horizon, that happens
+   * on the same day in both countries, from the table.
+   *
+   * @param date         given date param
+   * @param countryCode1 country1 code param
+   * @param countryCode2 country2 code param
+   * @return next holiday or empty, null when the query is not precomputed and must be searched
+   */
+  public Optional<HolidayResponseDto> findNextHoliday(final LocalDate date,
+      final String countryCode1, final String countryCode2) {
+    final var holiday = lookup(date, countryCode1, countryCode2);
+    (holiday != null ? hits : misses).increment();
+    return holiday;
+  }
+
+  private Optional<HolidayResponseDto> lookup(final LocalDate date, final String countryCode1,
+      final String countryCode2) {
+    final var current = layout;
+    final var pairs = (current != null) ? current.pairs : null;
+    if (pairs == null) {
+      return null;
+    }
+    final int slot1 = current.slotOf(countryCode1);
+    final int slot2 = current.slotOf(countryCode2);
+    final long day = date.toEpochDay() - current.firstEpochDay;
+    if (slot1 < 0 || slot2 < 0 || day < 0 || day >= current.days
+        || !pairs.isCurrent(current, slot1) || !pairs.isCurrent(current, slot2)) {
+      return null;
+    }
+    final var table = pairs.tables[pairIndex(slot1, slot2)];
+    if (table == null) {
+      return null;
+    }
+    final long endDay = date.plus(properties.getSearch().getHorizon()).toEpochDay();
+    final int index = table.indexOfFirstAfter((int) day);
+    if (index == NONE) {
+      return (endDay < current.firstEpochDay + current.days) ? Optional.empty() : null;
+    }
+    if (table.epochDays[index] > endDay) {
+      return Optional.empty();
+    }
+    return (slot1 <= slot2) ? table.holidays.get(index) : table.swappedHolidays.get(index);
+  }
+
+  /**
+   * Keeps a loaded calendar of a country in the table and builds pairs of the country again when
+   * its holidays changed.
+   *
+   * @param key      country code with year
+   * @param holidays loaded calendar
+   */
+  private void calendarLoaded(final HolidayCalendarKey key, final HolidayCalendar holidays) {
+    final var current = layout;
+    if (current == null) {
+      return;
+    }
+    final int slot = current.slotOf(key.getCountryCode());
+    final int yearOffset = key.getYear() - current.firstYear;
+    if (slot < 0 || yearOffset < 0 || yearOffset >= YEARS) {
+      return;
+    }
+    final var previous = current.calendars.getAndSet(slot * YEARS + yearOffset, holidays);
+    if (!holidays.equals(previous)) {
+      current.generations.incrementAndGet(slot);
+      scheduleBuild();
+    }
+  }
+
+  /**
+   * Starts a build in the pool, unless one is running. A running build starts the next one when
+   * calendars changed in the meantime.
+   */
+  private void scheduleBuild() {
+    if (building.compareAndSet(false, true)) {
+      pool.execute(this::buildAndReschedule);
+    }
+  }
+
+  private void buildAndReschedule() {
+    try {
+      build();
+    } catch (RuntimeException ex) {
+      log.warn("Could not build the next holiday table: {}", ex.getMessage());
+    } finally {
+      building.set(false);
+    }
+    final var current = layout;
+    if (newLayout || (current != null && current.pairs != null && current.isChanged())) {
+      scheduleBuild();
+    }
+  }
+
+  /**
+   * Builds pairs of countries whose calendars changed since the last build, or all pairs of a new
+   * layout with calendars of the current and the next year.
+   */
+  void build() {
+    if (newLayout) {
+      newLayout = false;
+      layout = loadLayout(LocalDate.now().getYear());
+    }
+    final var current = layout;
+    final long start = System.nanoTime();
+    final int countries = current.countryCodes.size();
+    final int[] generations = new int[countries];
+    for (int slot = 0; slot < countries; slot++) {
+      generations[slot] = current.generations.get(slot);
+    }
+    final var previous = current.pairs;
+    final boolean[] changed = new boolean[countries];
+    final List<List<Holiday>> reducedCalendars = new ArrayList<>(countries * YEARS);
+    int changedCountries = 0;
+    for (int slot = 0; slot < countries; slot++) {
+      changed[slot] = previous == null || previous.generations[slot] != generations[slot];
+      changedCountries += changed[slot] ? 1 : 0;
+      for (int year = 0; year < YEARS; year++) {
+        final var holidays = current.calendars.get(slot * YEARS + year);
+        reducedCalendars.add((holidays != null)
+            ? HolidayMatching.reduceHolidayCollection(LocalDate.MIN, holidays) : null);
+      }
+    }
+    final PairTable[] tables = (previous != null) ? previous.tables.clone()
+        : new PairTable[pairIndex(countries, 0)];
+    pool.submit(() -> IntStream.range(0, countries).parallel().forEach(slot2 -> {
+      for (int slot1 = 0; slot1 <= slot2; slot1++) {
+        if (changed[slot1] || changed[slot2]) {
+          tables[pairIndex(slot1, slot2)] = buildPair(current, reducedCalendars, slot1, slot2);
+        }
+      }
+    })).join();
+    current.pairs = new Pairs(generations, tables);
+    reportFootprint(tables);
+    log.info("Built next common holidays of {} countries, {} changed, in {} ms, {} KiB",
+        countries, changedCountries, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+        tableBytes.get() / 1024);
+  }
+
+  /**
+   * Creates layout of preloaded countries and loads their calendars of the year and the next
+   * year, waiting at most the preloading timeout. The layout is used before the calendars are
+   * loaded, so a calendar refreshed in the meantime is kept instead of the cached one.
+   *
+   * @param firstYear first year of the table
+   * @return layout with loaded calendars, calendars not loaded are null
+   */
+  private Layout loadLayout(final int firstYear) {
+    final var loaded = new Layout(firstYear, calendarPreloader.preloadedCountryCodes());
+    layout = loaded;
+    final List<CompletableFuture<?>> loads = new ArrayList<>();
+    for (int slot = 0; slot < loaded.countryCodes.size(); slot++) {
+      for (int year = 0; year < YEARS; year++) {
+        final int index = slot * YEARS + year;
+        loads.add(calendarCache.getHolidaysAsync(loaded.countryCodes.get(slot), firstYear + year)
+            .thenAccept(holidays -> loaded.calendars.compareAndSet(index, null, holidays)));
+      }
+    }
+    CompletableFuture.allOf(loads.toArray(new CompletableFuture<?>[0]))
+        .orTimeout(properties.getPreload().getTimeout().toNanos(), TimeUnit.NANOSECONDS)
+        .handle((completed, ex) -> null)
+        .join();
+    return loaded;
+  }
+
+  /**
+   * Builds table of common holidays of two countries in both years.
+   *
+   * @param current          layout of the table
+   * @param reducedCalendars holidays with unique dates by country slot and year
+   * @param slot1            slot of the first country
+   * @param slot2            slot of the second country, not lower than the first
+   * @return table of the pair, null when a calendar is not loaded or there are too many holidays
+   */
+  private static PairTable buildPair(final Layout current,
+      final List<List<Holiday>> reducedCalendars, final int slot1, final int slot2) {
+    final List<HolidayResponseDto> matchedHolidays = new ArrayList<>();
+    for (int year = 0; year < YEARS; year++) {
+      final var holidays1 = reducedCalendars.get(slot1 * YEARS + year);
+      final var holidays2 = reducedCalendars.get(slot2 * YEARS + year);
+      if (holidays1 == null || holidays2 == null) {
+        return null;
+      }
+      matchedHolidays.addAll(HolidayMatching.matchAllHolidaysInBothCollections(holidays1,
+          holidays2));
+    }
+    final int size = matchedHolidays.size();
+    if (size == 0) {
+      return NO_HOLIDAYS;
+    }
+    if (size >= NONE) {
+      return null;
+    }
+    final int[] epochDays = new int[size];
+    final List<Optional<HolidayResponseDto>> holidays = new ArrayList<>(size);
+    final List<Optional<HolidayResponseDto>> swappedHolidays = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      final var holiday = matchedHolidays.get(i);
+      epochDays[i] = (int) holiday.getNextHolidayDate().toEpochDay();
+      holidays.add(Optional.of(holiday));
+      swappedHolidays.add(Optional.of(HolidayResponseDto.builder()
+          .nextHolidayDate(holiday.getNextHolidayDate())
+          .holidayName1(holiday.getHolidayName2())
+          .holidayName2(holiday.getHolidayName1())
+          .build()));
+    }
+    final byte[] next = new byte[current.days];
+    int index = 0;
+    for (int day = 0; day < next.length; day++) {
+      while (index < size && epochDays[index] <= current.firstEpochDay + day) {
+        index++;
+      }
+      next[day] = (byte) ((index < size) ? index : NONE);
+    }
+    return new PairTable(next, epochDays, holidays, swappedHolidays);
+  }
+
+  /**
+   * Updates estimated memory of the table and the number of precomputed pairs. Tables shared by
+   * pairs without common holidays are counted once, names are shared with the calendars.
+   */
+  private void reportFootprint(final PairTable[] tables) {
+    long bytes = ARRAY_BYTES + (long) REFERENCE_BYTES * tables.length;
+    long precomputed = 0;
+    final Map<PairTable, Boolean> counted = new IdentityHashMap<>();
+    for (PairTable table : tables) {
+      if (table != null) {
+        precomputed++;
+        if (counted.put(table, Boolean.TRUE) == null) {
+          bytes += table.estimateBytes();
+        }
+      }
+    }
+    tableBytes.set(bytes);
+    tablePairs.set(precomputed);
+  }
+
+  /**
+   * Returns index of the pair of country slots in any order.
+   */
+  private static int pairIndex(final int slot1, final int slot2) {
+    final int low = Math.min(slot1, slot2);
+    final int high = Math.max(slot1, slot2);
+    return high * (high + 1) / 2 + low;
+  }
+
+  /**
+   * Countries of the table with their calendars in both years. A calendar loaded after the table
+   * was built increments the generation of its country.
+   */
+  private static final class Layout {
+
+    final int firstYear;
+
+    final int firstEpochDay;
+
+    final int days;
+
+    final List<String> countryCodes;
+
+    /**
+     * Slots of countries by country code number, -1 for countries not in the table.
+     */
+    final int[] slots = new int[CountryCode.COUNT];
+
+    /**
+     * Calendars of a slot in the first and the next year at {@code slot * YEARS + year}.
+     */
+    final AtomicReferenceArray<HolidayCalendar> calendars;
+
+    final AtomicIntegerArray generations;
+
+    /**
+     * Last built pairs, null until the first build.
+     */
+    volatile Pairs pairs;
+
+    Layout(final int firstYear, final List<String> countryCodes) {
+      this.firstYear = firstYear;
+      this.firstEpochDay = (int) LocalDate.of(firstYear, 1, 1).toEpochDay();
+      this.days = (int) (LocalDate.of(firstYear + YEARS, 1, 1).toEpochDay() - firstEpochDay);
+      Arrays.fill(slots, -1);
+      final List<String> codes = new ArrayList<>(countryCodes.size());
+      for (String countryCode : countryCodes) {
+        final int code = CountryCode.encode(countryCode);
+        if (code >= 0 && slots[code] < 0) {
+          slots[code] = codes.size();
+          codes.add(CountryCode.decode(code));
+        }
+      }
+      this.countryCodes = codes;
+      this.calendars = new AtomicReferenceArray<>(codes.size() * YEARS);
+      this.generations = new AtomicIntegerArray(codes.size());
+    }
+
+    int slotOf(final String countryCode) {
+      final int code = CountryCode.encode(countryCode);
+      return (code >= 0) ? slots[code] : -1;
+    }
+
+    boolean isChanged() {
+      for (int slot = 0; slot < countryCodes.size(); slot++) {
+        if (!pairs.isCurrent(this, slot)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  /**
+   * Tables of all pairs with generations of the countries they were built from.
+   */
+  private static final class Pairs {
+
+    final int[] generations;
+
+    final PairTable[] tables;
+
+    Pairs(final int[] generations, final PairTable[] tables) {
+      this.generations = generations;
+      this.tables = tables;
+    }
+
+    boolean isCurrent(final Layout layout, final int slot) {
+      return generations[slot] == layout.generations.get(slot);
+    }
+  }
+
+  /**
+   * Common holidays of a pair with the index of the next one for every day of the table. Holidays
+   * have names in the order of the country slots, swapped holidays in the other order.
+   */
+  private static final class PairTable {
+
+    /**
+     * Unsigned index of the next holiday after every day, null when there are no holidays.
+     */
+    final byte[] next;
+
+    final int[] epochDays;
+
+    final List<Optional<HolidayResponseDto>> holidays;
+
+    final List<Optional<HolidayResponseDto>> swappedHolidays;
+
+    PairTable(final byte[] next, final int[] epochDays,
+        final List<Optional<HolidayResponseDto>> holidays,
+        final List<Optional<HolidayResponseDto>> swappedHolidays) {
+      this.next = next;
+      this.epochDays = epochDays;
+      this.holidays = holidays;
+      this.swappedHolidays = swappedHolidays;
+    }
+
+    int indexOfFirstAfter(final int day) {
+      return (next != null) ? Byte.toUnsignedInt(next[day]) : NONE;
+    }
+
+    /**
+     * Returns estimated memory of the arrays, the lists, the optional holidays and the swapped
+     * holidays.
+     */
+    long estimateBytes() {
+      final long size = epochDays.length;
+      final long nextBytes = (next != null) ? ARRAY_BYTES + next.length : 0;
+      final long listBytes = OBJECT_BYTES + ARRAY_BYTES + REFERENCE_BYTES * size;
+      return OBJECT_BYTES + nextBytes + ARRAY_BYTES + Integer.BYTES * size + 2 * listBytes
+          + size * (2 * OBJECT_BYTES + OBJECT_BYTES + 3 * REFERENCE_BYTES);
+    }
+  }
+}
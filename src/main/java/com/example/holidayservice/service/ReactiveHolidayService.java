@@ -0,0 +1,119 @@
+package com.example.holidayservice.service;
+
+import com.example.holidayservice.cache.HolidayCalendarCache;
+import com.example.holidayservice.config.HolidayProviderProperties;
+import com.example.holidayservice.domain.HolidayCalendar;
+import com.example.holidayservice.dto.HolidayResponseDto;
+import com.example.holidayservice.exception.HolidayServiceException;
+import java.time.LocalDate;
+import java.util.concurrent.TimeoutException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive variant of {@link HolidayService}. Waits for the provider without blocking threads and
+ * returns the same holidays and errors as the blocking service.
+ */
+@Service
+@ConditionalOnProperty(name = "app.pipeline", havingValue = "reactive")
+@RequiredArgsConstructor
+public class ReactiveHolidayService {
+
+  /**
+   * Blocking service to verify country codes, it works on in-memory supported countries.
+   */
+  private final HolidayService holidayService;
+
+  /**
+   * Holiday calendars fetched from the provider.
+   */
+  private final HolidayCalendarCache calendarCache;
+
+  /**
+   * Common holidays of country pairs.
+   */
+  private final CommonHolidayIndex commonHolidayIndex;
+
+  /**
+   * Settings of fetching calendars from the provider.
+   */
+  private final HolidayProviderProperties properties;
+
+  /**
+   * Returns first next holiday response dto from both countries or empty.
+   *
+   * @param date         given date param
+   * @param countryCode1 country1 code param
+   * @param countryCode2 country2 code param
+   * @return next holiday or empty
+   */
+  public Mono<HolidayResponseDto> findNextHolidayInBothCountries(final LocalDate date,
+      final String countryCode1, final String countryCode2) {
+    return Mono.defer(() -> {
+      if (holidayService.isNextYearPrefetchDate(date)) {
+        calendarCache.getHolidaysAsync(countryCode1, date.getYear() + 1);
+        calendarCache.getHolidaysAsync(countryCode2, date.getYear() + 1);
+      }
+      return findNextHolidayInYear(date, countryCode1, countryCode2, date.getYear(),
+          holidayService.searchEndDate(date));
+    })
+        .timeout(properties.getFetch().getRequestTimeout())
+        .onErrorMap(TimeoutException.class,
+            ex -> new HolidayServiceException(CalendarFutures.PROVIDER_TIMEOUT));
+  }
+
+  /**
+   * Verifies country codes are available in the provider API.
+   *
+   * @param countryCode1 country1 code param
+   * @param countryCode2 country2 code param
+   * @return completion or error when a country is not supported
+   */
+  public Mono<Void> verifyAvailableCountries(final String countryCode1,
+      final String countryCode2) {
+    return Mono.fromRunnable(
+        () -> holidayService.verifyAvailableCountries(countryCode1, countryCode2));
+  }
+
+  /**
+   * Returns first next holiday in the year or searches in the next year when not found, until the
+   * end date of the search.
+   *
+   * @param date         given date param
+   * @param countryCode1 country1 code param
+   * @param countryCode2 country2 code param
+   * @param year         searched year
+   * @param endDate      last date of the search
+   * @return next holiday or empty
+   */
+  private Mono<HolidayResponseDto> findNextHolidayInYear(final LocalDate date,
+      final String countryCode1, final String countryCode2, final int year,
+      final LocalDate endDate) {
+    return Mono.zip(getHolidays(countryCode1, year), getHolidays(countryCode2, year))
+        .flatMap(holidays -> {
+          final var holiday = commonHolidayIndex.findFirstHolidayAfter(date, countryCode1,
+              countryCode2, year, holidays.getT1(), holidays.getT2());
+          if (holiday.isPresent() || year >= endDate.getYear()) {
+            holidayService.recordYearsScanned(date, year);
+            return Mono.justOrEmpty(
+                holiday.filter(found -> !found.getNextHolidayDate().isAfter(endDate)));
+          }
+          return findNextHolidayInYear(date, countryCode1, countryCode2, year + 1, endDate);
+        });
+  }
+
+  /**
+   * Returns holidays from the cache. The cached future is shared, so cancelling the subscription
+   * does not cancel the fetching.
+   *
+   * @param countryCode country code param
+   * @param year        year from date
+   * @return holidays calendar in country
+   */
+  private Mono<HolidayCalendar> getHolidays(final String countryCode, final int year) {
+    return Mono.fromFuture(calendarCache.getHolidaysAsync(countryCode, year).copy())
+        .onErrorMap(CalendarFutures::providerError);
+  }
+}
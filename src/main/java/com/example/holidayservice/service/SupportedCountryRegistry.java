@@ -0,0 +1,115 @@
+package com.example.holidayservice.service;
+
+import com.example.holidayservice.cache.HolidayCalendarStore;
+import com.example.holidayservice.client.HolidayProviderClient;
+import com.example.holidayservice.client.ProviderResilience;
+import com.example.holidayservice.config.HolidayProviderProperties;
+import com.example.holidayservice.domain.SupportedCountries;
+import java.time.Instant;
+import javax.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registry of the countries supported by the holiday provider. The list is loaded at startup and
+ * refreshed in the background. When a refresh fails the last loaded list is still served. Loaded
+ * list is stored locally, so after a restart the stored list is served until the next refresh.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SupportedCountryRegistry {
+
+  /**
+   * Client to make requests to holiday provider.
+   */
+  private final HolidayProviderClient providerClient;
+
+  /**
+   * Refresh settings of the supported countries.
+   */
+  private final HolidayProviderProperties properties;
+
+  /**
+   * Scheduler of the background refresh.
+   */
+  private final TaskScheduler taskScheduler;
+
+  /**
+   * Local store of the loaded countries.
+   */
+  private final HolidayCalendarStore store;
+
+  /**
+   * Resilience policies of provider requests.
+   */
+  private final ProviderResilience resilience;
+
+  /**
+   * Last successfully loaded countries, null until the first load.
+   */
+  private volatile SupportedCountries supportedCountries;
+
+  /**
+   * Loads supported countries and schedules the periodic refresh. When the countries are stored
+   * they are served without calling the provider and the first refresh is scheduled when the
+   * stored list is due.
+   */
+  @PostConstruct
+  void start() {
+    final var interval = properties.getCountries().getRefreshInterval();
+    var firstRefresh = Instant.now().plus(interval);
+    final var stored = store.readCountries();
+    if (stored.isPresent()) {
+      supportedCountries = new SupportedCountries(stored.get().getValue());
+      final var storedRefresh = stored.get().getStoredAt().plus(interval);
+      firstRefresh = storedRefresh.isBefore(firstRefresh) ? storedRefresh : firstRefresh;
+    } else {
+      refresh();
+    }
+    taskScheduler.scheduleWithFixedDelay(this::refresh, firstRefresh, interval);
+  }
+
+  /**
+   * Returns last loaded supported countries. Loads them from the provider when none were loaded
+   * yet.
+   *
+   * @return supported countries
+   */
+  public SupportedCountries getSupportedCountries() {
+    final var current = supportedCountries;
+    return (current != null) ? current : loadFirstSupportedCountries();
+  }
+
+  /**
+   * Reloads supported countries from the provider, keeps the previous list on error.
+   */
+  public void refresh() {
+    try {
+      final var countries = resilience.getAvailableCountries()
+          .execute(providerClient::fetchAvailableCountries);
+      supportedCountries = new SupportedCountries(countries);
+      store.saveCountries(countries);
+    } catch (RuntimeException ex) {
+      log.warn("Could not refresh supported countries, serving the last loaded list: {}",
+          ex.getMessage());
+    }
+  }
+
+  /**
+   * Loads supported countries once for all concurrent callers, errors are thrown to the caller.
+   *
+   * @return supported countries
+   */
+  private synchronized SupportedCountries loadFirstSupportedCountries() {
+    if (supportedCountries == null) {
+      final var countries = resilience.getAvailableCountries()
+          .execute(providerClient::fetchAvailableCountries);
+      supportedCountries = new SupportedCountries(countries);
+      store.saveCountries(countries);
+    }
+    return supportedCountries;
+  }
+}
@@ -0,0 +1,250 @@
+package com.example.holidayservice.perf;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Open-loop load generator of the next holiday endpoint. Sends requests at a constant rate
+ * regardless of response times and measures latency from the scheduled send time, so a slow
+ * service is not hidden by fewer requests. Reports latency percentiles, response statuses and the
+ * number of provider calls made by the service, read from the stats of the local provider, and
+ * threads and memory used by the service, read from its metrics endpoint.
+ *
+ * <p>Accepts {@code --url}, {@code --rps}, {@code --duration-s}, {@code --warmup-s},
+ * {@code --provider-stats-url}, {@code --metrics-url} and {@code --seed} arguments.
+ */
+public final class LoadGenerator {
+
+  private static final String NEXT_HOLIDAY_PATH = "/api/holidays/next-holiday";
+
+  /**
+   * Countries with recorded calendars in the local provider.
+   */
+  private static final String[] COUNTRY_CODES = {"PL", "DE", "GB", "CN", "CY", "PR"};
+
+  /**
+   * Year of query dates, the recorded calendars cover it and the next year.
+   */
+  private static final int YEAR = 2020;
+
+  private static final int QUERIES = 4096;
+
+  private static final Pattern STATS_COUNTER = Pattern.compile("\"(\\w+)\":(\\d+)");
+
+  private static final Pattern METRIC_VALUE = Pattern.compile("\"value\":([-+.\\dEe]+)");
+
+  /**
+   * Reported service metrics, with a tag of the metric after a question mark.
+   */
+  private static final String[] SERVICE_METRICS = {"jvm.threads.live", "jvm.threads.peak",
+      "jvm.memory.used?tag=area:heap", "jvm.memory.used?tag=area:nonheap"};
+
+  private static final double MEGABYTE = 1024 * 1024;
+
+  private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+  private final HttpClient httpClient = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .executor(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()))
+      .connectTimeout(Duration.ofSeconds(5))
+      .build();
+
+  private final Recorder latencies = new Recorder(MAX_LATENCY_NANOS, 3);
+
+  private final Map<String, LongAdder> responses = new ConcurrentHashMap<>();
+
+  private final AtomicLong inFlight = new AtomicLong();
+
+  private final String url;
+
+  private final int rps;
+
+  private final Duration duration;
+
+  private final Duration warmup;
+
+  private final String providerStatsUrl;
+
+  private final String metricsUrl;
+
+  private final URI[] queries;
+
+  private LoadGenerator(final Map<String, String> options) {
+    this.url = options.getOrDefault("url", "http://localhost:8080");
+    this.rps = Integer.parseInt(options.getOrDefault("rps", "200"));
+    this.duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration-s", "30")));
+    this.warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup-s", "5")));
+    this.providerStatsUrl = options.getOrDefault("provider-stats-url",
+        "http://localhost:8089/stats");
+    this.metricsUrl = options.getOrDefault("metrics-url", url + "/actuator/metrics");
+    this.queries = createQueries(new Random(Long.parseLong(options.getOrDefault("seed", "42"))));
+  }
+
+  public static void main(final String[] args) throws Exception {
+    final Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      final String[] option = arg.replaceFirst("^--", "").split("=", 2);
+      options.put(option[0], (option.length > 1) ? option[1] : "");
+    }
+    new LoadGenerator(options).run();
+    System.exit(0);
+  }
+
+  private void run() throws InterruptedException {
+    System.out.printf(Locale.ROOT, "Warming up %s for %ds at %d req/s%n", url,
+        warmup.toSeconds(), rps);
+    send(warmup);
+    awaitInFlight();
+    latencies.reset();
+    responses.clear();
+
+    final var providerCallsBefore = readProviderStats();
+    System.out.printf(Locale.ROOT, "Measuring for %ds at %d req/s%n", duration.toSeconds(), rps);
+    final long start = System.nanoTime();
+    final long sent = send(duration);
+    awaitInFlight();
+    final long elapsed = System.nanoTime() - start;
+    final var providerCallsAfter = readProviderStats();
+
+    report(sent, elapsed, latencies.getIntervalHistogram(), providerCallsBefore,
+        providerCallsAfter);
+    reportServiceMetrics();
+  }
+
+  /**
+   * Sends requests at the target rate for a given time.
+   *
+   * @param time sending time
+   * @return number of sent requests
+   */
+  private long send(final Duration time) {
+    final long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rps;
+    final long count = time.toSeconds() * rps;
+    final long start = System.nanoTime();
+    for (long i = 0; i < count; i++) {
+      final long scheduled = start + i * intervalNanos;
+      long wait;
+      while ((wait = scheduled - System.nanoTime()) > 0) {
+        LockSupport.parkNanos(wait);
+      }
+      final var request = HttpRequest.newBuilder(queries[(int) (i % queries.length)])
+          .timeout(Duration.ofSeconds(30))
+          .GET()
+          .build();
+      inFlight.incrementAndGet();
+      httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+          .whenComplete((response, ex) -> {
+            latencies.recordValue(Math.min(System.nanoTime() - scheduled, MAX_LATENCY_NANOS));
+            final String result = (ex != null) ? ex.getClass().getSimpleName()
+                : String.valueOf(response.statusCode());
+            responses.computeIfAbsent(result, r -> new LongAdder()).increment();
+            inFlight.decrementAndGet();
+          });
+    }
+    return count;
+  }
+
+  private void awaitInFlight() throws InterruptedException {
+    while (inFlight.get() > 0) {
+      Thread.sleep(10);
+    }
+  }
+
+  /**
+   * Returns call counters of the local provider or empty map when they are not available.
+   */
+  private Map<String, Long> readProviderStats() {
+    final Map<String, Long> stats = new TreeMap<>();
+    try {
+      final var response = httpClient.send(HttpRequest.newBuilder(URI.create(providerStatsUrl))
+          .timeout(Duration.ofSeconds(5)).build(), HttpResponse.BodyHandlers.ofString());
+      final Matcher matcher = STATS_COUNTER.matcher(response.body());
+      while (matcher.find()) {
+        stats.put(matcher.group(1), Long.parseLong(matcher.group(2)));
+      }
+    } catch (Exception ex) {
+      System.out.println("Provider stats not available: " + ex);
+    }
+    return stats;
+  }
+
+  /**
+   * Prints threads and memory used by the service, memory in megabytes. The peak of threads is
+   * counted since the service started.
+   */
+  private void reportServiceMetrics() {
+    System.out.println("Service:");
+    for (String metric : SERVICE_METRICS) {
+      try {
+        final var request = HttpRequest.newBuilder(URI.create(metricsUrl + "/" + metric))
+            .timeout(Duration.ofSeconds(5)).build();
+        final var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        final Matcher matcher = METRIC_VALUE.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+          System.out.printf(Locale.ROOT, "  %-32s not available%n", metric);
+        } else if (metric.startsWith("jvm.memory")) {
+          System.out.printf(Locale.ROOT, "  %-32s %.1f MB%n", metric,
+              Double.parseDouble(matcher.group(1)) / MEGABYTE);
+        } else {
+          System.out.printf(Locale.ROOT, "  %-32s %.0f%n", metric,
+              Double.parseDouble(matcher.group(1)));
+        }
+      } catch (Exception ex) {
+        System.out.println("Service metrics not available: " + ex);
+        return;
+      }
+    }
+  }
+
+  private void report(final long sent, final long elapsedNanos, final Histogram histogram,
+      final Map<String, Long> providerCallsBefore, final Map<String, Long> providerCallsAfter) {
+    final double seconds = elapsedNanos / 1e9;
+    System.out.printf(Locale.ROOT, "%nRequests: %d sent, %.1f req/s completed%n", sent,
+        histogram.getTotalCount() / seconds);
+    System.out.println("Responses: " + new TreeMap<>(responses));
+    System.out.println("Latency (ms):");
+    for (double percentile : new double[] {50, 90, 99, 99.9}) {
+      System.out.printf(Locale.ROOT, "  p%-5s %10.2f%n", percentile,
+          histogram.getValueAtPercentile(percentile) / 1e6);
+    }
+    System.out.printf(Locale.ROOT, "  max    %10.2f%n", histogram.getMaxValue() / 1e6);
+    System.out.println("Provider calls:");
+    providerCallsAfter.forEach((counter, value) -> System.out.printf(Locale.ROOT, "  %-24s %d%n",
+        counter, value - providerCallsBefore.getOrDefault(counter, 0L)));
+  }
+
+  /**
+   * Creates queries of random country pairs and dates, all of them have a common holiday in the
+   * recorded calendars.
+   */
+  private URI[] createQueries(final Random random) {
+    final URI[] uris = new URI[QUERIES];
+    for (int i = 0; i < QUERIES; i++) {
+      final var date = LocalDate.ofYearDay(YEAR, 1 + random.nextInt(LocalDate.of(YEAR, 1, 1)
+          .lengthOfYear()));
+      uris[i] = URI.create(String.format(Locale.ROOT, "%s%s?date=%s&country1=%s&country2=%s",
+          url, NEXT_HOLIDAY_PATH, date, COUNTRY_CODES[random.nextInt(COUNTRY_CODES.length)],
+          COUNTRY_CODES[random.nextInt(COUNTRY_CODES.length)]));
+    }
+    return uris;
+  }
+}
@@ -14,7 +14,7 @@ import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 
 @RunWith(SpringRunner.class)
-@SpringBootTest
+@SpringBootTest(properties = "provider.preload.enabled=false")
 @AutoConfigureMockMvc
 public class HolidayServiceApplicationTests {
 
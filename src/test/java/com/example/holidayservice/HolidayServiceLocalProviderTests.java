@@ -0,0 +1,374 @@
+package com.example.holidayservice;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.holidayservice.errorhandling.GlobalErrorHandling;
+import com.example.holidayservice.stub.LocalHolidayProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Runs the application tests against the {@link LocalHolidayProvider} with recorded provider
+ * responses instead of the live provider.
+ */
+public class HolidayServiceLocalProviderTests extends HolidayServiceApplicationTests {
+
+  private static final LocalHolidayProvider PROVIDER = LocalHolidayProvider.start(0);
+
+  @ClassRule
+  public static final TemporaryFolder STORE_DIRECTORY = new TemporaryFolder();
+
+  @Autowired
+  private MockMvc mvc;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @DynamicPropertySource
+  static void providerProperties(final DynamicPropertyRegistry registry) {
+    registry.add("provider.holidays-url", PROVIDER::getHolidaysUrl);
+    registry.add("provider.available-countries-url", PROVIDER::getAvailableCountriesUrl);
+    registry.add("provider.store.enabled", () -> "true");
+    registry.add("provider.store.directory", () -> STORE_DIRECTORY.getRoot().toString());
+  }
+
+  @Test
+  public void shouldNotCallProviderWhenCalendarsAreCached() throws Exception {
+    mvc.perform(get("/api/holidays/next-holiday")
+        .param("date", "2020-03-01")
+        .param("country1", "DE")
+        .param("country2", "GB"))
+        .andExpect(status().isOk());
+    final long holidaysCalls = PROVIDER.getHolidaysCalls();
+
+    mvc.perform(get("/api/holidays/next-holiday")
+        .param("date", "2020-02-01")
+        .param("country1", "GB")
+        .param("country2", "DE"))
+        .andExpect(status().isOk());
+
+    assertEquals(holidaysCalls, PROVIDER.getHolidaysCalls());
+  }
+
+  @Test
+  public void shouldReturnNotModifiedWhenETagMatches() throws Exception {
+    final var response = mvc.perform(get("/api/holidays/next-holiday")
+        .param("date", "2020-04-01")
+        .param("country1", "PL")
+        .param("country2", "CY"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=43200"))
+        .andReturn().getResponse();
+    final var eTag = response.getHeader(HttpHeaders.ETAG);
+    assertNotNull(eTag);
+    final long holidaysCalls = PROVIDER.getHolidaysCalls();
+
+    mvc.perform(get("/api/holidays/next-holiday")
+        .param("date", "2020-04-01")
+        .param("country1", "pl")
+        .param("country2", "cy")
+        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, eTag));
+    mvc.perform(get("/api/holidays/next-holiday")
+        .param("date", "2020-04-02")
+        .param("country1", "PL")
+        .param("country2", "CY")
+        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isOk());
+
+    assertEquals(holidaysCalls, PROVIDER.getHolidaysCalls());
+  }
+
+  @Test
+  public void shouldFindNextHolidaysInBatch() throws Exception {
+    final long holidaysCalls = PROVIDER.getHolidaysCalls();
+    final var result = mvc.perform(post("/api/holidays/next-holiday/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"queries\":["
+            + "{\"date\":\"2020-05-01\",\"country1\":\"PL\",\"country2\":\"CY\"},"
+            + "{\"date\":\"2020-12-25\",\"country1\":\"CY\",\"country2\":\"PL\"},"
+            + "{\"date\":\"2020-10-10\",\"country1\":\"AQ\",\"country2\":\"PL\"},"
+            + "{\"country1\":\"PL\",\"country2\":\"CY\"}]}"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.results[0].status", is(200)))
+        .andExpect(jsonPath("$.results[0].nextHolidayDate", is("2020-08-15")))
+        .andExpect(jsonPath("$.results[0].holidayName1",
+            is("Wniebowzięcie Najświętszej Maryi Panny")))
+        .andExpect(jsonPath("$.results[0].holidayName2", is("Κοίμηση της Θεοτόκου")))
+        .andExpect(jsonPath("$.results[1].nextHolidayDate", is("2020-12-26")))
+        .andExpect(jsonPath("$.results[1].holidayName1",
+            is("Δεύτερη μέρα των Χριστουγέννων")))
+        .andExpect(jsonPath("$.results[2].status", is(400)))
+        .andExpect(jsonPath("$.results[2].errorMessage", is("Country code: AQ is not supported. ")))
+        .andExpect(jsonPath("$.results[3].status", is(400)))
+        .andExpect(jsonPath("$.results[3].errorMessage",
+            is("Required LocalDate field 'date' is not present")));
+
+    assertTrue(PROVIDER.getHolidaysCalls() - holidaysCalls <= 4);
+  }
+
+  @Test
+  public void shouldThrowErrorWhenBatchIsEmpty() throws Exception {
+    mvc.perform(post("/api/holidays/next-holiday/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"queries\":[]}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errorMessage", is("queries must not be empty")));
+  }
+
+  @Test
+  public void shouldStreamCommonHolidaysInRange() throws Exception {
+    final var result = mvc.perform(get("/api/holidays/common-holidays")
+        .param("from", "2020-12-25")
+        .param("to", "2021-01-06")
+        .param("country1", "CY")
+        .param("country2", "PL"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    final String[] lines = mvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson"))
+        .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+
+    assertEquals(4, lines.length);
+    assertEquals("{\"date\":\"2020-12-25\",\"holidayName1\":\"Χριστούγεννα\","
+        + "\"holidayName2\":\"Boże Narodzenie (pierwszy dzień)\"}", lines[0]);
+    assertTrue(lines[1].startsWith("{\"date\":\"2020-12-26\""));
+    assertTrue(lines[2].startsWith("{\"date\":\"2021-01-01\""));
+    assertTrue(lines[3].startsWith("{\"date\":\"2021-01-06\""));
+  }
+
+  @Test
+  public void shouldThrowErrorWhenDateRangeIsInvalid() throws Exception {
+    mvc.perform(get("/api/holidays/common-holidays")
+        .param("from", "2021-01-06")
+        .param("to", "2020-12-25")
+        .param("country1", "CY")
+        .param("country2", "PL"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errorMessage",
+            is("Date range must end on or after its start and be at most P10Y.")));
+  }
+
+  @Test
+  public void shouldFindNextHolidayInAllCountries() throws Exception {
+    final var result = mvc.perform(get("/api/holidays/next-common-holiday")
+        .param("date", "2020-09-01")
+        .param("countries", "CN,PL,GB"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.nextHolidayDate", is("2021-01-01")))
+        .andExpect(jsonPath("$.holidays[0].countryCode", is("CN")))
+        .andExpect(jsonPath("$.holidays[0].holidayName", is("元旦")))
+        .andExpect(jsonPath("$.holidays[1].holidayName", is("Nowy Rok")))
+        .andExpect(jsonPath("$.holidays[2].holidayName", is("New Year's Day")));
+  }
+
+  @Test
+  public void shouldFindNextHolidayInMinimumNumberOfCountries() throws Exception {
+    final var result = mvc.perform(get("/api/holidays/next-common-holiday")
+        .param("date", "2020-09-01")
+        .param("countries", "CN,PL,GB")
+        .param("minCountries", "2"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.nextHolidayDate", is("2020-12-25")))
+        .andExpect(jsonPath("$.holidays.length()", is(2)))
+        .andExpect(jsonPath("$.holidays[0].countryCode", is("PL")))
+        .andExpect(jsonPath("$.holidays[1].countryCode", is("GB")));
+  }
+
+  @Test
+  public void shouldThrowErrorWhenMinimumNumberOfCountriesIsInvalid() throws Exception {
+    mvc.perform(get("/api/holidays/next-common-holiday")
+        .param("date", "2020-09-01")
+        .param("countries", "CN,PL")
+        .param("minCountries", "3"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errorMessage",
+            is("Minimum number of countries must be between 1 and the number of countries.")));
+    mvc.perform(get("/api/holidays/next-common-holiday")
+        .param("date", "2020-09-01")
+        .param("countries", "cn, aq,pl,AQ"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errorMessage", is("Country code: aq is not supported. ")));
+  }
+
+  @Test
+  public void shouldThrowErrorWhenDateOrCountryIsInvalid() throws Exception {
+    mvc.perform(get("/api/holidays/next-holiday")
+        .param("date", "2021-02-29")
+        .param("country1", "PL")
+        .param("country2", "DE"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errorMessage", containsString("2021-02-29")));
+    mvc.perform(get("/api/holidays/next-holiday")
+        .param("date", "2020-10-10")
+        .param("country1", "pl")
+        .param("country2", "aq"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errorMessage", is("Country code: aq is not supported. ")));
+  }
+
+  @Test
+  public void shouldWriteResponsesInCborWhenAccepted() throws Exception {
+    final var cborMapper = new ObjectMapper(new CBORFactory());
+    final var response = mvc.perform(get("/api/holidays/next-holiday")
+        .param("date", "2020-04-20")
+        .param("country1", "PL")
+        .param("country2", "CY")
+        .accept(MediaType.APPLICATION_CBOR))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/cbor"))
+        .andReturn().getResponse();
+
+    assertTrue(response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT));
+    final var holiday = cborMapper.readTree(response.getContentAsByteArray());
+    assertEquals("2020-05-01", holiday.get("nextHolidayDate").asText());
+    assertEquals("Święto Pracy", holiday.get("holidayName1").asText());
+    assertEquals("Πρωτομαγιά", holiday.get("holidayName2").asText());
+
+    final var error = mvc.perform(get("/api/holidays/next-holiday")
+        .param("date", "2020-10-10")
+        .param("country1", "AQ")
+        .param("country2", "PL")
+        .accept(MediaType.APPLICATION_CBOR))
+        .andExpect(status().isBadRequest())
+        .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/cbor"))
+        .andReturn().getResponse();
+
+    assertEquals("Country code: AQ is not supported. ",
+        cborMapper.readTree(error.getContentAsByteArray()).get("errorMessage").asText());
+  }
+
+  @Test
+  public void shouldNotReturnNotModifiedForETagOfOtherFormat() throws Exception {
+    final var jsonETag = mvc.perform(get("/api/holidays/next-holiday")
+        .param("date", "2020-04-21")
+        .param("country1", "PL")
+        .param("country2", "CY"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    final var cborETag = mvc.perform(get("/api/holidays/next-holiday")
+        .param("date", "2020-04-21")
+        .param("country1", "PL")
+        .param("country2", "CY")
+        .accept(MediaType.APPLICATION_CBOR)
+        .header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/cbor"))
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    assertNotNull(cborETag);
+    assertNotEquals(jsonETag, cborETag);
+    mvc.perform(get("/api/holidays/next-holiday")
+        .param("date", "2020-04-21")
+        .param("country1", "PL")
+        .param("country2", "CY")
+        .accept(MediaType.APPLICATION_CBOR)
+        .header(HttpHeaders.IF_NONE_MATCH, cborETag))
+        .andExpect(status().isNotModified());
+    mvc.perform(get("/api/holidays/next-holiday")
+        .param("date", "2020-04-21")
+        .param("country1", "PL")
+        .param("country2", "CY")
+        .header(HttpHeaders.IF_NONE_MATCH, cborETag))
+        .andExpect(status().isOk());
+
+    final var versionETag = mvc.perform(get("/api/holidays/supported-countries"))
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    mvc.perform(get("/api/holidays/supported-countries")
+        .accept(MediaType.APPLICATION_CBOR)
+        .header(HttpHeaders.IF_NONE_MATCH, versionETag))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/cbor"));
+  }
+
+  @Test
+  public void shouldReferToSupportedCountriesByVersion() throws Exception {
+    final var response = mvc.perform(get("/api/holidays/supported-countries"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.countries[0].key", is("AD")))
+        .andReturn().getResponse();
+    final var eTag = response.getHeader(HttpHeaders.ETAG);
+    final var version = eTag.replace("\"", "");
+
+    mvc.perform(get("/api/holidays/supported-countries")
+        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isNotModified());
+    mvc.perform(get("/api/holidays/next-holiday")
+        .param("date", "2020-10-10")
+        .param("country1", "AQ")
+        .param("country2", "PL"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.supportedCountriesVersion", is(version)))
+        .andExpect(jsonPath("$.supportedCountries[0].key", is("AD")));
+    mvc.perform(get("/api/holidays/next-holiday")
+        .param("date", "2020-10-10")
+        .param("country1", "AQ")
+        .param("country2", "PL")
+        .header(GlobalErrorHandling.SUPPORTED_COUNTRIES_VERSION, version))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.supportedCountriesVersion", is(version)))
+        .andExpect(jsonPath("$.supportedCountries").doesNotExist());
+  }
+
+  @Test
+  public void shouldRecordRequestsProviderCallsAndErrors() throws Exception {
+    mvc.perform(get("/api/holidays/next-holiday")
+        .param("date", "2020-01-01")
+        .param("country1", "PR")
+        .param("country2", "CY"))
+        .andExpect(status().isOk());
+    mvc.perform(get("/api/holidays/next-holiday")
+        .param("date", "2020-10-10")
+        .param("country1", "AQ")
+        .param("country2", "PL"))
+        .andExpect(status().isBadRequest());
+
+    assertNotNull(meterRegistry.find("holiday.next-holiday.requests").tag("status", "200")
+        .timer());
+    assertNotNull(meterRegistry.find("holiday.provider.requests").tag("endpoint", "holidays")
+        .tag("status", "200").tag("year", "2020").timer());
+    assertNotNull(meterRegistry.find("holiday.matching").tag("type", "country-pair").timer());
+    assertTrue(meterRegistry.find("holiday.errors")
+        .tag("exception", "CountryNotSupportedException").tag("status", "400")
+        .counter().count() >= 1);
+  }
+}
@@ -0,0 +1,110 @@
+package com.example.holidayservice.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.example.holidayservice.config.SharedStoreConfig;
+import com.example.holidayservice.config.TestHolidayProviderProperties;
+import com.example.holidayservice.domain.Holiday;
+import com.example.holidayservice.domain.HolidayCalendar;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class HazelcastCalendarStoreTests {
+
+  private static final HolidayCalendar HOLIDAYS = HolidayCalendar.of(Set.of(Holiday.builder()
+      .date(LocalDate.of(2020, 11, 11))
+      .localName("Narodowe Święto Niepodległości")
+      .build()));
+
+  private static final HolidayCalendar UPDATED_HOLIDAYS = HolidayCalendar.of(Set.of(
+      Holiday.builder()
+          .date(LocalDate.of(2020, 11, 11))
+          .localName("Narodowe Święto Niepodległości")
+          .build(),
+      Holiday.builder()
+          .date(LocalDate.of(2020, 12, 25))
+          .localName("Boże Narodzenie")
+          .build()));
+
+  private static HazelcastInstance hazelcastInstance;
+
+  private static HazelcastCalendarStore store;
+
+  @BeforeClass
+  public static void startMember() {
+    final var properties = TestHolidayProviderProperties.load(Map.of(
+        "provider.shared-store.cluster-name", "holiday-service-tests",
+        "provider.shared-store.members", "127.0.0.1:5801",
+        "provider.shared-store.port", "5801"));
+    hazelcastInstance = Hazelcast.newHazelcastInstance(
+        new SharedStoreConfig().hazelcastConfig(properties));
+    store = new HazelcastCalendarStore(hazelcastInstance);
+  }
+
+  @AfterClass
+  public static void stopMember() {
+    hazelcastInstance.shutdown();
+  }
+
+  @Test
+  public void shouldReadPublishedCalendar() {
+    final var key = HolidayCalendarKey.of("PL", 2020);
+
+    final var published = store.publish(key, HOLIDAYS, 0);
+
+    final var shared = store.get(key).orElseThrow();
+    assertEquals(1, published.getVersion());
+    assertEquals(1, shared.getVersion());
+    assertEquals(HOLIDAYS, shared.getHolidays());
+    assertEquals(published.getFetchedAt().toEpochMilli(), shared.getFetchedAt().toEpochMilli());
+  }
+
+  @Test
+  public void shouldKeepCalendarPublishedFromNewerVersion() {
+    final var key = HolidayCalendarKey.of("DE", 2020);
+    store.publish(key, HOLIDAYS, 0);
+    store.publish(key, UPDATED_HOLIDAYS, 1);
+
+    final var published = store.publish(key, HOLIDAYS, 1);
+
+    assertEquals(2, published.getVersion());
+    assertEquals(UPDATED_HOLIDAYS, published.getHolidays());
+    assertEquals(UPDATED_HOLIDAYS, store.get(key).orElseThrow().getHolidays());
+  }
+
+  @Test
+  public void shouldReadPublishedCalendarWithoutLocalName() {
+    final var key = HolidayCalendarKey.of("CZ", 2020);
+    final var holidays = HolidayCalendar.of(Set.of(Holiday.builder()
+        .date(LocalDate.of(2020, 7, 6))
+        .build()));
+
+    store.publish(key, holidays, 0);
+
+    assertEquals(holidays, store.get(key).orElseThrow().getHolidays());
+  }
+
+  @Test
+  public void shouldReserveFetchUntilItIsReleased() {
+    final var key = HolidayCalendarKey.of("FR", 2020);
+
+    assertTrue(store.tryAcquireFetch(key, Duration.ofMinutes(1)));
+    assertFalse(store.tryAcquireFetch(key, Duration.ofMinutes(1)));
+    store.releaseFetch(key);
+    assertTrue(store.tryAcquireFetch(key, Duration.ofMinutes(1)));
+  }
+
+  @Test
+  public void shouldReturnEmptyWhenCalendarIsNotShared() {
+    assertFalse(store.get(HolidayCalendarKey.of("GB", 2020)).isPresent());
+  }
+}
@@ -0,0 +1,200 @@
+package com.example.holidayservice.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.holidayservice.client.HolidayProviderClient;
+import com.example.holidayservice.client.ProviderResilience;
+import com.example.holidayservice.client.ReactiveHolidayProviderClient;
+import com.example.holidayservice.config.TestHolidayProviderProperties;
+import com.example.holidayservice.domain.Holiday;
+import com.example.holidayservice.domain.HolidayCalendar;
+import com.example.holidayservice.exception.HolidayServiceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+public class HolidayCalendarCacheTests {
+
+  private static final HolidayCalendar HOLIDAYS = HolidayCalendar.of(Set.of(Holiday.builder()
+      .date(LocalDate.of(2020, 11, 11))
+      .localName("Narodowe Święto Niepodległości")
+      .build()));
+
+  @Rule
+  public final TemporaryFolder storeDirectory = new TemporaryFolder();
+
+  private HolidayProviderClient providerClient;
+
+  private ExecutorService providerExecutor;
+
+  private HolidayCalendarStore store;
+
+  private HolidayCalendarCache cache;
+
+  @Before
+  public void setUp() {
+    providerClient = mock(HolidayProviderClient.class);
+    providerExecutor = Executors.newCachedThreadPool();
+    store = new HolidayCalendarStore(TestHolidayProviderProperties.load(
+        Map.of("provider.store.enabled", "true",
+            "provider.store.directory", storeDirectory.getRoot().toString())));
+    cache = createCache();
+  }
+
+  @After
+  public void tearDown() {
+    providerExecutor.shutdownNow();
+  }
+
+  @Test
+  public void shouldFetchCalendarOnceForTheSameCountryAndYear() {
+    when(providerClient.fetchHolidays("PL", 2020)).thenReturn(HOLIDAYS);
+
+    assertSame(HOLIDAYS, cache.getHolidays("PL", 2020));
+    assertSame(HOLIDAYS, cache.getHolidays("pl", 2020));
+
+    verify(providerClient, times(1)).fetchHolidays("PL", 2020);
+    assertEquals(1, cache.stats().hitCount());
+    assertEquals(1, cache.stats().missCount());
+  }
+
+  @Test
+  public void shouldFetchCalendarOnceForConcurrentMisses() throws Exception {
+    final var release = new CountDownLatch(1);
+    when(providerClient.fetchHolidays(anyString(), anyInt())).thenAnswer(invocation -> {
+      release.await();
+      return HOLIDAYS;
+    });
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      final List<Future<HolidayCalendar>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        results.add(executor.submit(() -> cache.getHolidays("PL", 2020)));
+      }
+      Thread.sleep(100);
+      release.countDown();
+      for (Future<HolidayCalendar> result : results) {
+        assertSame(HOLIDAYS, result.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    verify(providerClient, times(1)).fetchHolidays("PL", 2020);
+  }
+
+  @Test
+  public void shouldServeStoredCalendarWhenProviderFails() {
+    store.saveHolidays(HolidayCalendarKey.of("PL", 2020), HOLIDAYS);
+    when(providerClient.fetchHolidays("PL", 2020))
+        .thenThrow(new HolidayServiceException("Internal error from the holiday's provider."));
+
+    assertEquals(HOLIDAYS, cache.getHolidays("PL", 2020));
+  }
+
+  @Test(expected = HolidayServiceException.class)
+  public void shouldThrowWhenProviderFailsAndCalendarIsNotStored() {
+    when(providerClient.fetchHolidays("PL", 2020))
+        .thenThrow(new HolidayServiceException("Internal error from the holiday's provider."));
+
+    cache.getHolidays("PL", 2020);
+  }
+
+  @Test
+  public void shouldServeStoredCalendarsAfterRestart() throws Exception {
+    when(providerClient.fetchHolidays("PL", 2020)).thenReturn(HOLIDAYS);
+    cache.getHolidays("PL", 2020);
+    for (int i = 0; i < 100 && store.readHolidays(HolidayCalendarKey.of("PL", 2020)).isEmpty();
+        i++) {
+      Thread.sleep(10);
+    }
+    assertTrue(store.readHolidays(HolidayCalendarKey.of("PL", 2020)).isPresent());
+
+    final var restartedCache = createCache();
+    restartedCache.loadStoredCalendars();
+
+    assertEquals(HOLIDAYS, restartedCache.getHolidays("PL", 2020));
+    verify(providerClient, times(1)).fetchHolidays("PL", 2020);
+  }
+
+  @Test
+  public void shouldFetchCalendarOnceForInstancesSharingStore() {
+    when(providerClient.fetchHolidays("PL", 2020)).thenReturn(HOLIDAYS);
+    final var sharedStore = new InMemorySharedCalendarStore();
+
+    assertEquals(HOLIDAYS, createCache(sharedStore).getHolidays("PL", 2020));
+    assertEquals(HOLIDAYS, createCache(sharedStore).getHolidays("PL", 2020));
+
+    verify(providerClient, times(1)).fetchHolidays("PL", 2020);
+    assertEquals(1, sharedStore.get(HolidayCalendarKey.of("PL", 2020)).get().getVersion());
+  }
+
+  @Test
+  public void shouldWaitForCalendarFetchedByAnotherInstance() throws Exception {
+    final var key = HolidayCalendarKey.of("PL", 2020);
+    final var sharedStore = new InMemorySharedCalendarStore();
+    assertTrue(sharedStore.tryAcquireFetch(key, Duration.ofMinutes(1)));
+
+    final var holidays = createCache(sharedStore).getHolidaysAsync("PL", 2020);
+    Thread.sleep(200);
+    assertFalse(holidays.isDone());
+    sharedStore.publish(key, HOLIDAYS, 0);
+
+    assertEquals(HOLIDAYS, holidays.get(5, TimeUnit.SECONDS));
+    verify(providerClient, never()).fetchHolidays("PL", 2020);
+  }
+
+  @Test
+  public void shouldFetchCalendarWhenSharedStoreFails() {
+    when(providerClient.fetchHolidays("PL", 2020)).thenReturn(HOLIDAYS);
+    final var sharedStore = mock(SharedCalendarStore.class);
+    when(sharedStore.get(any())).thenThrow(new IllegalStateException("Cluster is not active"));
+    when(sharedStore.tryAcquireFetch(any(), any()))
+        .thenThrow(new IllegalStateException("Cluster is not active"));
+
+    assertSame(HOLIDAYS, createCache(sharedStore).getHolidays("PL", 2020));
+  }
+
+  private HolidayCalendarCache createCache() {
+    return createCache(null);
+  }
+
+  private HolidayCalendarCache createCache(final SharedCalendarStore sharedStore) {
+    final var properties = TestHolidayProviderProperties.load();
+    final var meterRegistry = new SimpleMeterRegistry();
+    final var beanFactory = (sharedStore != null)
+        ? new StaticListableBeanFactory(Map.of("sharedCalendarStore", sharedStore))
+        : new StaticListableBeanFactory();
+    return new HolidayCalendarCache(providerClient,
+        beanFactory.getBeanProvider(ReactiveHolidayProviderClient.class),
+        properties, meterRegistry, providerExecutor, store,
+        beanFactory.getBeanProvider(SharedCalendarStore.class),
+        new ProviderResilience(properties, meterRegistry, providerExecutor));
+  }
+}
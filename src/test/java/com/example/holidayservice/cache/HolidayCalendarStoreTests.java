@@ -0,0 +1,100 @@
+package com.example.holidayservice.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.example.holidayservice.config.TestHolidayProviderProperties;
+import com.example.holidayservice.domain.Country;
+import com.example.holidayservice.domain.Holiday;
+import com.example.holidayservice.domain.HolidayCalendar;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class HolidayCalendarStoreTests {
+
+  private static final HolidayCalendar HOLIDAYS = HolidayCalendar.of(Set.of(
+      Holiday.builder().date(LocalDate.of(2020, 10, 1)).localName("国庆节").build(),
+      Holiday.builder().date(LocalDate.of(2020, 10, 1)).localName("中秋节").build(),
+      Holiday.builder().date(LocalDate.of(2020, 1, 1)).localName("元旦").build()));
+
+  private static final List<Country> COUNTRIES = List.of(
+      Country.builder().key("CN").value("China").build(),
+      Country.builder().key("PL").value("Poland").build());
+
+  @Rule
+  public final TemporaryFolder storeDirectory = new TemporaryFolder();
+
+  private HolidayCalendarStore store;
+
+  @Before
+  public void setUp() {
+    store = createStore(true);
+  }
+
+  @Test
+  public void shouldReadStoredCalendars() {
+    store.saveHolidays(HolidayCalendarKey.of("CN", 2020), HOLIDAYS);
+    store.saveHolidays(HolidayCalendarKey.of("pl", 2021), HolidayCalendar.empty());
+
+    assertEquals(HOLIDAYS, store.readHolidays(HolidayCalendarKey.of("CN", 2020))
+        .orElseThrow().getValue());
+    final var calendars = store.readAllHolidays();
+    assertEquals(Set.of(HolidayCalendarKey.of("CN", 2020), HolidayCalendarKey.of("PL", 2021)),
+        calendars.keySet());
+    assertEquals(HolidayCalendar.empty(),
+        calendars.get(HolidayCalendarKey.of("PL", 2021)).getValue());
+  }
+
+  @Test
+  public void shouldReadStoredCalendarWithoutLocalName() {
+    final var holidays = HolidayCalendar.of(Set.of(
+        Holiday.builder().date(LocalDate.of(2020, 5, 1)).build(),
+        Holiday.builder().date(LocalDate.of(2020, 5, 3)).localName("Święto Konstytucji").build()));
+    store.saveHolidays(HolidayCalendarKey.of("PL", 2020), holidays);
+
+    final var stored = store.readHolidays(HolidayCalendarKey.of("PL", 2020)).orElseThrow();
+
+    assertEquals(holidays, stored.getValue());
+    assertNull(stored.getValue().getLocalName(0));
+  }
+
+  @Test
+  public void shouldReadStoredCountries() {
+    store.saveCountries(COUNTRIES);
+
+    assertEquals(COUNTRIES, store.readCountries().orElseThrow().getValue());
+  }
+
+  @Test
+  public void shouldSkipFileWhichCanNotBeRead() throws Exception {
+    store.saveHolidays(HolidayCalendarKey.of("CN", 2020), HOLIDAYS);
+    Files.write(storeDirectory.getRoot().toPath().resolve("calendars").resolve("PL-2020.bin"),
+        new byte[] {0, 0, 0, 1, 7});
+
+    assertTrue(store.readHolidays(HolidayCalendarKey.of("PL", 2020)).isEmpty());
+    assertEquals(Set.of(HolidayCalendarKey.of("CN", 2020)), store.readAllHolidays().keySet());
+  }
+
+  @Test
+  public void shouldNotStoreWhenDisabled() {
+    final var disabledStore = createStore(false);
+    disabledStore.saveCountries(COUNTRIES);
+
+    assertTrue(disabledStore.readCountries().isEmpty());
+    assertTrue(store.readCountries().isEmpty());
+  }
+
+  private HolidayCalendarStore createStore(final boolean enabled) {
+    return new HolidayCalendarStore(TestHolidayProviderProperties.load(Map.of(
+        "provider.store.enabled", String.valueOf(enabled),
+        "provider.store.directory", storeDirectory.getRoot().toString())));
+  }
+}
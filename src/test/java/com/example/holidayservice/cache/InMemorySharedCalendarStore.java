@@ -0,0 +1,52 @@
+package com.example.holidayservice.cache;
+
+import com.example.holidayservice.domain.HolidayCalendar;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Shared calendar store of instances in one JVM for unit tests.
+ */
+public class InMemorySharedCalendarStore implements SharedCalendarStore {
+
+  private final Map<HolidayCalendarKey, SharedCalendar> calendars = new HashMap<>();
+
+  private final Map<HolidayCalendarKey, Instant> fetches = new HashMap<>();
+
+  @Override
+  public synchronized Optional<SharedCalendar> get(final HolidayCalendarKey key) {
+    return Optional.ofNullable(calendars.get(key));
+  }
+
+  @Override
+  public synchronized SharedCalendar publish(final HolidayCalendarKey key,
+      final HolidayCalendar holidays, final long expectedVersion) {
+    final var current = calendars.get(key);
+    if (current != null && current.getVersion() != expectedVersion) {
+      return current;
+    }
+    final var published = new SharedCalendar(holidays, expectedVersion + 1, Instant.now());
+    calendars.put(key, published);
+    return published;
+  }
+
+  @Override
+  public synchronized boolean tryAcquireFetch(final HolidayCalendarKey key,
+      final Duration lease) {
+    final var now = Instant.now();
+    final var leasedUntil = fetches.get(key);
+    if (leasedUntil != null && leasedUntil.isAfter(now)) {
+      return false;
+    }
+    fetches.put(key, now.plus(lease));
+    return true;
+  }
+
+  @Override
+  public synchronized void releaseFetch(final HolidayCalendarKey key) {
+    fetches.remove(key);
+  }
+}
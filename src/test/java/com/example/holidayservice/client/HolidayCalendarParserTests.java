@@ -0,0 +1,91 @@
+package com.example.holidayservice.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.example.holidayservice.domain.Holiday;
+import com.example.holidayservice.domain.HolidayCalendar;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Test;
+
+public class HolidayCalendarParserTests {
+
+  private static final String FIXTURES = "fixtures/PublicHolidays";
+
+  @Test
+  public void shouldParseRecordedResponsesLikeDataBinding() throws IOException, URISyntaxException {
+    final List<Path> files;
+    final var fixtures = Paths.get(getClass().getClassLoader().getResource(FIXTURES).toURI());
+    try (Stream<Path> paths = Files.walk(fixtures)) {
+      files = paths.filter(Files::isRegularFile).collect(Collectors.toList());
+    }
+    assertTrue(files.size() > 0);
+    for (Path file : files) {
+      final var expected = HolidayCalendar.of(bind(Files.readAllBytes(file)));
+
+      final HolidayCalendar actual;
+      try (InputStream body = Files.newInputStream(file)) {
+        actual = HolidayCalendarParser.parse(body);
+      }
+
+      assertEquals(file.toString(), expected, actual);
+    }
+  }
+
+  @Test
+  public void shouldSortHolidaysAndSkipDuplicates() throws IOException {
+    final var calendar = parse("["
+        + "{\"localName\":\"B\",\"date\":\"2020-05-01\",\"counties\":[\"X\"]},"
+        + "{\"date\":\"2020-01-01\",\"localName\":\"A\",\"fixed\":true},"
+        + "{\"date\":\"2020-05-01\",\"localName\":\"B\",\"launchYear\":null}]");
+
+    assertEquals(2, calendar.size());
+    assertEquals(LocalDate.of(2020, 1, 1), calendar.getDate(0));
+    assertEquals("A", calendar.getLocalName(0));
+    assertEquals(LocalDate.of(2020, 5, 1), calendar.getDate(1));
+    assertSame("B".intern(), calendar.getLocalName(1));
+  }
+
+  @Test
+  public void shouldReturnEmptyCalendarOfEmptyBody() throws IOException {
+    assertSame(HolidayCalendar.empty(), parse(""));
+    assertSame(HolidayCalendar.empty(), parse("[]"));
+  }
+
+  @Test(expected = JsonParseException.class)
+  public void shouldRejectInvalidDate() throws IOException {
+    parse("[{\"date\":\"2020-02-30\",\"localName\":\"A\"}]");
+  }
+
+  private static HolidayCalendar parse(final String body) throws IOException {
+    return HolidayCalendarParser.parse(
+        new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static List<Holiday> bind(final byte[] body) throws IOException {
+    final List<Holiday> holidays = new ArrayList<>();
+    for (JsonNode holiday : new ObjectMapper().readTree(body)) {
+      holidays.add(Holiday.builder()
+          .date(LocalDate.parse(holiday.get("date").asText()))
+          .localName(holiday.get("localName").asText())
+          .build());
+    }
+    return holidays;
+  }
+}
@@ -0,0 +1,53 @@
+package com.example.holidayservice.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import com.example.holidayservice.config.TestHolidayProviderProperties;
+import com.example.holidayservice.exception.HolidayServiceException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+public class HolidayProviderClientTests {
+
+  private static final String TRUNCATED_BODY = "[{\"date\":\"2020-01-01\",\"localName\":\"Nov";
+
+  private MeterRegistry meterRegistry;
+
+  private MockRestServiceServer provider;
+
+  private HolidayProviderClient client;
+
+  @Before
+  public void setUp() {
+    final var restTemplate = new RestTemplate();
+    meterRegistry = new SimpleMeterRegistry();
+    provider = MockRestServiceServer.bindTo(restTemplate).build();
+    client = new HolidayProviderClient(restTemplate, TestHolidayProviderProperties.load(),
+        new HolidayProviderMetrics(meterRegistry));
+  }
+
+  @Test
+  public void shouldReportTruncatedBodyAsProviderError() {
+    provider.expect(requestTo("https://date.nager.at/Api/v2/PublicHolidays/2020/PL"))
+        .andRespond(withSuccess(TRUNCATED_BODY, MediaType.APPLICATION_JSON));
+
+    try {
+      client.fetchHolidays("PL", 2020);
+      fail();
+    } catch (HolidayServiceException ex) {
+      assertEquals("Internal error from the holiday's provider.", ex.getMessage());
+    }
+
+    provider.verify();
+    assertEquals(1, meterRegistry.get(HolidayProviderMetrics.PROVIDER_REQUESTS)
+        .tag("status", HolidayProviderMetrics.STATUS_ERROR).timer().count());
+  }
+}
@@ -0,0 +1,55 @@
+package com.example.holidayservice.client;
+
+import static org.junit.Assert.assertEquals;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HolidayProviderMetricsTests {
+
+  private static final int YEAR = LocalDate.now().getYear();
+
+  private MeterRegistry meterRegistry;
+
+  private HolidayProviderMetrics metrics;
+
+  @Before
+  public void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    metrics = new HolidayProviderMetrics(meterRegistry);
+  }
+
+  @Test
+  public void shouldReuseTimerOfSameTags() {
+    metrics.record(HolidayProviderMetrics.HOLIDAYS, YEAR, HolidayProviderMetrics.STATUS_OK,
+        System.nanoTime());
+    metrics.record(HolidayProviderMetrics.HOLIDAYS, YEAR, HolidayProviderMetrics.STATUS_OK,
+        System.nanoTime());
+
+    assertEquals(1, meterRegistry.getMeters().size());
+    assertEquals(2, meterRegistry.get(HolidayProviderMetrics.PROVIDER_REQUESTS)
+        .tag("year", Integer.toString(YEAR)).timer().count());
+  }
+
+  @Test
+  public void shouldTagFarYearsAsOther() {
+    metrics.record(HolidayProviderMetrics.HOLIDAYS, YEAR + HolidayProviderMetrics.TAGGED_YEARS,
+        HolidayProviderMetrics.STATUS_OK, System.nanoTime());
+    metrics.record(HolidayProviderMetrics.HOLIDAYS, YEAR + HolidayProviderMetrics.TAGGED_YEARS + 1,
+        HolidayProviderMetrics.STATUS_OK, System.nanoTime());
+    metrics.record(HolidayProviderMetrics.HOLIDAYS, 1900, HolidayProviderMetrics.STATUS_OK,
+        System.nanoTime());
+    metrics.record(HolidayProviderMetrics.AVAILABLE_COUNTRIES, HolidayProviderMetrics.NO_YEAR,
+        HolidayProviderMetrics.STATUS_OK, System.nanoTime());
+
+    assertEquals(1, meterRegistry.get(HolidayProviderMetrics.PROVIDER_REQUESTS)
+        .tag("year", Integer.toString(YEAR + HolidayProviderMetrics.TAGGED_YEARS)).timer().count());
+    assertEquals(2, meterRegistry.get(HolidayProviderMetrics.PROVIDER_REQUESTS)
+        .tag("year", HolidayProviderMetrics.OTHER_YEAR_TAG).timer().count());
+    assertEquals(1, meterRegistry.get(HolidayProviderMetrics.PROVIDER_REQUESTS)
+        .tag("year", HolidayProviderMetrics.NO_YEAR_TAG).timer().count());
+  }
+}
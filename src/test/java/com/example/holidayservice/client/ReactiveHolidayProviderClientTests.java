@@ -0,0 +1,52 @@
+package com.example.holidayservice.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import com.example.holidayservice.config.TestHolidayProviderProperties;
+import com.example.holidayservice.exception.HolidayServiceException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+public class ReactiveHolidayProviderClientTests {
+
+  private static final String TRUNCATED_BODY = "[{\"date\":\"2020-01-01\",\"localName\":\"Nov";
+
+  private MeterRegistry meterRegistry;
+
+  private ReactiveHolidayProviderClient client;
+
+  @Before
+  public void setUp() {
+    final var webClientBuilder = WebClient.builder()
+        .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .body(TRUNCATED_BODY)
+            .build()));
+    meterRegistry = new SimpleMeterRegistry();
+    client = new ReactiveHolidayProviderClient(webClientBuilder, new ReactorClientHttpConnector(),
+        TestHolidayProviderProperties.load(), new HolidayProviderMetrics(meterRegistry));
+  }
+
+  @Test
+  public void shouldReportTruncatedBodyAsProviderError() {
+    try {
+      client.fetchHolidays("PL", 2020).block();
+      fail();
+    } catch (HolidayServiceException ex) {
+      assertEquals("Internal error from the holiday's provider.", ex.getMessage());
+    }
+
+    assertEquals(1, meterRegistry.get(HolidayProviderMetrics.PROVIDER_REQUESTS)
+        .tag("status", HolidayProviderMetrics.STATUS_ERROR).timer().count());
+  }
+}
@@ -0,0 +1,246 @@
+package com.example.holidayservice.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.example.holidayservice.config.TestHolidayProviderProperties;
+import com.example.holidayservice.exception.HolidayServiceException;
+import com.example.holidayservice.exception.ProviderResponseException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+public class ResilientEndpointTests {
+
+  private static final String PREFIX = "provider.resilience.holidays.";
+
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() {
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void shouldRetryProviderFailures() {
+    final var endpoint = createEndpoint(Map.of());
+    final var calls = new AtomicInteger();
+
+    final String response = endpoint.execute(() -> {
+      if (calls.incrementAndGet() < 3) {
+        throw new ResourceAccessException("Connection reset");
+      }
+      return "holidays";
+    });
+
+    assertEquals("holidays", response);
+    assertEquals(3, calls.get());
+  }
+
+  @Test
+  public void shouldNotRetryClientErrors() {
+    final var endpoint = createEndpoint(Map.of());
+    final var calls = new AtomicInteger();
+
+    try {
+      endpoint.execute(() -> {
+        calls.incrementAndGet();
+        throw new ProviderResponseException("Internal error from the holiday's provider.", 404);
+      });
+      fail();
+    } catch (ProviderResponseException ex) {
+      assertEquals(404, ex.getStatusCode());
+    }
+
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  public void shouldNotRetryOrRecordApplicationErrors() {
+    final var endpoint = createEndpoint(Map.of(PREFIX + "minimum-calls", "1"));
+    final var calls = new AtomicInteger();
+    for (int i = 0; i < 5; i++) {
+      try {
+        endpoint.execute(() -> {
+          calls.incrementAndGet();
+          throw new IllegalStateException("Broken calendar");
+        });
+        fail();
+      } catch (IllegalStateException ex) {
+        // expected
+      }
+    }
+    assertEquals(5, calls.get());
+    assertEquals("holidays", endpoint.execute(() -> "holidays"));
+  }
+
+  @Test
+  public void shouldOpenCircuitRegardlessOfApplicationErrors() {
+    final var endpoint = createEndpoint(Map.of(PREFIX + "max-attempts", "1",
+        PREFIX + "minimum-calls", "1"));
+    for (int i = 0; i < 5; i++) {
+      try {
+        endpoint.execute(() -> {
+          throw new IllegalStateException("Broken calendar");
+        });
+      } catch (IllegalStateException ex) {
+        // expected
+      }
+    }
+    try {
+      endpoint.execute(() -> {
+        throw new ProviderResponseException("Internal error from the holiday's provider.", 503);
+      });
+    } catch (ProviderResponseException ex) {
+      // expected
+    }
+
+    try {
+      endpoint.execute(() -> "holidays");
+      fail();
+    } catch (HolidayServiceException ex) {
+      assertEquals(ResilientEndpoint.PROVIDER_UNAVAILABLE, ex.getMessage());
+    }
+  }
+
+  @Test
+  public void shouldKeepCircuitHalfOpenAfterIgnoredTrialRequest() {
+    final var clock = new AtomicLong();
+    final var circuitBreaker = new CircuitBreaker(0.5, 1, 10, Duration.ofSeconds(30),
+        clock::get);
+    assertTrue(circuitBreaker.tryAcquirePermission());
+    circuitBreaker.onFailure();
+    clock.set(Duration.ofSeconds(30).toNanos());
+    assertTrue(circuitBreaker.tryAcquirePermission());
+
+    circuitBreaker.onIgnored();
+
+    assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+    assertTrue(circuitBreaker.tryAcquirePermission());
+  }
+
+  @Test
+  public void shouldStopRetryingWhenBudgetIsSpent() {
+    final var endpoint = createEndpoint(Map.of(PREFIX + "max-attempts", "100",
+        PREFIX + "minimum-calls", "1000", PREFIX + "sliding-window-size", "1000"));
+    final var calls = new AtomicInteger();
+
+    try {
+      endpoint.execute(() -> {
+        calls.incrementAndGet();
+        throw new ResourceAccessException("Connection reset");
+      });
+    } catch (ResourceAccessException ex) {
+      // expected
+    }
+
+    assertEquals(1 + (int) RetryBudget.MAX_TOKENS, calls.get());
+  }
+
+  @Test
+  public void shouldRejectRequestsWhenCircuitIsOpen() {
+    final var endpoint = createEndpoint(Map.of(PREFIX + "max-attempts", "1"));
+    final var calls = new AtomicInteger();
+    for (int i = 0; i < 20; i++) {
+      try {
+        endpoint.execute(() -> {
+          calls.incrementAndGet();
+          throw new ProviderResponseException("Internal error from the holiday's provider.", 503);
+        });
+      } catch (ProviderResponseException ex) {
+        // expected
+      }
+    }
+
+    try {
+      endpoint.execute(calls::incrementAndGet);
+      fail();
+    } catch (HolidayServiceException ex) {
+      assertEquals(ResilientEndpoint.PROVIDER_UNAVAILABLE, ex.getMessage());
+    }
+    assertEquals(20, calls.get());
+  }
+
+  @Test
+  public void shouldCloseCircuitAfterSuccessfulTrialRequest() {
+    final var clock = new AtomicLong();
+    final var circuitBreaker = new CircuitBreaker(0.5, 4, 10, Duration.ofSeconds(30),
+        clock::get);
+    for (int i = 0; i < 4; i++) {
+      assertTrue(circuitBreaker.tryAcquirePermission());
+      circuitBreaker.onFailure();
+    }
+    assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    assertFalse(circuitBreaker.tryAcquirePermission());
+
+    clock.set(Duration.ofSeconds(30).toNanos());
+    assertTrue(circuitBreaker.tryAcquirePermission());
+    assertFalse(circuitBreaker.tryAcquirePermission());
+    circuitBreaker.onSuccess();
+
+    assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    assertTrue(circuitBreaker.tryAcquirePermission());
+  }
+
+  @Test
+  public void shouldRejectRequestsWhenBulkheadIsFull() {
+    final var endpoint = createEndpoint(Map.of(PREFIX + "max-concurrent-calls", "1"));
+    final var pending = new CompletableFuture<String>();
+    endpoint.executeAsync(() -> pending);
+
+    final var rejected = endpoint.executeAsync(() -> CompletableFuture.completedFuture("ok"));
+
+    try {
+      rejected.join();
+      fail();
+    } catch (CompletionException ex) {
+      assertEquals(ResilientEndpoint.TOO_MANY_REQUESTS, ex.getCause().getMessage());
+    }
+    pending.complete("holidays");
+    assertEquals("ok", endpoint.executeAsync(() -> CompletableFuture.completedFuture("ok"))
+        .join());
+  }
+
+  @Test
+  public void shouldHedgeSlowRequest() {
+    final var endpoint = createEndpoint(Map.of(PREFIX + "hedge-enabled", "true",
+        PREFIX + "hedge-min-delay", "10ms"));
+    for (int i = 0; i < 20; i++) {
+      endpoint.executeAsync(() -> CompletableFuture.completedFuture("fast")).join();
+    }
+    final var calls = new AtomicInteger();
+
+    final String response = endpoint.executeAsync(() -> calls.incrementAndGet() == 1
+        ? new CompletableFuture<>() : CompletableFuture.completedFuture("hedged")).join();
+
+    assertEquals("hedged", response);
+    assertEquals(2, calls.get());
+  }
+
+  private ResilientEndpoint createEndpoint(final Map<String, String> overrides) {
+    final Map<String, String> properties = new HashMap<>(overrides);
+    properties.putIfAbsent(PREFIX + "retry-backoff", "1ms");
+    final var policy = TestHolidayProviderProperties.load(properties).getResilience()
+        .getHolidays();
+    return new ResilientEndpoint(HolidayProviderMetrics.HOLIDAYS, policy, executor,
+        new SimpleMeterRegistry());
+  }
+}
@@ -0,0 +1,41 @@
+package com.example.holidayservice.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import org.junit.Test;
+
+public class IsoDateFormatterTests {
+
+  private final IsoDateFormatter formatter = new IsoDateFormatter();
+
+  @Test
+  public void shouldParseIsoDate() {
+    assertEquals(LocalDate.of(2020, 6, 1), IsoDateFormatter.parseIsoDate("2020-06-01"));
+    assertEquals(LocalDate.of(2020, 2, 29), IsoDateFormatter.parseIsoDate("2020-02-29"));
+  }
+
+  @Test
+  public void shouldNotParseInvalidDate() {
+    assertNull(IsoDateFormatter.parseIsoDate("2021-02-29"));
+    assertNull(IsoDateFormatter.parseIsoDate("2020-13-01"));
+    assertNull(IsoDateFormatter.parseIsoDate("2020-06-00"));
+    assertNull(IsoDateFormatter.parseIsoDate("2020-6-01"));
+    assertNull(IsoDateFormatter.parseIsoDate("2020/06/01"));
+    assertNull(IsoDateFormatter.parseIsoDate("+020-06-01"));
+  }
+
+  @Test
+  public void shouldParseOtherIsoFormsWithIsoParser() throws Exception {
+    assertEquals(LocalDate.of(2020, 6, 1), formatter.parse("2020-06-01+01:00", Locale.ROOT));
+    assertEquals("2020-06-01", formatter.print(LocalDate.of(2020, 6, 1), Locale.ROOT));
+  }
+
+  @Test(expected = DateTimeParseException.class)
+  public void shouldFailWhenDateIsInvalid() throws Exception {
+    formatter.parse("2021-02-29", Locale.ROOT);
+  }
+}
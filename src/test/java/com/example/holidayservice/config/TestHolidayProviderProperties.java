@@ -0,0 +1,51 @@
+package com.example.holidayservice.config;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.boot.env.PropertiesPropertySourceLoader;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * Provider properties bound from application.properties for unit tests.
+ */
+public final class TestHolidayProviderProperties {
+
+  private TestHolidayProviderProperties() {
+  }
+
+  /**
+   * Binds provider properties from application.properties overridden with given properties.
+   *
+   * @param overrides properties overriding the application ones
+   * @return provider properties
+   */
+  public static HolidayProviderProperties load(final Map<String, String> overrides) {
+    final var source = new MapConfigurationPropertySource();
+    try {
+      for (var propertySource : new PropertiesPropertySourceLoader()
+          .load("application", new ClassPathResource("application.properties"))) {
+        final var properties = (EnumerablePropertySource<?>) propertySource;
+        for (String name : properties.getPropertyNames()) {
+          source.put(name, properties.getProperty(name));
+        }
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    source.putAll(overrides);
+    return new Binder(source).bindOrCreate("provider", HolidayProviderProperties.class);
+  }
+
+  /**
+   * Binds provider properties from application.properties.
+   *
+   * @return provider properties
+   */
+  public static HolidayProviderProperties load() {
+    return load(Map.of());
+  }
+}
@@ -0,0 +1,84 @@
+package com.example.holidayservice.service;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.holidayservice.cache.HolidayCalendarCache;
+import com.example.holidayservice.config.TestHolidayProviderProperties;
+import com.example.holidayservice.domain.Country;
+import com.example.holidayservice.domain.HolidayCalendar;
+import com.example.holidayservice.domain.SupportedCountries;
+import com.example.holidayservice.exception.HolidayServiceException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.scheduling.TaskScheduler;
+
+public class CalendarPreloaderTests {
+
+  private static final int YEAR = LocalDate.now().getYear();
+
+  private HolidayCalendarCache calendarCache;
+
+  private SupportedCountryRegistry countryRegistry;
+
+  @Before
+  public void setUp() {
+    calendarCache = mock(HolidayCalendarCache.class);
+    countryRegistry = mock(SupportedCountryRegistry.class);
+    when(calendarCache.getHolidaysAsync(anyString(), anyInt()))
+        .thenReturn(CompletableFuture.completedFuture(HolidayCalendar.empty()));
+    when(calendarCache.refreshHolidays(anyString(), anyInt()))
+        .thenReturn(CompletableFuture.completedFuture(HolidayCalendar.empty()));
+  }
+
+  @Test
+  public void shouldPreloadCurrentAndNextYearOfSupportedCountries() {
+    when(countryRegistry.getSupportedCountries()).thenReturn(new SupportedCountries(List.of(
+        Country.builder().key("PL").value("Poland").build(),
+        Country.builder().key("DE").value("Germany").build())));
+
+    createPreloader(Map.of()).preload().join();
+
+    verify(calendarCache).getHolidaysAsync("PL", YEAR);
+    verify(calendarCache).getHolidaysAsync("PL", YEAR + 1);
+    verify(calendarCache).getHolidaysAsync("DE", YEAR);
+    verify(calendarCache).getHolidaysAsync("DE", YEAR + 1);
+  }
+
+  @Test
+  public void shouldRefreshConfiguredCountriesWhenLoadsFail() {
+    when(calendarCache.refreshHolidays("PL", YEAR)).thenReturn(CompletableFuture.failedFuture(
+        new HolidayServiceException("Internal error from the holiday's provider.")));
+
+    createPreloader(Map.of("provider.preload.countries", "PL,GB",
+        "provider.preload.parallelism", "1")).refresh().join();
+
+    verify(calendarCache).refreshHolidays("PL", YEAR + 1);
+    verify(calendarCache).refreshHolidays("GB", YEAR);
+    verify(calendarCache).refreshHolidays("GB", YEAR + 1);
+    verify(countryRegistry, never()).getSupportedCountries();
+  }
+
+  @Test
+  public void shouldSkipPreloadingWhenCountriesCanNotBeLoaded() {
+    when(countryRegistry.getSupportedCountries())
+        .thenThrow(new HolidayServiceException("Internal error from the holiday's provider."));
+
+    createPreloader(Map.of()).preload().join();
+
+    verify(calendarCache, never()).getHolidaysAsync(anyString(), anyInt());
+  }
+
+  private CalendarPreloader createPreloader(final Map<String, String> properties) {
+    return new CalendarPreloader(calendarCache, countryRegistry,
+        TestHolidayProviderProperties.load(properties), mock(TaskScheduler.class));
+  }
+}
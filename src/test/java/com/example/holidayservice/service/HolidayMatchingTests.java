@@ -0,0 +1,201 @@
+package com.example.holidayservice.service;
+
+import static org.junit.Assert.assertEquals;
+
+import com.example.holidayservice.config.TestHolidayProviderProperties;
+import com.example.holidayservice.domain.Holiday;
+import com.example.holidayservice.domain.HolidayCalendar;
+import com.example.holidayservice.dto.CommonHolidayResponseDto;
+import com.example.holidayservice.dto.HolidayResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+/**
+ * Checks the matching returns the same holidays as the previous sort-and-compare implementation.
+ */
+public class HolidayMatchingTests {
+
+  private static final int YEAR = 2020;
+
+  private static final String[] NAMES = {"Nowy Rok", "Święto Pracy", "中秋节", "国庆节",
+      "New Year's Day", "Fronleichnam"};
+
+  private final Random random = new Random(42);
+
+  @Test
+  public void shouldReduceHolidaysLikePreviousImplementation() {
+    for (int i = 0; i < 200; i++) {
+      final var holidays = randomHolidays();
+      final var date = randomDate();
+
+      final var expected = LegacyHolidayMatching.reduceHolidayCollection(date, holidays);
+      final var actual = HolidayMatching.reduceHolidayCollection(date,
+          HolidayCalendar.of(holidays));
+
+      assertEquals(toMap(expected), toMap(actual));
+      assertEquals(expected.size(), actual.size());
+    }
+  }
+
+  @Test
+  public void shouldFindFirstHolidayLikePreviousImplementation() {
+    final var index = new CommonHolidayIndex(TestHolidayProviderProperties.load(),
+        new SimpleMeterRegistry());
+    for (int i = 0; i < 200; i++) {
+      final var holidays1 = randomHolidays();
+      final var holidays2 = (i % 10 == 0) ? holidays1 : randomHolidays();
+      final var calendar1 = HolidayCalendar.of(holidays1);
+      final var calendar2 = (holidays2 == holidays1) ? calendar1 : HolidayCalendar.of(holidays2);
+      for (int j = 0; j < 20; j++) {
+        final var date = randomDate();
+
+        final var expected = LegacyHolidayMatching.matchFirstHolidayInBothCollections(
+            LegacyHolidayMatching.reduceHolidayCollection(date, holidays1),
+            LegacyHolidayMatching.reduceHolidayCollection(date, holidays2));
+        final var actual = index.findFirstHolidayAfter(date, "PL", "DE", YEAR,
+            calendar1, calendar2);
+        final var actualSwapped = index.findFirstHolidayAfter(date, "DE", "PL", YEAR,
+            calendar2, calendar1);
+
+        assertEquals(toString(expected), toString(actual));
+        assertEquals(toString(expected.map(HolidayMatchingTests::swap)),
+            toString(actualSwapped));
+      }
+    }
+  }
+
+  @Test
+  public void shouldMatchFirstHolidayInCountriesLikeComparingAllDates() {
+    for (int i = 0; i < 200; i++) {
+      final int countries = 1 + random.nextInt(6);
+      final List<String> countryCodes = new ArrayList<>();
+      final List<List<Holiday>> calendars = new ArrayList<>();
+      for (int country = 0; country < countries; country++) {
+        countryCodes.add("C" + country);
+        calendars.add(HolidayMatching.reduceHolidayCollection(LocalDate.MIN,
+            HolidayCalendar.of(randomHolidays())));
+      }
+      final var date = randomDate();
+      final int minCountries = 1 + random.nextInt(countries);
+
+      final var actual = HolidayMatching.matchFirstHolidayInCountries(date, countryCodes,
+          calendars, minCountries);
+
+      final var expectedDate = calendars.stream()
+          .flatMap(List::stream)
+          .map(Holiday::getDate)
+          .filter(holidayDate -> holidayDate.isAfter(date))
+          .filter(holidayDate -> calendars.stream()
+              .filter(calendar -> calendar.stream()
+                  .anyMatch(holiday -> holiday.getDate().equals(holidayDate)))
+              .count() >= minCountries)
+          .min(Comparator.naturalOrder());
+      assertEquals(expectedDate, actual.map(CommonHolidayResponseDto::getNextHolidayDate));
+      actual.ifPresent(holiday -> assertEquals(
+          calendars.stream()
+              .filter(calendar -> calendar.stream()
+                  .anyMatch(h -> h.getDate().equals(holiday.getNextHolidayDate())))
+              .count(),
+          holiday.getHolidays().size()));
+    }
+  }
+
+  private Set<Holiday> randomHolidays() {
+    final Set<Holiday> holidays = new HashSet<>();
+    final int size = random.nextInt(30);
+    for (int i = 0; i < size; i++) {
+      holidays.add(Holiday.builder()
+          .date(LocalDate.ofYearDay(YEAR, 1 + random.nextInt(60)))
+          .localName(NAMES[random.nextInt(NAMES.length)])
+          .build());
+    }
+    return Set.copyOf(holidays);
+  }
+
+  private LocalDate randomDate() {
+    return LocalDate.ofYearDay(YEAR, 1 + random.nextInt(70)).minusDays(5);
+  }
+
+  private static Map<LocalDate, String> toMap(final Collection<Holiday> holidays) {
+    return holidays.stream()
+        .collect(Collectors.toMap(Holiday::getDate, Holiday::getLocalName, (a, b) -> a,
+            TreeMap::new));
+  }
+
+  private static HolidayResponseDto swap(final HolidayResponseDto holiday) {
+    return HolidayResponseDto.builder()
+        .nextHolidayDate(holiday.getNextHolidayDate())
+        .holidayName1(holiday.getHolidayName2())
+        .holidayName2(holiday.getHolidayName1())
+        .build();
+  }
+
+  private static String toString(final Optional<HolidayResponseDto> holiday) {
+    return holiday
+        .map(h -> h.getNextHolidayDate() + " " + h.getHolidayName1() + " " + h.getHolidayName2())
+        .orElse("empty");
+  }
+
+  /**
+   * Previous implementation of the matching, kept as the reference of expected results.
+   */
+  private static final class LegacyHolidayMatching {
+
+    static Set<Holiday> reduceHolidayCollection(final LocalDate date,
+        final Collection<Holiday> holidays) {
+      Set<Holiday> reduceHolidays = new HashSet<>();
+      List<Holiday> sortedList = new ArrayList<>(holidays);
+      sortedList.sort(Comparator.comparing(Holiday::getDate)
+          .thenComparing(Holiday::getLocalName));
+      for (Holiday holiday : sortedList) {
+        var holidayDateExists = reduceHolidays.stream()
+            .filter(x -> x.getDate().equals(holiday.getDate()))
+            .findFirst();
+        if (holiday.getDate().isAfter(date) && holidayDateExists.isEmpty()) {
+          reduceHolidays.add(holiday);
+        } else if ((holiday.getDate().isAfter(date) && holidayDateExists.isPresent())) {
+          var newHoliday = Holiday.builder()
+              .date(holiday.getDate())
+              .localName(holidayDateExists.get().getLocalName() + " | " + holiday.getLocalName())
+              .build();
+          reduceHolidays.remove(holidayDateExists.get());
+          reduceHolidays.add(newHoliday);
+        }
+      }
+      return reduceHolidays;
+    }
+
+    static Optional<HolidayResponseDto> matchFirstHolidayInBothCollections(
+        final Collection<Holiday> country1Holidays, final Collection<Holiday> country2Holidays) {
+      List<Holiday> mergedHolidays = new ArrayList<>();
+      mergedHolidays.addAll(country1Holidays);
+      mergedHolidays.addAll(country2Holidays);
+      mergedHolidays.sort(Comparator.comparing(Holiday::getDate));
+      if (mergedHolidays.size() <= 1) {
+        return Optional.empty();
+      }
+      for (int i = 0; i < mergedHolidays.size() - 1; i++) {
+        if (mergedHolidays.get(i).getDate().equals(mergedHolidays.get(i + 1).getDate())) {
+          return Optional.of(HolidayResponseDto.builder()
+              .nextHolidayDate(mergedHolidays.get(i).getDate())
+              .holidayName1(mergedHolidays.get(i).getLocalName())
+              .holidayName2(mergedHolidays.get(i + 1).getLocalName())
+              .build());
+        }
+      }
+      return Optional.empty();
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package com.example.holidayservice.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.holidayservice.cache.HolidayCalendarCache;
+import com.example.holidayservice.config.TestHolidayProviderProperties;
+import com.example.holidayservice.domain.Holiday;
+import com.example.holidayservice.domain.HolidayCalendar;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HolidayServiceTests {
+
+  private static final HolidayCalendar HOLIDAYS_2021 = HolidayCalendar.of(Set.of(Holiday.builder()
+      .date(LocalDate.of(2021, 6, 1))
+      .localName("Holiday")
+      .build()));
+
+  private HolidayCalendarCache calendarCache;
+
+  private MeterRegistry meterRegistry;
+
+  @Before
+  public void setUp() {
+    calendarCache = mock(HolidayCalendarCache.class);
+    meterRegistry = new SimpleMeterRegistry();
+    when(calendarCache.getHolidaysAsync(anyString(), anyInt()))
+        .thenReturn(CompletableFuture.completedFuture(HolidayCalendar.empty()));
+    when(calendarCache.getHolidaysAsync(anyString(), eq(2021)))
+        .thenReturn(CompletableFuture.completedFuture(HOLIDAYS_2021));
+  }
+
+  @Test
+  public void shouldFindHolidayInNextYearWithinHorizon() {
+    final var holiday = createService("1y").findNextHolidayInBothCountries(
+        LocalDate.of(2020, 10, 10), "PL", "DE");
+
+    assertEquals(LocalDate.of(2021, 6, 1), holiday.orElseThrow().getNextHolidayDate());
+    assertEquals(2.0, meterRegistry.get("holiday.search.years").summary().totalAmount(), 0);
+  }
+
+  @Test
+  public void shouldNotFindHolidayAfterHorizon() {
+    final var holiday = createService("180d").findNextHolidayInBothCountries(
+        LocalDate.of(2020, 10, 10), "PL", "DE");
+
+    assertTrue(holiday.isEmpty());
+  }
+
+  @Test
+  public void shouldStopSearchAtHorizon() {
+    final var holiday = createService("2y").findNextHolidayInBothCountries(
+        LocalDate.of(2021, 10, 10), "PL", "DE");
+
+    assertTrue(holiday.isEmpty());
+    verify(calendarCache).getHolidaysAsync("PL", 2023);
+    verify(calendarCache, never()).getHolidaysAsync("PL", 2024);
+    assertEquals(3.0, meterRegistry.get("holiday.search.years").summary().totalAmount(), 0);
+  }
+
+  private HolidayService createService(final String horizon) {
+    final var properties = TestHolidayProviderProperties.load(
+        Map.of("provider.search.horizon", horizon));
+    return new HolidayService(mock(SupportedCountryRegistry.class), calendarCache,
+        new CommonHolidayIndex(properties, meterRegistry), properties, meterRegistry);
+  }
+}
@@ -0,0 +1,128 @@
+package com.example.holidayservice.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import com.example.holidayservice.dto.HolidayResponseDto;
+import com.example.holidayservice.exception.CountryNotSupportedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+public class NextHolidayCoalescerTests {
+
+  private static final LocalDate DATE = LocalDate.of(2020, 10, 10);
+
+  private MeterRegistry meterRegistry;
+
+  private HolidayService holidayService;
+
+  private NextHolidayCoalescer coalescer;
+
+  @Before
+  public void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    holidayService = mock(HolidayService.class);
+    coalescer = new NextHolidayCoalescer(holidayService,
+        new StaticListableBeanFactory().getBeanProvider(NextHolidayTable.class), meterRegistry);
+  }
+
+  @Test
+  public void shouldShareSearchOfIdenticalQueriesInFlight() {
+    final var calls = new AtomicInteger();
+    final var search = new CompletableFuture<Optional<HolidayResponseDto>>();
+    final NextHolidayCoalescer.NextHolidaySearch pendingSearch = (code1, code2) -> {
+      calls.incrementAndGet();
+      return search;
+    };
+
+    final var first = coalescer.coalesce(DATE, "PL", "DE", pendingSearch);
+    final var second = coalescer.coalesce(DATE, "pl", "de", pendingSearch);
+    final var swapped = coalescer.coalesce(DATE, "DE", "PL", pendingSearch);
+    search.complete(Optional.of(HolidayResponseDto.builder()
+        .nextHolidayDate(LocalDate.of(2020, 12, 25))
+        .holidayName1("Weihnachten")
+        .holidayName2("Boże Narodzenie")
+        .build()));
+
+    assertEquals(1, calls.get());
+    assertEquals("Boże Narodzenie", first.join().orElseThrow().getHolidayName1());
+    assertEquals("Boże Narodzenie", second.join().orElseThrow().getHolidayName1());
+    assertEquals("Weihnachten", swapped.join().orElseThrow().getHolidayName1());
+    assertEquals(1, meterRegistry.counter("holiday.next-holiday.coalescing", "role", "executed")
+        .count(), 0);
+    assertEquals(2, meterRegistry.counter("holiday.next-holiday.coalescing", "role", "coalesced")
+        .count(), 0);
+  }
+
+  @Test
+  public void shouldSearchAgainAfterSearchCompletes() {
+    final var calls = new AtomicInteger();
+    final NextHolidayCoalescer.NextHolidaySearch search = (code1, code2) -> {
+      calls.incrementAndGet();
+      return CompletableFuture.completedFuture(Optional.empty());
+    };
+
+    assertFalse(coalescer.coalesce(DATE, "PL", "DE", search).join().isPresent());
+    assertFalse(coalescer.coalesce(DATE, "PL", "DE", search).join().isPresent());
+    coalescer.coalesce(DATE.plusDays(1), "PL", "DE", search).join();
+
+    assertEquals(3, calls.get());
+  }
+
+  @Test
+  public void shouldVerifyCountriesOfEveryQuery() {
+    doAnswer(invocation -> {
+      throw new CountryNotSupportedException(
+          "Country code: " + invocation.getArgument(1) + " is not supported. ", null);
+    }).when(holidayService).verifyAvailableCountries(anyString(),
+        argThat(code -> code.equalsIgnoreCase("XX")));
+    final var calls = new AtomicInteger();
+    final var search = new CompletableFuture<Optional<HolidayResponseDto>>();
+    final NextHolidayCoalescer.NextHolidaySearch pendingSearch = (code1, code2) -> {
+      calls.incrementAndGet();
+      return search;
+    };
+
+    final var first = coalescer.coalesce(DATE, "PL", "DE", pendingSearch);
+    assertNotSupported("Country code: xx is not supported. ", "pl", "xx", pendingSearch);
+    assertNotSupported("Country code: XX is not supported. ", "PL", "XX", pendingSearch);
+    search.complete(Optional.empty());
+
+    assertEquals(1, calls.get());
+    assertFalse(first.join().isPresent());
+  }
+
+  @Test
+  public void shouldNotCancelSharedSearch() {
+    final var search = new CompletableFuture<Optional<HolidayResponseDto>>();
+
+    coalescer.coalesce(DATE, "PL", "DE", (code1, code2) -> search).cancel(true);
+    final var second = coalescer.coalesce(DATE, "PL", "DE", (code1, code2) -> search);
+    search.complete(Optional.empty());
+
+    assertFalse(search.isCancelled());
+    assertFalse(second.join().isPresent());
+  }
+
+  private void assertNotSupported(final String errorMessage, final String countryCode1,
+      final String countryCode2, final NextHolidayCoalescer.NextHolidaySearch search) {
+    try {
+      coalescer.coalesce(DATE, countryCode1, countryCode2, search);
+      fail();
+    } catch (CountryNotSupportedException ex) {
+      assertEquals(errorMessage, ex.getMessage());
+    }
+  }
+}
@@ -0,0 +1,138 @@
+package com.example.holidayservice.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.holidayservice.cache.HolidayCalendarCache;
+import com.example.holidayservice.cache.HolidayCalendarKey;
+import com.example.holidayservice.config.TestHolidayProviderProperties;
+import com.example.holidayservice.domain.Holiday;
+import com.example.holidayservice.domain.HolidayCalendar;
+import com.example.holidayservice.dto.HolidayResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+
+public class NextHolidayTableTests {
+
+  private static final int YEAR = LocalDate.now().getYear();
+
+  private MeterRegistry meterRegistry;
+
+  private NextHolidayTable table;
+
+  private BiConsumer<HolidayCalendarKey, HolidayCalendar> loadListener;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    final var calendarCache = mock(HolidayCalendarCache.class);
+    when(calendarCache.getHolidaysAsync(anyString(), anyInt())).thenAnswer(invocation ->
+        CompletableFuture.completedFuture(calendar(invocation.getArgument(0),
+            invocation.getArgument(1))));
+    final var calendarPreloader = mock(CalendarPreloader.class);
+    when(calendarPreloader.preloadedCountryCodes()).thenReturn(List.of("PL", "DE", "FR"));
+    meterRegistry = new SimpleMeterRegistry();
+    table = new NextHolidayTable(calendarCache, calendarPreloader,
+        TestHolidayProviderProperties.load(Map.of("provider.precompute.enabled", "true")),
+        mock(TaskScheduler.class), meterRegistry);
+    final ArgumentCaptor<BiConsumer<HolidayCalendarKey, HolidayCalendar>> listener =
+        ArgumentCaptor.forClass(BiConsumer.class);
+    verify(calendarCache).addLoadListener(listener.capture());
+    loadListener = listener.getValue();
+    table.build();
+  }
+
+  @After
+  public void tearDown() {
+    table.stop();
+  }
+
+  @Test
+  public void shouldFindNextCommonHolidayInTable() {
+    assertHoliday(LocalDate.of(YEAR, 12, 25), "Boże Narodzenie", "Weihnachten",
+        table.findNextHoliday(LocalDate.of(YEAR, 12, 1), "PL", "DE"));
+    assertHoliday(LocalDate.of(YEAR + 1, 1, 1), "Neujahr", "Nowy Rok",
+        table.findNextHoliday(LocalDate.of(YEAR, 12, 25), "DE", "PL"));
+    assertEquals(Optional.empty(), table.findNextHoliday(LocalDate.of(YEAR, 1, 10), "PL", "FR"));
+    assertEquals(3.0, meterRegistry.get("holiday.next-holiday.table.lookups")
+        .tag("result", "hit").counter().count(), 0);
+    assertEquals(6.0, meterRegistry.get("holiday.next-holiday.table.pairs").gauge().value(), 0);
+    assertTrue(meterRegistry.get("holiday.next-holiday.table.bytes").gauge().value() > 0);
+  }
+
+  @Test
+  public void shouldReturnNullWhenQueryIsNotPrecomputed() {
+    assertNull(table.findNextHoliday(LocalDate.of(YEAR - 1, 12, 1), "PL", "DE"));
+    assertNull(table.findNextHoliday(LocalDate.of(YEAR, 12, 1), "PL", "US"));
+    assertNull(table.findNextHoliday(LocalDate.of(YEAR + 1, 6, 1), "PL", "DE"));
+    assertEquals(3.0, meterRegistry.get("holiday.next-holiday.table.lookups")
+        .tag("result", "miss").counter().count(), 0);
+  }
+
+  @Test
+  public void shouldBuildPairsOfChangedCalendarAgain() throws InterruptedException {
+    loadListener.accept(HolidayCalendarKey.of("DE", YEAR), HolidayCalendar.of(Set.of(
+        holiday(LocalDate.of(YEAR, 11, 11), "Martinstag"),
+        holiday(LocalDate.of(YEAR, 12, 25), "Weihnachten"))));
+
+    Optional<HolidayResponseDto> holiday = null;
+    for (int attempt = 0; attempt < 100 && holiday == null; attempt++) {
+      holiday = table.findNextHoliday(LocalDate.of(YEAR, 11, 1), "PL", "DE");
+      Thread.sleep(50);
+    }
+    assertHoliday(LocalDate.of(YEAR, 11, 11), "Narodowe Święto Niepodległości", "Martinstag",
+        holiday);
+    assertHoliday(LocalDate.of(YEAR, 12, 25), "Boże Narodzenie", "Weihnachten",
+        table.findNextHoliday(LocalDate.of(YEAR, 11, 11), "PL", "DE"));
+  }
+
+  private static void assertHoliday(final LocalDate date, final String holidayName1,
+      final String holidayName2, final Optional<HolidayResponseDto> holiday) {
+    assertTrue(holiday.isPresent());
+    assertEquals(date, holiday.get().getNextHolidayDate());
+    assertEquals(holidayName1, holiday.get().getHolidayName1());
+    assertEquals(holidayName2, holiday.get().getHolidayName2());
+  }
+
+  private static HolidayCalendar calendar(final String countryCode, final int year) {
+    switch (countryCode) {
+      case "PL":
+        return (year == YEAR)
+            ? HolidayCalendar.of(Set.of(
+                holiday(LocalDate.of(year, 11, 11), "Narodowe Święto Niepodległości"),
+                holiday(LocalDate.of(year, 12, 25), "Boże Narodzenie")))
+            : HolidayCalendar.of(Set.of(holiday(LocalDate.of(year, 1, 1), "Nowy Rok")));
+      case "DE":
+        return (year == YEAR)
+            ? HolidayCalendar.of(Set.of(holiday(LocalDate.of(year, 12, 25), "Weihnachten")))
+            : HolidayCalendar.of(Set.of(holiday(LocalDate.of(year, 1, 1), "Neujahr")));
+      default:
+        return HolidayCalendar.of(Set.of(holiday(LocalDate.of(year, 7, 14), "Fête nationale")));
+    }
+  }
+
+  private static Holiday holiday(final LocalDate date, final String localName) {
+    return Holiday.builder()
+        .date(date)
+        .localName(localName)
+        .build();
+  }
+}
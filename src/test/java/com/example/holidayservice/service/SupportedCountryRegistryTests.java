@@ -0,0 +1,97 @@
+package com.example.holidayservice.service;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.holidayservice.cache.HolidayCalendarStore;
+import com.example.holidayservice.client.HolidayProviderClient;
+import com.example.holidayservice.client.ProviderResilience;
+import com.example.holidayservice.config.TestHolidayProviderProperties;
+import com.example.holidayservice.domain.Country;
+import com.example.holidayservice.exception.HolidayServiceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.scheduling.TaskScheduler;
+
+public class SupportedCountryRegistryTests {
+
+  private static final List<Country> COUNTRIES = List.of(
+      Country.builder().key("PL").value("Poland").build(),
+      Country.builder().key("DE").value("Germany").build());
+
+  @Rule
+  public final TemporaryFolder storeDirectory = new TemporaryFolder();
+
+  private HolidayProviderClient providerClient;
+
+  private HolidayCalendarStore store;
+
+  private SupportedCountryRegistry registry;
+
+  @Before
+  public void setUp() {
+    providerClient = mock(HolidayProviderClient.class);
+    final var properties = TestHolidayProviderProperties.load(
+        Map.of("provider.store.enabled", "true",
+            "provider.store.directory", storeDirectory.getRoot().toString()));
+    store = new HolidayCalendarStore(properties);
+    registry = new SupportedCountryRegistry(providerClient, properties,
+        mock(TaskScheduler.class), store,
+        new ProviderResilience(properties, new SimpleMeterRegistry(), Runnable::run));
+  }
+
+  @Test
+  public void shouldCheckCountryCodesIgnoringCase() {
+    when(providerClient.fetchAvailableCountries()).thenReturn(COUNTRIES);
+    registry.start();
+
+    final var supportedCountries = registry.getSupportedCountries();
+    assertTrue(supportedCountries.contains("PL"));
+    assertTrue(supportedCountries.contains("de"));
+    assertTrue(supportedCountries.contains("Pl"));
+    assertFalse(supportedCountries.contains("AQ"));
+    assertFalse(supportedCountries.contains("POL"));
+    assertFalse(supportedCountries.contains(""));
+  }
+
+  @Test
+  public void shouldServeLastCountriesWhenRefreshFails() {
+    when(providerClient.fetchAvailableCountries()).thenReturn(COUNTRIES);
+    registry.start();
+    final var loaded = registry.getSupportedCountries();
+
+    when(providerClient.fetchAvailableCountries())
+        .thenThrow(new HolidayServiceException("Internal error from the holiday's provider."));
+    registry.refresh();
+
+    assertSame(loaded, registry.getSupportedCountries());
+  }
+
+  @Test(expected = HolidayServiceException.class)
+  public void shouldThrowWhenCountriesWereNeverLoaded() {
+    when(providerClient.fetchAvailableCountries())
+        .thenThrow(new HolidayServiceException("Internal error from the holiday's provider."));
+    registry.start();
+
+    registry.getSupportedCountries();
+  }
+
+  @Test
+  public void shouldServeStoredCountriesWithoutCallingProvider() {
+    store.saveCountries(COUNTRIES);
+    registry.start();
+
+    assertTrue(registry.getSupportedCountries().contains("PL"));
+    verify(providerClient, never()).fetchAvailableCountries();
+  }
+}
@@ -0,0 +1,250 @@
+package com.example.holidayservice.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in of the holiday provider API. Serves recorded provider responses from the
+ * {@code fixtures} directory on the classpath under the same paths as the provider, so the service
+ * can be tested and load tested without the network. Every response can be delayed and a part of
+ * them replaced with an error. Counts of served calls are returned by {@code GET /stats}.
+ */
+public class LocalHolidayProvider implements AutoCloseable {
+
+  /**
+   * Provider API paths.
+   */
+  static final String HOLIDAYS_PATH = "/Api/v2/PublicHolidays/";
+  static final String AVAILABLE_COUNTRIES_PATH = "/Api/v2/AvailableCountries";
+  static final String STATS_PATH = "/stats";
+
+  /**
+   * Location of recorded responses on the classpath.
+   */
+  private static final String FIXTURES = "fixtures";
+
+  /**
+   * Year and country code of holidays path.
+   */
+  private static final Pattern HOLIDAYS_PATH_PARAMS = Pattern.compile("\\d{4}/[A-Za-z]{2}");
+
+  private static final String JSON = "application/json; charset=utf-8";
+
+  private static final int DEFAULT_PORT = 8089;
+
+  private final HttpServer server;
+
+  private final ExecutorService executor;
+
+  /**
+   * Recorded responses by path, empty when there is no recording.
+   */
+  private final Map<String, Optional<byte[]>> fixtures = new ConcurrentHashMap<>();
+
+  /**
+   * Served calls.
+   */
+  private final LongAdder holidaysCalls = new LongAdder();
+  private final LongAdder availableCountriesCalls = new LongAdder();
+  private final LongAdder injectedErrors = new LongAdder();
+
+  /**
+   * Injected latency and errors, can be changed while running.
+   */
+  private volatile Duration latency = Duration.ZERO;
+  private volatile Duration jitter = Duration.ZERO;
+  private volatile double errorRate;
+
+  private LocalHolidayProvider(final int port) throws IOException {
+    this.server = HttpServer.create(new InetSocketAddress(port), 0);
+    this.executor = Executors.newCachedThreadPool(runnable -> {
+      final var thread = new Thread(runnable, "local-holiday-provider");
+      thread.setDaemon(true);
+      return thread;
+    });
+    server.setExecutor(executor);
+    server.createContext(HOLIDAYS_PATH, this::handleHolidays);
+    server.createContext(AVAILABLE_COUNTRIES_PATH, this::handleAvailableCountries);
+    server.createContext(STATS_PATH, this::handleStats);
+  }
+
+  /**
+   * Starts the provider on a given port.
+   *
+   * @param port port param, 0 to choose a free one
+   * @return started provider
+   */
+  public static LocalHolidayProvider start(final int port) {
+    try {
+      final var provider = new LocalHolidayProvider(port);
+      provider.server.start();
+      return provider;
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Runs the provider until the process is stopped. Accepts {@code --port}, {@code --latency-ms},
+   * {@code --jitter-ms} and {@code --error-rate} arguments.
+   *
+   * @param args command line arguments
+   */
+  public static void main(final String[] args) throws InterruptedException {
+    final Map<String, String> options = new ConcurrentHashMap<>();
+    for (String arg : args) {
+      final String[] option = arg.replaceFirst("^--", "").split("=", 2);
+      options.put(option[0], (option.length > 1) ? option[1] : "");
+    }
+    final var provider = start(Integer.parseInt(
+        options.getOrDefault("port", String.valueOf(DEFAULT_PORT))));
+    provider.setLatency(Duration.ofMillis(Long.parseLong(options.getOrDefault("latency-ms", "0"))),
+        Duration.ofMillis(Long.parseLong(options.getOrDefault("jitter-ms", "0"))));
+    provider.setErrorRate(Double.parseDouble(options.getOrDefault("error-rate", "0")));
+    System.out.println("Local holiday provider listening on " + provider.getBaseUrl());
+    System.out.println("  provider.holidays-url=" + provider.getHolidaysUrl());
+    System.out.println("  provider.available-countries-url=" + provider.getAvailableCountriesUrl());
+    Thread.currentThread().join();
+  }
+
+  /**
+   * Sets delay of every response, a random value between {@code latency} and
+   * {@code latency + jitter}.
+   *
+   * @param latency minimum delay
+   * @param jitter  maximum random delay added to the minimum
+   */
+  public void setLatency(final Duration latency, final Duration jitter) {
+    this.latency = latency;
+    this.jitter = jitter;
+  }
+
+  /**
+   * Sets part of provider API responses replaced with an internal server error.
+   *
+   * @param errorRate error rate between 0 and 1
+   */
+  public void setErrorRate(final double errorRate) {
+    this.errorRate = errorRate;
+  }
+
+  public String getBaseUrl() {
+    return "http://localhost:" + server.getAddress().getPort();
+  }
+
+  public String getHolidaysUrl() {
+    return getBaseUrl() + HOLIDAYS_PATH + "{year}/{countryCode}";
+  }
+
+  public String getAvailableCountriesUrl() {
+    return getBaseUrl() + AVAILABLE_COUNTRIES_PATH;
+  }
+
+  public long getHolidaysCalls() {
+    return holidaysCalls.sum();
+  }
+
+  public long getAvailableCountriesCalls() {
+    return availableCountriesCalls.sum();
+  }
+
+  public long getInjectedErrors() {
+    return injectedErrors.sum();
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  private void handleHolidays(final HttpExchange exchange) throws IOException {
+    holidaysCalls.increment();
+    final String params = exchange.getRequestURI().getPath().substring(HOLIDAYS_PATH.length());
+    if (!HOLIDAYS_PATH_PARAMS.matcher(params).matches()) {
+      send(exchange, 404, new byte[0]);
+      return;
+    }
+    sendFixture(exchange, "PublicHolidays/" + params.toUpperCase(Locale.ROOT));
+  }
+
+  private void handleAvailableCountries(final HttpExchange exchange) throws IOException {
+    availableCountriesCalls.increment();
+    sendFixture(exchange, "AvailableCountries");
+  }
+
+  private void handleStats(final HttpExchange exchange) throws IOException {
+    final String stats = String.format(Locale.ROOT,
+        "{\"holidaysCalls\":%d,\"availableCountriesCalls\":%d,\"injectedErrors\":%d}",
+        getHolidaysCalls(), getAvailableCountriesCalls(), getInjectedErrors());
+    send(exchange, 200, stats.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Sends recorded response after the injected latency, an error instead of a part of them or not
+   * found when there is no recording, like the provider for unknown countries.
+   */
+  private void sendFixture(final HttpExchange exchange, final String fixture) throws IOException {
+    delay();
+    if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+      injectedErrors.increment();
+      send(exchange, 500, new byte[0]);
+      return;
+    }
+    final var body = fixtures.computeIfAbsent(fixture, LocalHolidayProvider::readFixture);
+    if (body.isPresent()) {
+      send(exchange, 200, body.get());
+    } else {
+      send(exchange, 404, new byte[0]);
+    }
+  }
+
+  private void delay() {
+    final long latencyMillis = latency.toMillis();
+    final long jitterMillis = jitter.toMillis();
+    final long delay = latencyMillis
+        + ((jitterMillis > 0) ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0);
+    if (delay > 0) {
+      try {
+        Thread.sleep(delay);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static Optional<byte[]> readFixture(final String fixture) {
+    final String resource = FIXTURES + "/" + fixture + ".json";
+    try (InputStream input = LocalHolidayProvider.class.getClassLoader()
+        .getResourceAsStream(resource)) {
+      return (input == null) ? Optional.empty() : Optional.of(input.readAllBytes());
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private static void send(final HttpExchange exchange, final int status, final byte[] body)
+      throws IOException {
+    exchange.getResponseHeaders().set("Content-Type", JSON);
+    exchange.sendResponseHeaders(status, (body.length == 0) ? -1 : body.length);
+    if (body.length > 0) {
+      exchange.getResponseBody().write(body);
+    }
+    exchange.close();
+  }
+}